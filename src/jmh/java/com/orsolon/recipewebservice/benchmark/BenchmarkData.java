@@ -0,0 +1,95 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.model.Ingredient;
+import com.orsolon.recipewebservice.model.Recipe;
+import com.orsolon.recipewebservice.model.RecipeCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Builds Recipes of a given size for the benchmarks: size ingredients, size steps and up to 5 categories.
+    With markup enabled, every text field carries some HTML, forcing the sanitizer down its slow path.
+ */
+final class BenchmarkData {
+
+    private static final String[] ITEMS = {"Toasted Almonds; chopped", "Yellow cake mix; no pudding", "Vanilla instant pudding", "Eggs", "Vegetable oil"};
+    private static final String[] UNITS = {"cups", "package", "teaspoon", "tablespoons", ""};
+    private static final String STEP = "Preheat oven to 325 F. Grease and flour a 10 inch tube pan, then sprinkle the almonds over the bottom of the pan.";
+
+    private BenchmarkData() {
+    }
+
+    static RecipeDTO createRecipeDTO(int size, boolean markup) {
+        List<RecipeCategoryDTO> categories = new ArrayList<>();
+        for (int i = 0; i < Math.min(size, 5); i++) {
+            categories.add(RecipeCategoryDTO.builder()
+                    .id((long) i + 1)
+                    .name(text("Category " + i, markup))
+                    .build());
+        }
+
+        List<IngredientDTO> ingredients = new ArrayList<>();
+        List<String> steps = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ingredients.add(IngredientDTO.builder()
+                    .id((long) i + 1)
+                    .quantity(text("1 1/2", markup))
+                    .title(text("", markup))
+                    .unit(text(UNITS[i % UNITS.length], markup))
+                    .item(text(ITEMS[i % ITEMS.length], markup))
+                    .build());
+            steps.add(text(STEP, markup));
+        }
+
+        return RecipeDTO.builder()
+                .id(1L)
+                .title(text("Amaretto Cake", markup))
+                .categories(categories)
+                .yield(8)
+                .ingredients(ingredients)
+                .steps(steps)
+                .build();
+    }
+
+    static Recipe createRecipe(int size) {
+        RecipeDTO recipeDTO = createRecipeDTO(size, false);
+
+        Recipe recipe = Recipe.builder()
+                .id(recipeDTO.getId())
+                .title(recipeDTO.getTitle())
+                .yield(recipeDTO.getYield())
+                .steps(new ArrayList<>(recipeDTO.getSteps()))
+                .build();
+
+        List<RecipeCategory> categories = new ArrayList<>();
+        for (RecipeCategoryDTO category : recipeDTO.getCategories()) {
+            categories.add(RecipeCategory.builder()
+                    .id(category.getId())
+                    .name(category.getName())
+                    .build());
+        }
+        recipe.setCategories(categories);
+
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (IngredientDTO ingredient : recipeDTO.getIngredients()) {
+            ingredients.add(Ingredient.builder()
+                    .id(ingredient.getId())
+                    .quantity(ingredient.getQuantity())
+                    .title(ingredient.getTitle())
+                    .unit(ingredient.getUnit())
+                    .item(ingredient.getItem())
+                    .recipe(recipe)
+                    .build());
+        }
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+
+    private static String text(String value, boolean markup) {
+        return markup ? "<b>" + value + "</b> &amp; more" : value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.model.Recipe;
+import com.orsolon.recipewebservice.service.DTOConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DTOConverterBenchmark {
+
+    // Number of ingredients and steps per Recipe
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private DTOConverter dtoConverter;
+    private Recipe recipe;
+    private RecipeDTO recipeDTO;
+
+    @Setup
+    public void setUp() {
+        dtoConverter = new DTOConverter();
+        recipe = BenchmarkData.createRecipe(size);
+        recipeDTO = BenchmarkData.createRecipeDTO(size, false);
+    }
+
+    @Benchmark
+    public RecipeDTO convertRecipeToDTO() {
+        return dtoConverter.convertRecipeToDTO(recipe);
+    }
+
+    @Benchmark
+    public Recipe convertRecipeToEntity() {
+        return dtoConverter.convertRecipeToEntity(recipeDTO);
+    }
+}
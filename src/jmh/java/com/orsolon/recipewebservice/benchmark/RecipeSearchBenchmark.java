@@ -0,0 +1,176 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.search.FuzzyTermDictionary;
+import com.orsolon.recipewebservice.service.search.RecipeSearchHits;
+import com.orsolon.recipewebservice.service.search.RecipeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Search latency over 100k synthetic Recipes, with exact and misspelled (two adjacent letters swapped) query terms,
+    and fuzzy expansion alone over a dictionary of 100k terms. Sampled, so that the percentiles are reported (p0.95).
+    Words are culinary stems, their inflections and compounds of two stems, so that like a real vocabulary they come in
+    families of close spellings ("chop", "chops", "chopped") that the bigram filter of the dictionary cannot tell apart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeSearchBenchmark {
+
+    private static final int RECIPES = 100_000;
+    private static final int TERMS = 100_000;
+    private static final int QUERIES = 256;
+
+    private static final String[] STEMS = {
+            "almond", "anchovy", "apple", "apricot", "artichoke", "arugula", "asparagus", "avocado", "bacon", "bake",
+            "banana", "barley", "basil", "bean", "beef", "beet", "berry", "biscuit", "blanch", "blend",
+            "boil", "braise", "bread", "brine", "broccoli", "broil", "broth", "brown", "butter", "cabbage",
+            "cake", "caramel", "cardamom", "carrot", "cashew", "cauliflower", "celery", "cheese", "cherry", "chestnut",
+            "chicken", "chickpea", "chili", "chive", "chocolate", "chop", "chowder", "cider", "cilantro", "cinnamon",
+            "clove", "coconut", "coffee", "corn", "crab", "cracker", "cranberry", "cream", "crisp", "crumb",
+            "crust", "cucumber", "cumin", "currant", "curry", "custard", "date", "dill", "dough", "duck",
+            "dumpling", "egg", "eggplant", "fennel", "fig", "fillet", "flour", "fold", "fry", "garlic",
+            "ginger", "glaze", "grape", "grate", "gravy", "grill", "ham", "hazelnut", "herb", "honey",
+            "knead", "lamb", "leek", "lemon", "lentil", "lettuce", "lime", "lobster", "mango", "maple",
+            "marinate", "melon", "milk", "mince", "mint", "mushroom", "mussel", "mustard", "noodle", "nutmeg",
+            "oat", "olive", "onion", "orange", "oregano", "oyster", "paprika", "parsley", "pasta", "pastry",
+            "peach", "peanut", "pear", "pecan", "pepper", "pickle", "pie", "pineapple", "pistachio", "plum",
+            "poach", "pork", "potato", "prawn", "pudding", "pumpkin", "radish", "raisin", "raspberry", "rice",
+            "roast", "rosemary", "saffron", "sage", "salad", "salmon", "salt", "sauce", "sausage", "saute",
+            "scallop", "sear", "sesame", "shallot", "shrimp", "simmer", "slice", "soup", "spice", "spinach",
+            "squash", "steam", "stew", "stir", "stock", "strawberry", "sugar", "syrup", "tart", "thyme",
+            "toast", "tomato", "truffle", "tuna", "turkey", "turmeric", "vanilla", "vinegar", "walnut", "wheat",
+            "whip", "whisk", "wine", "yeast", "yogurt", "zest", "zucchini"
+    };
+    private static final String[] SUFFIXES = {"", "s", "es", "ed", "ing", "y", "ies", "er"};
+
+    @Param({"exact", "misspelled"})
+    public String queryTerms;
+
+    private RecipeSearchIndex recipeSearchIndex;
+    private FuzzyTermDictionary fuzzyTermDictionary;
+    private String[] queries;
+    private String[] dictionaryQueries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> titleWords = words(random, 5_000);
+        List<String> categoryWords = words(random, 50);
+        List<String> ingredientWords = words(random, 2_000);
+        List<String> stepWords = words(random, 10_000);
+
+        recipeSearchIndex = new RecipeSearchIndex();
+        for (long id = 1; id <= RECIPES; id++) {
+            List<RecipeCategoryDTO> categories = List.of(
+                    RecipeCategoryDTO.builder().name(pick(random, categoryWords)).build(),
+                    RecipeCategoryDTO.builder().name(pick(random, categoryWords)).build());
+            List<IngredientDTO> ingredients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                ingredients.add(IngredientDTO.builder().item(pick(random, ingredientWords)).build());
+            }
+            List<String> steps = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                steps.add(sentence(random, stepWords, 12));
+            }
+            recipeSearchIndex.index(RecipeDTO.builder()
+                    .id(id)
+                    .title(sentence(random, titleWords, 3))
+                    .categories(categories)
+                    .ingredients(ingredients)
+                    .steps(steps)
+                    .build());
+        }
+
+        fuzzyTermDictionary = new FuzzyTermDictionary();
+        List<String> dictionaryTerms = words(random, TERMS);
+        dictionaryTerms.forEach(fuzzyTermDictionary::add);
+
+        boolean misspelled = "misspelled".equals(queryTerms);
+        queries = new String[QUERIES];
+        dictionaryQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String first = pick(random, titleWords);
+            String second = pick(random, ingredientWords);
+            queries[i] = misspelled ? misspell(first) + " " + misspell(second) : first + " " + second;
+            String term = pick(random, dictionaryTerms);
+            dictionaryQueries[i] = misspelled ? misspell(term) : term;
+        }
+    }
+
+    @Benchmark
+    public RecipeSearchHits search() {
+        return recipeSearchIndex.search(queries[next++ & (QUERIES - 1)], 0, 20, 10);
+    }
+
+    @Benchmark
+    public List<FuzzyTermDictionary.FuzzyTerm> expand() {
+        String term = dictionaryQueries[next++ & (QUERIES - 1)];
+        // The edits the search index allows for a term of that length
+        return fuzzyTermDictionary.expand(term, term.length() < 8 ? 1 : 2, 16);
+    }
+
+    // Distinct words drawn from the inflected stems first, then from compounds of two inflected stems
+    private static List<String> words(Random random, int count) {
+        Set<String> words = new LinkedHashSet<>();
+        int inflections = Math.min(count / 2, STEMS.length * SUFFIXES.length);
+        while (words.size() < inflections) {
+            words.add(inflect(random, pick(random, STEMS)));
+        }
+        while (words.size() < count) {
+            words.add(pick(random, STEMS) + inflect(random, pick(random, STEMS)));
+        }
+        List<String> shuffled = new ArrayList<>(words);
+        Collections.shuffle(shuffled, random);
+        return shuffled;
+    }
+
+    private static String inflect(Random random, String stem) {
+        return stem + SUFFIXES[random.nextInt(SUFFIXES.length)];
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String sentence(Random random, List<String> words, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sentence.append(i == 0 ? "" : " ").append(pick(random, words));
+        }
+        return sentence.toString();
+    }
+
+    private static String pick(Random random, List<String> words) {
+        return words.get(random.nextInt(words.size()));
+    }
+
+    private static String misspell(String word) {
+        int i = word.length() / 2;
+        return word.substring(0, i - 1) + word.charAt(i) + word.charAt(i - 1) + word.substring(i + 1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeSerializationBenchmark {
+
+    // Number of ingredients and steps per Recipe
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private ObjectWriter recipeWriter;
+    private RecipeDTO recipeDTO;
+
+    @Setup
+    public void setUp() {
+        recipeWriter = new ObjectMapper().writerFor(RecipeDTO.class);
+        recipeDTO = BenchmarkData.createRecipeDTO(size, false);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return recipeWriter.writeValueAsBytes(recipeDTO);
+    }
+}
@@ -0,0 +1,46 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.validator.RecipeValidatorHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeValidatorBenchmark {
+
+    // Number of ingredients and steps per Recipe
+    @Param({"1", "10", "100"})
+    public int size;
+
+    // Whether the text fields contain HTML the sanitizer has to remove
+    @Param({"false", "true"})
+    public boolean markup;
+
+    private RecipeDTO recipeDTO;
+
+    @Setup
+    public void setUp() {
+        recipeDTO = BenchmarkData.createRecipeDTO(size, markup);
+    }
+
+    @Benchmark
+    public RecipeDTO validateAndSanitize() {
+        return RecipeValidatorHelper.validateAndSanitize(recipeDTO);
+    }
+}
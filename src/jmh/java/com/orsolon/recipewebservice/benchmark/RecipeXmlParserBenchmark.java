@@ -0,0 +1,57 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.xml.RecipeMl;
+import com.orsolon.recipewebservice.service.RecipeXmlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+// Parses the bundled RecipeML files, read into memory beforehand so only parsing is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeXmlParserBenchmark {
+
+    @Param({"30_Minute_Chili.xml", "Amaretto_Cake.xml", "Another_Zucchini_Dish.xml"})
+    public String file;
+
+    private RecipeXmlParser recipeXmlParser;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        recipeXmlParser = new RecipeXmlParser();
+        try (InputStream inputStream = new ClassPathResource("data/recipes/" + file).getInputStream()) {
+            content = inputStream.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public RecipeMl parseXml() throws IOException {
+        return recipeXmlParser.parseXml(new ByteArrayInputStream(content));
+    }
+
+    @Benchmark
+    public int parseRecipes(Blackhole blackhole) throws IOException {
+        return recipeXmlParser.parseRecipes(new ByteArrayInputStream(content), (RecipeDTO recipe) -> blackhole.consume(recipe));
+    }
+}
@@ -0,0 +1,44 @@
+package com.orsolon.recipewebservice.benchmark;
+
+import com.orsolon.recipewebservice.service.validator.CommonValidatorHelper;
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Compares the sanitizer, which skips Jsoup for clean input, with always running Jsoup.clean
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizerBenchmark {
+
+    @Param({
+            "Toasted Almonds; chopped",
+            "Preheat oven to 325 F. Grease and flour a 10 inch tube pan, then sprinkle the almonds over the bottom of the pan.",
+            "<b>Toasted Almonds</b> &amp; chopped"
+    })
+    public String input;
+
+    @Benchmark
+    public String sanitizeStringValue() {
+        return CommonValidatorHelper.sanitizeStringValue(input);
+    }
+
+    @Benchmark
+    public String jsoupClean() {
+        return Jsoup.clean(input, Safelist.none()).trim();
+    }
+}
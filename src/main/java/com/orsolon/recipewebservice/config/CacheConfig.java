@@ -0,0 +1,62 @@
+package com.orsolon.recipewebservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Read-through caches for Recipe and Recipe Category lookups and serialized Recipe documents, evicted on writes by the CacheEvictionListener.
+    Every cache is a Caffeine cache configured by recipe.cache.spec, which recipe.cache.<name>.spec overrides per cache.
+    Cached DTOs are copied on every store and read (see CopyingCaffeineCache), callers are free to change what they get.
+    A cache can be turned off with recipe.cache.<name>.enabled=false, lookups then always go to the database.
+    Statistics are always recorded, and exposed as cache metrics by the actuator.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String RECIPES_BY_ID = "recipes-by-id";
+    public static final String RECIPES_BY_TITLE = "recipes-by-title";
+    public static final String RECIPE_DOCUMENTS = "recipe-documents";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_BY_ID = "categories-by-id";
+
+    private static final List<String> CACHE_NAMES = List.of(RECIPES_BY_ID, RECIPES_BY_TITLE, RECIPE_DOCUMENTS, CATEGORIES, CATEGORIES_BY_ID);
+    private static final String DEFAULT_SPEC = "maximumSize=10000,expireAfterWrite=10m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        String defaultSpec = environment.getProperty("recipe.cache.spec", DEFAULT_SPEC);
+
+        List<Cache> caches = new ArrayList<>();
+        for (String name : CACHE_NAMES) {
+            if (environment.getProperty("recipe.cache." + name + ".enabled", Boolean.class, true)) {
+                caches.add(new CopyingCaffeineCache(name, buildCaffeine(environment.getProperty("recipe.cache." + name + ".spec", defaultSpec)).build()));
+            } else {
+                log.info("Cache {} is disabled", name);
+                caches.add(new NoOpCache(name));
+            }
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    // Helper method to build a Caffeine builder from a spec, making sure statistics are recorded
+    private Caffeine<Object, Object> buildCaffeine(String spec) {
+        Caffeine<Object, Object> caffeine = Caffeine.from(spec);
+        return spec.contains("recordStats") ? caffeine : caffeine.recordStats();
+    }
+}
@@ -0,0 +1,78 @@
+package com.orsolon.recipewebservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Caffeine cache that never shares a cached DTO with its callers. The DTOs are mutable, and a controller or service changing
+    the instance it got (a sanitized title, a dropped field) would otherwise change what every later request reads.
+    Values are copied when they are stored and again when they are read, so the cached instance never leaves the cache.
+    DTOs, and lists of them, are copied deeply; other values, such as RecipeDocuments, are immutable and returned as they are.
+ */
+public class CopyingCaffeineCache extends CaffeineCache {
+
+    public CopyingCaffeineCache(String name, Cache<Object, Object> cache) {
+        super(name, cache);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(copy(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return copy(super.fromStoreValue(storeValue));
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof RecipeDTO recipe) {
+            return RecipeDTO.builder()
+                    .id(recipe.getId())
+                    .title(recipe.getTitle())
+                    .categories(copyList(recipe.getCategories()))
+                    .yield(recipe.getYield())
+                    .ingredients(copyList(recipe.getIngredients()))
+                    .steps(copyList(recipe.getSteps()))
+                    .version(recipe.getVersion())
+                    .build();
+        }
+        if (value instanceof RecipeCategoryDTO category) {
+            return RecipeCategoryDTO.builder()
+                    .id(category.getId())
+                    .name(category.getName())
+                    .build();
+        }
+        if (value instanceof IngredientDTO ingredient) {
+            return IngredientDTO.builder()
+                    .id(ingredient.getId())
+                    .quantity(ingredient.getQuantity())
+                    .title(ingredient.getTitle())
+                    .unit(ingredient.getUnit())
+                    .item(ingredient.getItem())
+                    .build();
+        }
+        if (value instanceof List<?> list) {
+            return copyList(list);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> copyList(List<T> list) {
+        if (list == null) {
+            return null;
+        }
+        List<T> copy = new ArrayList<>(list.size());
+        for (T element : list) {
+            copy.add((T) copy(element));
+        }
+        return copy;
+    }
+}
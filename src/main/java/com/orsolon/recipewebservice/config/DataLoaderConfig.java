@@ -2,23 +2,52 @@ package com.orsolon.recipewebservice.config;
 
 import com.orsolon.recipewebservice.service.RecipeInitializer;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 
-// Responsible for loading default data into the system
+/*
+    Responsible for loading default data into the system.
+    By default the data is loaded while the context starts. With recipe.loader.on-ready=true it is loaded once the application is ready instead,
+    so the server starts listening right away; the application reports itself as refusing traffic until loading is done,
+    and API requests are answered with 503 Service Unavailable in the meantime (see ReadinessInterceptor).
+ */
 @Configuration
 @Profile("!test")
+@Slf4j
 public class DataLoaderConfig {
     private final RecipeInitializer recipeInitializer;
+    private final boolean loadOnReady;
 
-    public DataLoaderConfig(RecipeInitializer recipeInitializer) {
+    public DataLoaderConfig(RecipeInitializer recipeInitializer, @Value("${recipe.loader.on-ready:false}") boolean loadOnReady) {
         this.recipeInitializer = recipeInitializer;
+        this.loadOnReady = loadOnReady;
     }
 
     // Load default Recipes
     @PostConstruct
     public void loadRecipes() {
-        // Call the loadRecipes method of the RecipeInitializer
-        recipeInitializer.loadRecipes();
+        if (!loadOnReady) {
+            // Call the loadRecipes method of the RecipeInitializer
+            recipeInitializer.loadRecipes();
+        }
+    }
+
+    // Load default Recipes after startup, behind the readiness gate
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecipesWhenReady(ApplicationReadyEvent event) {
+        if (loadOnReady) {
+            AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+            try {
+                recipeInitializer.loadRecipes();
+            } finally {
+                AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        }
     }
 }
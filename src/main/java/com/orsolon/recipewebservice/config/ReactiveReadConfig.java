@@ -0,0 +1,45 @@
+package com.orsolon.recipewebservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orsolon.recipewebservice.controller.ReactiveRecipeHandler;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/*
+    Enabled by the reactive profile (see application-reactive.properties): serves the read endpoints of the recipe API
+    from R2DBC, without blocking a thread per request, on a Netty server of its own next to the MVC application.
+    The routes are not exposed as a bean, so that they are only served on that port.
+ */
+@Configuration
+@Profile("reactive")
+@EnableR2dbcRepositories(basePackageClasses = ReactiveRecipeRepository.class)
+public class ReactiveReadConfig {
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ReactiveRecipeHandler reactiveRecipeHandler, ObjectMapper objectMapper,
+                                                 ServerProperties serverProperties, @Value("${recipe.reactive.port:8082}") int port) {
+        // Same JSON settings as the MVC API
+        HandlerStrategies handlerStrategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveRecipeHandler.routes(), handlerStrategies);
+        // Same response compression as the MVC API
+        NettyReactiveWebServerFactory serverFactory = new NettyReactiveWebServerFactory(port);
+        serverFactory.setCompression(serverProperties.getCompression());
+        return new ReactiveReadServer(serverFactory.getWebServer(httpHandler));
+    }
+}
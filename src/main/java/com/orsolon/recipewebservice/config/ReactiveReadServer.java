@@ -0,0 +1,43 @@
+package com.orsolon.recipewebservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+
+/*
+    Runs the Netty server of the reactive read API next to the Tomcat server of the MVC API, on a port of its own.
+    Started with the context, once every bean is ready, and stopped before the beans it serves are destroyed.
+ */
+@Slf4j
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveReadServer(WebServer webServer) {
+        this.webServer = webServer;
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        log.info("Reactive read API listening on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        webServer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // The port actually bound, when configured with port 0
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
@@ -0,0 +1,27 @@
+package com.orsolon.recipewebservice.config;
+
+import com.orsolon.recipewebservice.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Rejects API requests while the application is not ready to accept traffic, e.g. while default data is still being loaded
+@Component
+public class ReadinessInterceptor implements HandlerInterceptor {
+    private final ApplicationAvailability applicationAvailability;
+
+    public ReadinessInterceptor(ApplicationAvailability applicationAvailability) {
+        this.applicationAvailability = applicationAvailability;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (applicationAvailability.getReadinessState() == ReadinessState.REFUSING_TRAFFIC) {
+            throw new ServiceUnavailableException("The application is starting up, please retry shortly.");
+        }
+        return true;
+    }
+}
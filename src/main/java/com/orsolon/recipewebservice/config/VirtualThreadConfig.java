@@ -0,0 +1,47 @@
+package com.orsolon.recipewebservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+    With spring.threads.virtual.enabled=true on Java 21 or later, Spring Boot runs every Tomcat request, and the asynchronous
+    work of the application task executor (streamed exports, @Async methods), on a virtual thread of its own.
+    A request blocked on JDBC then no longer holds one of the server.tomcat.threads.max threads, so nothing but the database
+    bounds how many requests wait on it: the DataSource is wrapped in a ConnectionPermitDataSource with one permit per pooled
+    connection, so the requests waiting for the database queue on a fair semaphore.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final Duration DEFAULT_PERMIT_TIMEOUT = Duration.ofSeconds(30);
+
+    // Static, so that the DataSource is created once this post-processor is registered
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        int permits = environment.getProperty("recipe.threads.db-permits", Integer.class, poolSize);
+        Duration permitTimeout = environment.getProperty("recipe.threads.db-permit-timeout", Duration.class, DEFAULT_PERMIT_TIMEOUT);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionPermitDataSource)) {
+                    log.info("Limiting DataSource {} to {} concurrent connections", beanName, permits);
+                    return new ConnectionPermitDataSource(dataSource, permits, permitTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
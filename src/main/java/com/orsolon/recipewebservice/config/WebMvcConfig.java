@@ -2,10 +2,17 @@ package com.orsolon.recipewebservice.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
+    private final ReadinessInterceptor readinessInterceptor;
+
+    public WebMvcConfig(ReadinessInterceptor readinessInterceptor) {
+        this.readinessInterceptor = readinessInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -14,4 +21,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .allowCredentials(false)
                 .maxAge(3600);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readinessInterceptor)
+                .addPathPatterns("/api/**");
+    }
 }
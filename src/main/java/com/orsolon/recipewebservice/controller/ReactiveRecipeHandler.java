@@ -0,0 +1,101 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.ErrorResponse;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
+import com.orsolon.recipewebservice.service.ReactiveRecipeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/*
+    Functional endpoints of the reactive read API, mirroring the GET endpoints of RecipeController that read the database.
+    Lists are streamed as they are read: as a JSON array, or one JSON document per line when application/x-ndjson is accepted,
+    which lets a client process each Recipe as soon as it arrives. Netty only asks for more Recipes once the previous ones
+    have been written to the connection, so a slow client slows down its own stream, and nothing else.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveRecipeHandler {
+
+    private final ReactiveRecipeService reactiveRecipeService;
+
+    @Autowired
+    public ReactiveRecipeHandler(ReactiveRecipeService reactiveRecipeService) {
+        this.reactiveRecipeService = reactiveRecipeService;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/api/v1/recipes", builder -> builder
+                        .GET("", this::findAll)
+                        .GET("/search", this::search)
+                        .GET("/category/{categoryId}", this::findByCategory)
+                        .GET("/{id}", this::findById))
+                .onError(RecipeNotFoundException.class, (e, request) -> errorResponse(HttpStatus.NOT_FOUND, e, request))
+                .onError(InvalidFieldValueException.class, (e, request) -> errorResponse(HttpStatus.BAD_REQUEST, e, request))
+                .build();
+    }
+
+    public Mono<ServerResponse> findAll(ServerRequest request) {
+        return Mono.defer(() -> stream(request, reactiveRecipeService.findAll()));
+    }
+
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        return Mono.defer(() -> reactiveRecipeService.findById(idVariable(request, "id"))
+                .flatMap(recipe -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(recipe)));
+    }
+
+    public Mono<ServerResponse> findByCategory(ServerRequest request) {
+        return Mono.defer(() -> stream(request, reactiveRecipeService.findByCategory(idVariable(request, "categoryId"))));
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        return Mono.defer(() -> stream(request, reactiveRecipeService.search(request.queryParam("query").orElse(null))));
+    }
+
+    private static Mono<ServerResponse> stream(ServerRequest request, Flux<RecipeDTO> recipes) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(recipes, RecipeDTO.class);
+    }
+
+    // Helper method to read an id from the path, rejecting what is not a number as the MVC endpoints do
+    private static Long idVariable(ServerRequest request, String name) {
+        String value = request.pathVariable(name);
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidFieldValueException("Invalid value: " + value);
+        }
+    }
+
+    private static Mono<ServerResponse> errorResponse(HttpStatus status, Throwable e, ServerRequest request) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(e.getMessage())
+                .path(request.path())
+                .build();
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponse);
+    }
+}
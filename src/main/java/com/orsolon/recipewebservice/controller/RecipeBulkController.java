@@ -0,0 +1,43 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.RecipeBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/recipes/bulk")
+public class RecipeBulkController {
+    private final RecipeBulkService recipeBulkService;
+
+    @Autowired
+    public RecipeBulkController(RecipeBulkService recipeBulkService) {
+        this.recipeBulkService = recipeBulkService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create many recipes in a single request. Each recipe is validated and created independently. Returns the outcome of every recipe, in request order. IDs are generated: recipes or ingredients with an ID are rejected as invalid. Categories are matched by name.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see the outcome of each recipe",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeBulkResultDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "No recipes supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<RecipeBulkResultDTO> createAll(@Parameter(description = "The recipes to create") @RequestBody List<RecipeDTO> recipeDTOs) {
+        RecipeBulkResultDTO result = recipeBulkService.createAll(recipeDTOs);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
@@ -1,6 +1,8 @@
 package com.orsolon.recipewebservice.controller;
 
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.CatalogValidators;
 import com.orsolon.recipewebservice.service.RecipeCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,10 +26,12 @@ import java.util.List;
 @RequestMapping("/api/v1/categories")
 public class RecipeCategoryController {
     private final RecipeCategoryService recipeCategoryService;
+    private final CatalogChangeTracker catalogChangeTracker;
 
     @Autowired
-    public RecipeCategoryController(RecipeCategoryService recipeCategoryService) {
+    public RecipeCategoryController(RecipeCategoryService recipeCategoryService, CatalogChangeTracker catalogChangeTracker) {
         this.recipeCategoryService = recipeCategoryService;
+        this.catalogChangeTracker = catalogChangeTracker;
     }
 
     @GetMapping
@@ -34,9 +39,13 @@ public class RecipeCategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully returned category list",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeCategoryDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public ResponseEntity<List<RecipeCategoryDTO>> findAll() {
+    public ResponseEntity<List<RecipeCategoryDTO>> findAll(WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
         List<RecipeCategoryDTO> categories = recipeCategoryService.findAll();
         return new ResponseEntity<>(categories, HttpStatus.OK);
     }
@@ -45,8 +54,12 @@ public class RecipeCategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category found",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeCategoryDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Category not found")})
-    public ResponseEntity<RecipeCategoryDTO> findById(@Parameter(description = "The unique identifier of the recipe category") @PathVariable Long id) {
+    public ResponseEntity<RecipeCategoryDTO> findById(@Parameter(description = "The unique identifier of the recipe category") @PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogChangeTracker.categoryETag(id))) {
+            return null;
+        }
         RecipeCategoryDTO category = recipeCategoryService.findById(id);
         return new ResponseEntity<>(category, HttpStatus.OK);
     }
@@ -56,10 +69,20 @@ public class RecipeCategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Categories found",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeCategoryDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public ResponseEntity<List<RecipeCategoryDTO>> search(@Parameter(description = "The search query string") @RequestParam String query) {
+    public ResponseEntity<List<RecipeCategoryDTO>> search(@Parameter(description = "The search query string") @RequestParam String query, WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
         List<RecipeCategoryDTO> categories = recipeCategoryService.search(query);
         return new ResponseEntity<>(categories, HttpStatus.OK);
     }
+
+    // Helper method to answer 304 Not Modified before any category is loaded, when nothing in the catalog changed since the client's copy
+    private boolean isCatalogNotModified(WebRequest webRequest) {
+        CatalogValidators validators = catalogChangeTracker.catalogValidators();
+        return webRequest.checkNotModified(validators.getETag(), validators.getLastModified());
+    }
 }
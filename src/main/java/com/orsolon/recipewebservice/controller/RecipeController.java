@@ -1,6 +1,19 @@
 package com.orsolon.recipewebservice.controller;
 
+import com.orsolon.recipewebservice.dto.CursorPageDTO;
+import com.orsolon.recipewebservice.dto.PageDTO;
+import com.orsolon.recipewebservice.dto.RecipeBatchDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.RecipeMatchDTO;
+import com.orsolon.recipewebservice.dto.RecipeSearchPageDTO;
+import com.orsolon.recipewebservice.dto.SimilarRecipeDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.CatalogValidators;
+import com.orsolon.recipewebservice.service.ContentCoding;
+import com.orsolon.recipewebservice.service.RecipeDocument;
+import com.orsolon.recipewebservice.service.RecipeDocumentCache;
+import com.orsolon.recipewebservice.service.RecipeFields;
 import com.orsolon.recipewebservice.service.RecipeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,7 +23,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,44 +35,219 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/v1/recipes")
 public class RecipeController {
+    // The ETag of a Recipe in any representation, or its bare version as accepted before Recipes had ETags
+    private static final Pattern RECIPE_ETAG = Pattern.compile("(?:recipe-(\\d+)-)?(\\d+)(?:-[a-z.]+)*");
+    private static final String XML_REPRESENTATION = "xml";
+    private static final String FIELDS_DESCRIPTION = "The fields of the recipes to return, comma separated among title, categories, yield, ingredients, steps and version. "
+            + "The id is always returned. All fields when omitted.";
+
     private final RecipeService recipeService;
+    private final RecipeDocumentCache recipeDocumentCache;
+    private final CatalogChangeTracker catalogChangeTracker;
 
     @Autowired
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService, RecipeDocumentCache recipeDocumentCache, CatalogChangeTracker catalogChangeTracker) {
         this.recipeService = recipeService;
+        this.recipeDocumentCache = recipeDocumentCache;
+        this.catalogChangeTracker = catalogChangeTracker;
     }
 
-    @GetMapping
+    // page, cursor and ids select one of the lookups below, a request giving more than one of them matches no handler
+    // and is answered with 400
+    @GetMapping(params = {"!page", "!cursor", "!ids"})
     @Operation(summary = "Retrieve a list of all recipes in the system. Returns an array of recipe details.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recipes found",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<List<RecipeDTO>> findAll(@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                   WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        List<RecipeDTO> recipes = recipeService.findAll(RecipeFields.parse(fields));
+        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    }
+
+    @GetMapping(params = {"page", "!cursor", "!ids"})
+    @Operation(summary = "Retrieve a page of recipes ordered by title. Returns the recipe details of the page along with the total number of recipes and pages.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid page, size or fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<PageDTO<RecipeDTO>> findAllPaged(@Parameter(description = "The zero-based page index") @RequestParam int page,
+                                                           @Parameter(description = "The page size, up to 100") @RequestParam(defaultValue = "20") int size,
+                                                           @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                           WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        PageDTO<RecipeDTO> recipes = recipeService.findAll(page, size, RecipeFields.parse(fields));
+        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    }
+
+    @GetMapping(params = {"cursor", "!page", "!ids"})
+    @Operation(summary = "Retrieve the recipes ordered by title that follow the given cursor, without scanning the preceding ones. An empty cursor returns the first page. Returns the recipe details along with the cursor of the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, size or fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<CursorPageDTO<RecipeDTO>> findAllAfter(@Parameter(description = "The cursor returned with the previous page") @RequestParam(defaultValue = "") String cursor,
+                                                                 @Parameter(description = "The page size, up to 100") @RequestParam(defaultValue = "20") int size,
+                                                                 @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                                 WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        CursorPageDTO<RecipeDTO> recipes = recipeService.findAllAfter(cursor, size, RecipeFields.parse(fields));
+        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    }
+
+    @GetMapping(params = {"ids", "!page", "!cursor"})
+    @Operation(summary = "Retrieve several recipes by their unique identifiers at once. Returns the recipes found in the requested order, along with the ids no recipe was found for.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes looked up",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeBatchDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid recipe ID or fields supplied, or no ID, or more than 1000"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<RecipeBatchDTO> findByIds(@Parameter(description = "The unique identifiers of the recipes, comma separated or repeated") @RequestParam List<Long> ids,
+                                                    @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                    WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        RecipeBatchDTO recipes = recipeService.findByIds(ids, RecipeFields.parse(fields));
+        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    }
+
+    // Same as above, for lists of ids too long for a URL
+    @PostMapping("/by-ids")
+    @Operation(summary = "Retrieve several recipes by their unique identifiers at once, given in the request body. Returns the recipes found in the requested order, along with the ids no recipe was found for.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes looked up",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeBatchDTO.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid recipe ID or fields supplied, or no ID, or more than 1000"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
-    public ResponseEntity<List<RecipeDTO>> findAll() {
-        List<RecipeDTO> recipes = recipeService.findAll();
+    public ResponseEntity<RecipeBatchDTO> findByIdsInBody(@Parameter(description = "The unique identifiers of the recipes") @RequestBody List<Long> ids,
+                                                          @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        RecipeBatchDTO recipes = recipeService.findByIds(ids, RecipeFields.parse(fields));
         return new ResponseEntity<>(recipes, HttpStatus.OK);
     }
+
     @GetMapping("/{id}")
     @Operation(summary = "Retrieve a recipe by its unique identifier. Returns the recipe details if found, or a 'Recipe not found' message with a 404 status code if not found.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recipe found",
             content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Recipe not found"),
             @ApiResponse(responseCode = "400", description = "Invalid recipe ID supplied"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
-    public ResponseEntity<RecipeDTO> findById(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id) {
+    public ResponseEntity<RecipeDTO> findById(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id, WebRequest webRequest) {
+        // The JSON document is served below, every other representation is converted to XML
+        if (webRequest.checkNotModified(representationETag(id, XML_REPRESENTATION))) {
+            return notModifiedRecipe();
+        }
         RecipeDTO recipe = recipeService.findById(id);
-        return new ResponseEntity<>(recipe, HttpStatus.OK);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(recipe);
+    }
+
+    // Only some fields of the Recipe are asked for, so neither the cached document nor the cached DTO apply.
+    // JSON requests are answered by the handler below, every other representation is converted to XML
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Retrieve the given fields of a recipe by its unique identifier. Returns the recipe details if found, or a 'Recipe not found' message with a 404 status code if not found.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipe found",
+            content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid recipe ID or fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<RecipeDTO> findFieldsById(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id,
+                                                    @Parameter(description = FIELDS_DESCRIPTION) @RequestParam String fields,
+                                                    WebRequest webRequest) {
+        RecipeFields recipeFields = RecipeFields.parse(fields);
+        String representation = fieldsRepresentation(recipeFields) + "-" + XML_REPRESENTATION;
+        return findFieldsById(id, recipeFields, representation, webRequest);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieve the given fields of a recipe by its unique identifier. Returns the recipe details if found, or a 'Recipe not found' message with a 404 status code if not found.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipe found",
+            content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid recipe ID or fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<RecipeDTO> findJsonFieldsById(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id,
+                                                        @Parameter(description = FIELDS_DESCRIPTION) @RequestParam String fields,
+                                                        WebRequest webRequest) {
+        RecipeFields recipeFields = RecipeFields.parse(fields);
+        return findFieldsById(id, recipeFields, fieldsRepresentation(recipeFields), webRequest);
+    }
+
+    // JSON requests are served from the cached document bytes, compressed ahead of time when the client accepts it,
+    // other representations go through the regular conversion above
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieve a recipe by its unique identifier. Returns the recipe details if found, or a 'Recipe not found' message with a 404 status code if not found.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipe found",
+            content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid recipe ID supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<byte[]> findJsonById(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id, WebRequest webRequest) {
+        // A cached document carries the version: a cached Recipe is validated without the database. Otherwise the client's copy is
+        // validated against the persisted version before any document is built
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        RecipeDocument recipe = recipeDocumentCache.findCachedDocumentById(id);
+        if (recipe == null) {
+            if (isUncachedRecipeNotModified(id, acceptEncoding, webRequest)) {
+                return notModifiedRecipeDocument();
+            }
+            recipe = recipeDocumentCache.findDocumentById(id);
+        }
+        // The coding is negotiated first, since the client's copy only matches the ETag of the coding it would be sent in now
+        ContentCoding coding = recipe.negotiate(acceptEncoding);
+        if (webRequest.checkNotModified(CatalogChangeTracker.recipeETag(id, recipe.getVersion(), coding))) {
+            return notModifiedRecipeDocument();
+        }
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (coding != null) {
+            responseBuilder.header(HttpHeaders.CONTENT_ENCODING, coding.getToken());
+        }
+        return responseBuilder.body(recipe.getBody(coding));
     }
 
     @GetMapping("/category/{categoryId}")
@@ -64,25 +255,120 @@ public class RecipeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recipes found",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
-            @ApiResponse(responseCode = "400", description = "Invalid category ID supplied"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid category ID or fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<List<RecipeDTO>> findByCategory(@Parameter(description = "The unique identifier of the category") @PathVariable Long categoryId,
+                                                          @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                          WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        List<RecipeDTO> recipes = recipeService.findByCategory(categoryId, RecipeFields.parse(fields));
+        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/category/{categoryId}", params = "page")
+    @Operation(summary = "Retrieve a page of recipes that belong to a specific category identified by categoryId, ordered by title. Returns the recipe details of the page along with the total number of recipes and pages.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid category ID, page, size or fields supplied"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
-    public ResponseEntity<List<RecipeDTO>> findByCategory(@Parameter(description = "The unique identifier of the category") @PathVariable Long categoryId) {
-        List<RecipeDTO> recipes = recipeService.findByCategory(categoryId);
+    public ResponseEntity<PageDTO<RecipeDTO>> findByCategoryPaged(@Parameter(description = "The unique identifier of the category") @PathVariable Long categoryId,
+                                                                  @Parameter(description = "The zero-based page index") @RequestParam int page,
+                                                                  @Parameter(description = "The page size, up to 100") @RequestParam(defaultValue = "20") int size,
+                                                                  @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                                  WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        PageDTO<RecipeDTO> recipes = recipeService.findByCategory(categoryId, page, size, RecipeFields.parse(fields));
         return new ResponseEntity<>(recipes, HttpStatus.OK);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search for recipes by a given query string. Returns an array of recipe details that have a title or category matching the search criteria.")
+    @Operation(summary = "Search for recipes by a given query string. Every word of the query must appear in the title, categories, ingredients or steps of a recipe, misspellings of title, category and ingredient words being tolerated. Returns an array of the matching recipe details, most relevant first.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recipes found",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid query or fields supplied"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")
     })
-    public ResponseEntity<List<RecipeDTO>> search(@Parameter(description = "The search query string") @RequestParam String query) {
-        List<RecipeDTO> recipes = recipeService.search(query);
+    public ResponseEntity<List<RecipeDTO>> search(@Parameter(description = "The search query string") @RequestParam String query,
+                                                  @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                  WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        List<RecipeDTO> recipes = recipeService.search(query, RecipeFields.parse(fields));
         return new ResponseEntity<>(recipes, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/search", params = "page")
+    @Operation(summary = "Search for recipes by a given query string, one page at a time, most relevant first. Returns the recipe details of the page along with the total number of matching recipes and pages, and the most frequent categories and ingredients among all matching recipes with their counts.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeSearchPageDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid query, page, size or fields supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public ResponseEntity<RecipeSearchPageDTO> searchPaged(@Parameter(description = "The search query string") @RequestParam String query,
+                                                           @Parameter(description = "The zero-based page index") @RequestParam int page,
+                                                           @Parameter(description = "The page size, up to 100") @RequestParam(defaultValue = "20") int size,
+                                                           @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+                                                           WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        RecipeSearchPageDTO recipes = recipeService.search(query, page, size, RecipeFields.parse(fields));
+        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    }
+
+    @GetMapping("/match")
+    @Operation(summary = "Find the recipes that can be cooked with the given ingredients, lacking at most missingAtMost of their own. Ingredients are compared by their normalized names, ignoring notes, quantities and plurals. Returns a page of recipes best covered first, each with the number of matched ingredients and the names of the missing ones.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = PageDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid ingredients, missingAtMost, page or size supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public ResponseEntity<PageDTO<RecipeMatchDTO>> matchIngredients(@Parameter(description = "The available ingredients, comma separated or repeated") @RequestParam List<String> have,
+                                                                    @Parameter(description = "The maximum number of ingredients a recipe may lack") @RequestParam(defaultValue = "0") int missingAtMost,
+                                                                    @Parameter(description = "The zero-based page index") @RequestParam(defaultValue = "0") int page,
+                                                                    @Parameter(description = "The page size, up to 100") @RequestParam(defaultValue = "20") int size,
+                                                                    WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        PageDTO<RecipeMatchDTO> matches = recipeService.matchIngredients(have, missingAtMost, page, size);
+        return new ResponseEntity<>(matches, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Find the recipes whose ingredients most resemble those of the recipe identified by id, compared by their normalized names. Returns an array of recipes most similar first, each with its Jaccard similarity and the shared ingredients.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Similar recipes found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = SimilarRecipeDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid recipe ID or limit supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public ResponseEntity<List<SimilarRecipeDTO>> findSimilar(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id,
+                                                              @Parameter(description = "The maximum number of recipes returned, up to 100") @RequestParam(defaultValue = "10") int limit,
+                                                              WebRequest webRequest) {
+        if (isCatalogNotModified(webRequest)) {
+            return null;
+        }
+        List<SimilarRecipeDTO> similarRecipes = recipeService.findSimilar(id, limit);
+        return new ResponseEntity<>(similarRecipes, HttpStatus.OK);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new recipe in the system based on the input recipe. Returns the created recipe details.")
     @ApiResponses(value = {
@@ -98,27 +384,33 @@ public class RecipeController {
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing recipe identified by id using the input recipeDTO. Returns the updated recipe details.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Recipe updated successfully",
+            @ApiResponse(responseCode = "200", description = "Recipe updated successfully, along with its new ETag",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
             @ApiResponse(responseCode = "400", description = "Invalid recipe ID supplied, invalid field value or invalid field"),
             @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "412", description = "Recipe modified since the version the update is based on"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
-    public ResponseEntity<RecipeDTO> update(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id, @Parameter(description = "The updated recipe details") @RequestBody @Valid RecipeDTO recipeDTO) {
-        RecipeDTO updatedRecipe = recipeService.update(id, recipeDTO);
-        return new ResponseEntity<>(updatedRecipe, HttpStatus.OK);
+    public ResponseEntity<RecipeDTO> update(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id,
+                                            @Parameter(description = "The ETag (or version) of the recipe the update is based on, taking precedence over the version in the body") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @Parameter(description = "The updated recipe details") @RequestBody @Valid RecipeDTO recipeDTO) {
+        RecipeDTO updatedRecipe = recipeService.update(id, recipeDTO, parseIfMatch(id, ifMatch));
+        return okWithETag(id, updatedRecipe);
     }
 
     @PatchMapping("/{id}")
     @Operation(summary = "Update a subset of properties of an existing recipe identified by id, specified by the updates parameter. Returns the updated recipe details.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Recipe updated successfully",
+            @ApiResponse(responseCode = "200", description = "Recipe updated successfully, along with its new ETag",
                     content = {@Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDTO.class))}),
             @ApiResponse(responseCode = "400", description = "Invalid recipe ID supplied, invalid field value or invalid field"),
             @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "412", description = "Recipe modified since the version the update is based on"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
-    public ResponseEntity<RecipeDTO> partialUpdate(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id, @Parameter(description = "The updated recipe properties to apply") @RequestBody Map<String, Object> updates) {
-        RecipeDTO updatedRecipe = recipeService.partialUpdate(id, updates);
-        return new ResponseEntity<>(updatedRecipe, HttpStatus.OK);
+    public ResponseEntity<RecipeDTO> partialUpdate(@Parameter(description = "The unique identifier of the recipe") @PathVariable Long id,
+                                                   @Parameter(description = "The ETag (or version) of the recipe the update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Parameter(description = "The updated recipe properties to apply") @RequestBody Map<String, Object> updates) {
+        RecipeDTO updatedRecipe = recipeService.partialUpdate(id, updates, parseIfMatch(id, ifMatch));
+        return okWithETag(id, updatedRecipe);
     }
 
     @DeleteMapping("/{id}")
@@ -132,4 +424,134 @@ public class RecipeController {
         recipeService.delete(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    // Helper method to read the expected versions from an If-Match header holding ETags of the recipe, as in "recipe-1-3"
+    // or "recipe-1-3-gzip" (every representation is one of the same version), or bare versions, as in "3", comma separated.
+    // A wildcard expects no version. If-Match compares strongly: a weak ETag, or the ETag of another Recipe, never matches.
+    // Entries that are not recipe ETags are skipped, the header is only rejected when none of them is one.
+    private Set<Long> parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> expectedVersions = new HashSet<>();
+        boolean parsed = false;
+        for (String entry : ifMatch.split(",")) {
+            String eTag = entry.trim();
+            if (eTag.equals("*")) {
+                return null;
+            }
+            boolean weak = eTag.startsWith("W/");
+            if (weak) {
+                eTag = eTag.substring(2);
+            }
+            if (eTag.length() > 1 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+                eTag = eTag.substring(1, eTag.length() - 1);
+            }
+            Matcher matcher = RECIPE_ETAG.matcher(eTag);
+            if (!matcher.matches()) {
+                continue;
+            }
+            try {
+                long version = Long.parseLong(matcher.group(2));
+                parsed = true;
+                if (!weak && (matcher.group(1) == null || matcher.group(1).equals(String.valueOf(id)))) {
+                    expectedVersions.add(version);
+                }
+            } catch (NumberFormatException e) {
+                // An out of range version is no recipe ETag either
+            }
+        }
+        if (!parsed) {
+            throw new InvalidFieldValueException("Invalid value for If-Match: " + ifMatch);
+        }
+        if (expectedVersions.isEmpty()) {
+            throw new OptimisticLockingFailureException("If-Match " + ifMatch + " does not match the recipe with id " + id);
+        }
+        return expectedVersions;
+    }
+
+    // Helper method to answer an update with the ETag of the updated recipe, so the next conditional update needs no GET first
+    private static ResponseEntity<RecipeDTO> okWithETag(Long id, RecipeDTO recipe) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        String eTag = CatalogChangeTracker.recipeETag(id, recipe.getVersion());
+        if (eTag != null) {
+            responseBuilder.eTag(eTag);
+        }
+        return responseBuilder.body(recipe);
+    }
+
+    // Helper method to validate the client's copy of a Recipe whose document is not cached, against its persisted version.
+    // The coding of the copy is unknown until the document is built, since small documents are never compressed, but a version
+    // has a single size: a copy in the coding the client would be sent in now is current. A plain copy of a client that now
+    // accepts a coding is left to the document, which knows whether it is compressed
+    private boolean isUncachedRecipeNotModified(Long id, String acceptEncoding, WebRequest webRequest) {
+        ContentCoding coding = ContentCoding.negotiate(acceptEncoding, EnumSet.allOf(ContentCoding.class));
+        String eTag = CatalogChangeTracker.recipeETag(id, catalogChangeTracker.recipeVersion(id), coding);
+        // checkNotModified records the ETag in the response, so it is only called when it answers 304
+        return eTag != null && ifNoneMatchContains(webRequest, eTag) && webRequest.checkNotModified(eTag);
+    }
+
+    // Helper method to tell whether If-None-Match lists the given ETag, compared weakly as If-None-Match does
+    private static boolean ifNoneMatchContains(WebRequest webRequest, String eTag) {
+        String[] ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String entry : header.split(",")) {
+                String candidate = entry.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals("\"" + eTag + "\"")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Helper method to answer 304 Not Modified for the JSON document, which varies by the coding it is sent in
+    private static ResponseEntity<byte[]> notModifiedRecipeDocument() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    // Helper method to answer 304 Not Modified for a Recipe converted to the representation the client accepts
+    private static ResponseEntity<RecipeDTO> notModifiedRecipe() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    // Helper method to serve some fields of a Recipe. Each subset of the fields is a representation of its own
+    private ResponseEntity<RecipeDTO> findFieldsById(Long id, RecipeFields fields, String representation, WebRequest webRequest) {
+        if (webRequest.checkNotModified(representationETag(id, representation))) {
+            return notModifiedRecipe();
+        }
+        RecipeDTO recipe = recipeService.findById(id, fields);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(recipe);
+    }
+
+    // Helper method to derive the strong ETag of a representation of the Recipe other than its JSON document, from the ETag
+    // of the document, as in "recipe-1-3-xml". Null when the Recipe does not exist
+    private String representationETag(Long id, String representation) {
+        String eTag = catalogChangeTracker.recipeETag(id);
+        return eTag == null ? null : eTag + "-" + representation;
+    }
+
+    // Helper method to name a subset of the fields by its sorted field names, as in "fcategories.id.title". The names are
+    // joined with dots, since an If-Match header separates its ETags with commas
+    private static String fieldsRepresentation(RecipeFields fields) {
+        return "f" + String.join(".", new TreeSet<>(fields.getNames()));
+    }
+
+    // Helper method to answer 304 Not Modified before any Recipe is loaded, when nothing in the catalog changed since the client's copy
+    private boolean isCatalogNotModified(WebRequest webRequest) {
+        CatalogValidators validators = catalogChangeTracker.catalogValidators();
+        return webRequest.checkNotModified(validators.getETag(), validators.getLastModified());
+    }
 }
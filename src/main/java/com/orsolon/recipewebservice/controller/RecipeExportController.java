@@ -0,0 +1,101 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.RecipeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/*
+    Streams the full recipe catalog, writing each recipe as soon as it is read from the database,
+    so neither the entities nor the DTOs of the whole catalog are ever held in memory at once.
+ */
+@RestController
+@RequestMapping("/api/v1/recipes/export")
+public class RecipeExportController {
+    private final RecipeService recipeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recipeWriter;
+
+    @Autowired
+    public RecipeExportController(RecipeService recipeService, ObjectMapper objectMapper) {
+        this.recipeService = recipeService;
+        this.objectMapper = objectMapper;
+        // Let the generator buffer decide when to flush, instead of flushing the response after every recipe
+        this.recipeWriter = objectMapper.writerFor(RecipeDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all recipes in the system as newline delimited JSON, one recipe per line, ordered by title.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes exported",
+                    content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<StreamingResponseBody> exportAsNdjson() {
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.createGenerator(outputStream);
+            // Lines are terminated explicitly instead of separating root values with the default space
+            generator.setRootValueSeparator(null);
+            recipeService.exportAll(recipe -> {
+                writeRecipe(generator, recipe);
+                writeNewLine(generator);
+            });
+            generator.flush();
+        };
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export all recipes in the system as a JSON array written in chunks, ordered by title.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes exported",
+                    content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RecipeDTO.class))}),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")})
+    public ResponseEntity<StreamingResponseBody> exportAsJsonArray() {
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.createGenerator(outputStream);
+            generator.writeStartArray();
+            recipeService.exportAll(recipe -> writeRecipe(generator, recipe));
+            generator.writeEndArray();
+            generator.flush();
+        };
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private void writeRecipe(JsonGenerator generator, RecipeDTO recipe) {
+        try {
+            recipeWriter.writeValue(generator, recipe);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNewLine(JsonGenerator generator) {
+        try {
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
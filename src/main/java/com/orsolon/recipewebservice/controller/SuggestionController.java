@@ -0,0 +1,55 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.SuggestionDTO;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.CatalogValidators;
+import com.orsolon.recipewebservice.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/suggest")
+public class SuggestionController {
+    private final SuggestionService suggestionService;
+    private final CatalogChangeTracker catalogChangeTracker;
+
+    @Autowired
+    public SuggestionController(SuggestionService suggestionService, CatalogChangeTracker catalogChangeTracker) {
+        this.suggestionService = suggestionService;
+        this.catalogChangeTracker = catalogChangeTracker;
+    }
+
+    @GetMapping
+    @Operation(summary = "Suggest recipe titles, category names and ingredients starting with the given prefix at a word boundary, ignoring case and accents. Returns an array of suggestions, those behind the most recipes first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions found",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = SuggestionDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the version identified by If-None-Match or If-Modified-Since"),
+            @ApiResponse(responseCode = "400", description = "Invalid prefix or limit supplied"),
+            @ApiResponse(responseCode = "500", description = "Internal server error occurred")
+    })
+    public ResponseEntity<List<SuggestionDTO>> suggest(@Parameter(description = "The text typed so far") @RequestParam String prefix,
+                                                       @Parameter(description = "The maximum number of suggestions, up to 50") @RequestParam(defaultValue = "10") int limit,
+                                                       WebRequest webRequest) {
+        CatalogValidators validators = catalogChangeTracker.catalogValidators();
+        if (webRequest.checkNotModified(validators.getETag(), validators.getLastModified())) {
+            return null;
+        }
+        List<SuggestionDTO> suggestions = suggestionService.suggest(prefix, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+}
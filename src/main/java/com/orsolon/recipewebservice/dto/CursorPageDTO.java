@@ -0,0 +1,22 @@
+package com.orsolon.recipewebservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+    A page of results for keyset pagination.
+    The nextCursor is an opaque token to be sent back to fetch the following page, and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+}
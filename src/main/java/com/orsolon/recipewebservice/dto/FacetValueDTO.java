@@ -0,0 +1,15 @@
+package com.orsolon.recipewebservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetValueDTO {
+    private String value;
+    private long count;
+}
@@ -0,0 +1,20 @@
+package com.orsolon.recipewebservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeBatchDTO {
+    @Schema(description = "The recipes found, in the order their ids were requested, each once")
+    private List<RecipeDTO> recipes;
+    @Schema(description = "The requested ids with no recipe, in the order they were requested")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,28 @@
+package com.orsolon.recipewebservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+    Outcome of a single recipe of a bulk request. The index is the position of the recipe in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeBulkItemResultDTO {
+    private int index;
+    private Status status;
+    private Long id;
+    private String title;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        CONFLICT,
+        FAILED
+    }
+}
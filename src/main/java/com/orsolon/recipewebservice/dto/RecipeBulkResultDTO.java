@@ -0,0 +1,25 @@
+package com.orsolon.recipewebservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeBulkResultDTO {
+    private int created;
+    private int rejected;
+    private List<RecipeBulkItemResultDTO> items;
+
+    // Time spent in each phase, reported in server logs only
+    @JsonIgnore
+    private long validationMillis;
+    @JsonIgnore
+    private long persistenceMillis;
+}
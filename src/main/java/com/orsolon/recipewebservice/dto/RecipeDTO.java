@@ -1,5 +1,6 @@
 package com.orsolon.recipewebservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,14 +13,18 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Fields left out with the fields parameter are null, and left out of the response
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class RecipeDTO {
 
     @Schema(accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
     private String title;
     private List<RecipeCategoryDTO> categories;
-    private int yield;
+    private Integer yield;
     private List<IngredientDTO> ingredients;
     private List<String> steps;
+    @Schema(description = "The version of the recipe, incremented on every update. Updates based on an older version are rejected.")
+    private Long version;
 
 }
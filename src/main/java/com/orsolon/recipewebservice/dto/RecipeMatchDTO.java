@@ -0,0 +1,23 @@
+package com.orsolon.recipewebservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeMatchDTO {
+    private RecipeDTO recipe;
+    @Schema(description = "The number of distinct ingredients of the recipe covered by the available ingredients")
+    private int matchedIngredients;
+    @Schema(description = "The number of distinct ingredients of the recipe")
+    private int totalIngredients;
+    @Schema(description = "The normalized names of the ingredients of the recipe that are not available")
+    private List<String> missingIngredients;
+}
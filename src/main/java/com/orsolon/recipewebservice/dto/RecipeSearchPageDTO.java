@@ -0,0 +1,25 @@
+package com.orsolon.recipewebservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeSearchPageDTO {
+    private List<RecipeDTO> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    @Schema(description = "The most frequent categories among all matching recipes, with the number of matching recipes in each")
+    private List<FacetValueDTO> categoryFacets;
+    @Schema(description = "The most frequent normalized ingredients among all matching recipes, with the number of matching recipes using each")
+    private List<FacetValueDTO> ingredientFacets;
+}
@@ -0,0 +1,21 @@
+package com.orsolon.recipewebservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarRecipeDTO {
+    private RecipeDTO recipe;
+    @Schema(description = "The Jaccard similarity of the normalized ingredients of both recipes, from 0 to 1")
+    private double similarity;
+    @Schema(description = "The normalized names of the ingredients both recipes use")
+    private List<String> sharedIngredients;
+}
@@ -0,0 +1,25 @@
+package com.orsolon.recipewebservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDTO {
+
+    public enum Type {
+        TITLE,
+        CATEGORY,
+        INGREDIENT
+    }
+
+    private String text;
+    private Type type;
+    @Schema(description = "The number of recipes with this title, in this category or using this ingredient")
+    private int recipeCount;
+}
@@ -0,0 +1,17 @@
+package com.orsolon.recipewebservice.event;
+
+import lombok.Value;
+
+// Published after a Recipe Category was created, updated or deleted
+@Value
+public class RecipeCategoryChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    Type type;
+    Long categoryId;
+}
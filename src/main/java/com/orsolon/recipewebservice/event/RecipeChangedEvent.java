@@ -0,0 +1,26 @@
+package com.orsolon.recipewebservice.event;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import lombok.Value;
+
+import java.util.Set;
+
+/*
+    Published after a Recipe was created, updated or deleted.
+    Titles holds every title the Recipe had before and after the change, so that lookups by title can be invalidated too.
+    Recipe holds the Recipe as it is after the change, and is null when it was deleted.
+ */
+@Value
+public class RecipeChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    Type type;
+    Long recipeId;
+    Set<String> titles;
+    RecipeDTO recipe;
+}
@@ -0,0 +1,27 @@
+package com.orsolon.recipewebservice.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One of the STRIPES rows counting the transactions that changed Recipes or Recipe Categories, which the collection ETags are derived from.
+// Each transaction increments a single stripe, so concurrent writers rarely wait on the same row; the catalog version is their sum.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class CatalogVersion {
+    public static final int STRIPES = 16;
+
+    @Id
+    private Long id;
+
+    private long version;
+
+    // Epoch milliseconds, whole seconds as carried by the Last-Modified header
+    private long lastModified;
+}
@@ -8,11 +8,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -27,9 +33,17 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+// The (title, id) index backs the title ordering and the keyset pagination seek
+@Table(indexes = @Index(name = "idx_recipe_title_id", columnList = "title, id"))
+// Fetch plans used to hydrate one collection at a time. Fetching more than one bag in the same query
+// is not supported by Hibernate, so each collection gets its own graph.
+@NamedEntityGraph(name = "Recipe.categories", attributeNodes = @NamedAttributeNode("categories"))
+@NamedEntityGraph(name = "Recipe.ingredients", attributeNodes = @NamedAttributeNode("ingredients"))
+@NamedEntityGraph(name = "Recipe.steps", attributeNodes = @NamedAttributeNode("steps"))
 public class Recipe {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "recipe_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -52,4 +66,9 @@ public class Recipe {
     @CollectionTable(name = "recipe_steps", joinColumns = @JoinColumn(name = "recipe_id"))
     @Column(name = "step", length = 2048)
     private List<String> steps;
+
+    // Checked and incremented by every update, so concurrent writers cannot overwrite each other.
+    // A primitive, so that a Recipe rebuilt from a DTO with just its id is still recognized as an existing row.
+    @Version
+    private long version;
 }
\ No newline at end of file
@@ -1,17 +1,26 @@
 package com.orsolon.recipewebservice.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.text.Normalizer;
 import java.util.List;
+import java.util.Locale;
 
 
 @Data
@@ -19,14 +28,40 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+// Categories are unique by name, ignoring case and whitespace differences
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_recipe_category_normalized_name", columnNames = "normalized_name"))
 public class RecipeCategory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_category_seq")
+    @SequenceGenerator(name = "recipe_category_seq", sequenceName = "recipe_category_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
     private String name;
 
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
     @ManyToMany(mappedBy = "categories")
     private List<Recipe> recipes;
+
+    // A primitive, so that categories referenced by id only, as in RecipeDTOs, are not taken for new ones
+    @Version
+    private long version;
+
+    @PrePersist
+    @PreUpdate
+    void updateNormalizedName() {
+        this.normalizedName = normalizeName(name);
+    }
+
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return Normalizer.normalize(name, Normalizer.Form.NFKC)
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,28 @@
+package com.orsolon.recipewebservice.model.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("ingredient")
+public class IngredientRow {
+    @Id
+    private Long id;
+
+    private String quantity;
+
+    private String title;
+
+    private String unit;
+
+    private String item;
+
+    private Long recipeId;
+}
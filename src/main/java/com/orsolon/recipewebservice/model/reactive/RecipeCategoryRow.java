@@ -0,0 +1,23 @@
+package com.orsolon.recipewebservice.model.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// A category assigned to a Recipe: a row of the recipe_category table joined with the recipe it is assigned to
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("recipe_category")
+public class RecipeCategoryRow {
+    @Id
+    private Long id;
+
+    private String name;
+
+    private Long recipeId;
+}
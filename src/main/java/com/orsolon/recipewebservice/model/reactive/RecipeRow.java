@@ -0,0 +1,28 @@
+package com.orsolon.recipewebservice.model.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/*
+    A row of the recipe table, as read by the reactive read API.
+    R2DBC maps no associations, so the categories, ingredients and steps of a Recipe are read from their own tables.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("recipe")
+public class RecipeRow {
+    @Id
+    private Long id;
+
+    private String title;
+
+    private int yield;
+
+    private long version;
+}
@@ -0,0 +1,19 @@
+package com.orsolon.recipewebservice.model.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Table;
+
+// A row of the recipe_steps collection table, which has no id of its own
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("recipe_steps")
+public class RecipeStepRow {
+    private Long recipeId;
+
+    private String step;
+}
@@ -0,0 +1,30 @@
+package com.orsolon.recipewebservice.repository;
+
+import com.orsolon.recipewebservice.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    // Last-Modified never moves backwards, even when the clocks of the instances sharing the database differ
+    @Transactional
+    @Modifying
+    @Query("update CatalogVersion c set c.version = c.version + 1, "
+            + "c.lastModified = case when c.lastModified < :lastModified then :lastModified else c.lastModified end where c.id = :id")
+    int increment(@Param("id") Long id, @Param("lastModified") long lastModified);
+
+    // Both validators of the catalog in a single statement, so that they always describe the same state
+    @Query("select sum(c.version) as version, max(c.lastModified) as lastModified from CatalogVersion c")
+    CatalogVersionSummary summarize();
+
+    interface CatalogVersionSummary {
+        Long getVersion();
+
+        Long getLastModified();
+    }
+}
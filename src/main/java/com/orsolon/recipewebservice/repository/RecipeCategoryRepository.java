@@ -3,11 +3,20 @@ package com.orsolon.recipewebservice.repository;
 import com.orsolon.recipewebservice.model.RecipeCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RecipeCategoryRepository extends JpaRepository<RecipeCategory,  Long>, JpaSpecificationExecutor<RecipeCategory> {
     List<RecipeCategory> findAllByOrderByNameAsc();
+
+    Optional<RecipeCategory> findByNormalizedName(String normalizedName);
+
+    // The version alone, so that conditional requests are answered without loading the category
+    @Query("select c.version from RecipeCategory c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -1,18 +1,135 @@
 package com.orsolon.recipewebservice.repository;
 
 import com.orsolon.recipewebservice.model.Recipe;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe,  Long>, JpaSpecificationExecutor<Recipe> {
-    List<Recipe> findByCategories_Id(Long categoryId);
+    /*
+        Projections of the Recipe columns and of each of its collections, so that the fields a client asked for are read
+        column by column, a collection left out costing no query, without loading any managed Recipe.
+     */
+    interface RecipeView {
+        Long getId();
+        String getTitle();
+        int getYield();
+        long getVersion();
+    }
+
+    interface RecipeCategoryView {
+        Long getRecipeId();
+        Long getId();
+        String getName();
+    }
+
+    interface IngredientView {
+        Long getRecipeId();
+        Long getId();
+        String getQuantity();
+        String getTitle();
+        String getUnit();
+        String getItem();
+    }
+
+    interface StepView {
+        Long getRecipeId();
+        String getStep();
+    }
+
+    @Query(value = "select r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r",
+            countQuery = "select count(r) from Recipe r")
+    Page<RecipeView> findAllViews(Pageable pageable);
+
+    @Query("select r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r order by r.title asc, r.id asc")
+    List<RecipeView> findAllViewsOrderedByTitle();
+
+    @Query("select r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r where r.id in :ids")
+    List<RecipeView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r join r.categories c where c.id = :categoryId")
+    List<RecipeView> findViewsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Counts each Recipe once, however many of its category associations the join yields
+    @Query(value = "select distinct r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r join r.categories c where c.id = :categoryId",
+            countQuery = "select count(distinct r) from Recipe r join r.categories c where c.id = :categoryId")
+    Page<RecipeView> findViewsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query("select r.id as recipeId, c.id as id, c.name as name from Recipe r join r.categories c where r.id in :recipeIds")
+    List<RecipeCategoryView> findCategoryViewsByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Query("select i.recipe.id as recipeId, i.id as id, i.quantity as quantity, i.title as title, i.unit as unit, i.item as item "
+            + "from Ingredient i where i.recipe.id in :recipeIds order by i.id")
+    List<IngredientView> findIngredientViewsByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Query("select r.id as recipeId, s as step from Recipe r join r.steps s where r.id in :recipeIds")
+    List<StepView> findStepViewsByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
 
     List<Recipe> findAllByOrderByTitleAsc();
 
     Optional<Recipe> findByTitle(String title);
+
+    // The version alone, so that conditional requests are answered without loading the Recipe
+    @Query("select r.version from Recipe r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Versioned increment of a Recipe whose own row is left unchanged by an update, 0 when it is no longer at the given version
+    @Transactional
+    @Modifying
+    @Query("update Recipe r set r.version = r.version + 1 where r.id = :id and r.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") long version);
+
+    // Recipes embed the name of their categories, so renaming or deleting a category is a change of each of its Recipes
+    @Transactional
+    @Modifying
+    @Query("update Recipe r set r.version = r.version + 1 where r.id in (select cr.id from Recipe cr join cr.categories c where c.id = :categoryId)")
+    int incrementVersionByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Set-based uniqueness lookup, used to check a whole batch of new Recipes at once
+    @Query("select r.title from Recipe r where r.title in :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    // Keyset pagination queries. Only the page size of the Pageable is used, the position is given by the (title, id) cursor.
+    @Query("select r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r order by r.title asc, r.id asc")
+    List<RecipeView> findKeysetFirstPage(Pageable pageable);
+
+    @Query("select r.id as id, r.title as title, r.yield as yield, r.version as version from Recipe r "
+            + "where r.title > :title or (r.title = :title and r.id > :id) order by r.title asc, r.id asc")
+    List<RecipeView> findKeysetPageAfter(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    // Streams the whole catalog through a database cursor. Must be consumed inside a transaction and closed afterwards.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select r from Recipe r order by r.title asc, r.id asc")
+    Stream<Recipe> streamAllByOrderByTitleAsc();
+
+    // Batch hydration queries, one per collection. Used to initialize the collections of already loaded Recipes.
+    @EntityGraph("Recipe.categories")
+    @Query("select r from Recipe r where r.id in :ids")
+    List<Recipe> fetchCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph("Recipe.ingredients")
+    @Query("select r from Recipe r where r.id in :ids")
+    List<Recipe> fetchIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph("Recipe.steps")
+    @Query("select r from Recipe r where r.id in :ids")
+    List<Recipe> fetchStepsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package com.orsolon.recipewebservice.repository.reactive;
+
+import com.orsolon.recipewebservice.model.reactive.IngredientRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveIngredientRepository extends Repository<IngredientRow, Long> {
+    @Query("SELECT * FROM ingredient WHERE recipe_id IN (:recipeIds) ORDER BY recipe_id, id")
+    Flux<IngredientRow> findByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,16 @@
+package com.orsolon.recipewebservice.repository.reactive;
+
+import com.orsolon.recipewebservice.model.reactive.RecipeCategoryRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveRecipeCategoryRepository extends Repository<RecipeCategoryRow, Long> {
+    // The categories of a batch of Recipes, each paired with the Recipe it is assigned to
+    @Query("SELECT c.id, c.name, a.recipe_id FROM recipe_category_association a JOIN recipe_category c ON c.id = a.category_id " +
+            "WHERE a.recipe_id IN (:recipeIds)")
+    Flux<RecipeCategoryRow> findByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,31 @@
+package com.orsolon.recipewebservice.repository.reactive;
+
+import com.orsolon.recipewebservice.model.reactive.RecipeRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only: the reactive API only reads, every write goes through the JPA RecipeRepository
+public interface ReactiveRecipeRepository extends Repository<RecipeRow, Long> {
+    Mono<RecipeRow> findById(Long id);
+
+    Flux<RecipeRow> findAllById(Iterable<Long> ids);
+
+    // Keyset pagination queries, ordered by (title, id) like the JPA ones, so that they seek on the idx_recipe_title_id index
+    @Query("SELECT * FROM recipe ORDER BY title, id LIMIT :limit")
+    Flux<RecipeRow> findKeysetFirstPage(@Param("limit") int limit);
+
+    @Query("SELECT * FROM recipe WHERE title > :title OR (title = :title AND id > :id) ORDER BY title, id LIMIT :limit")
+    Flux<RecipeRow> findKeysetPageAfter(@Param("title") String title, @Param("id") Long id, @Param("limit") int limit);
+
+    @Query("SELECT r.* FROM recipe r JOIN recipe_category_association a ON a.recipe_id = r.id " +
+            "WHERE a.category_id = :categoryId ORDER BY r.title, r.id LIMIT :limit")
+    Flux<RecipeRow> findKeysetFirstPageByCategoryId(@Param("categoryId") Long categoryId, @Param("limit") int limit);
+
+    @Query("SELECT r.* FROM recipe r JOIN recipe_category_association a ON a.recipe_id = r.id " +
+            "WHERE a.category_id = :categoryId AND (r.title > :title OR (r.title = :title AND r.id > :id)) ORDER BY r.title, r.id LIMIT :limit")
+    Flux<RecipeRow> findKeysetPageAfterByCategoryId(@Param("categoryId") Long categoryId, @Param("title") String title,
+                                                    @Param("id") Long id, @Param("limit") int limit);
+}
@@ -0,0 +1,15 @@
+package com.orsolon.recipewebservice.repository.reactive;
+
+import com.orsolon.recipewebservice.model.reactive.RecipeStepRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveRecipeStepRepository extends Repository<RecipeStepRow, Long> {
+    // Steps have no order column, they are read in the order they were stored, as the JPA mapping does
+    @Query("SELECT recipe_id, step FROM recipe_steps WHERE recipe_id IN (:recipeIds)")
+    Flux<RecipeStepRow> findByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,77 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.config.CacheConfig;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+    Evicts exactly the cache entries a write made stale.
+    Entries are evicted right away and, when the write is part of a transaction, once more when it completes:
+    a lookup running in between may have cached data that was not committed yet, or that was rolled back.
+ */
+@Component
+public class CacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @EventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        evictNowAndAfterTransaction(() -> {
+            evict(CacheConfig.RECIPES_BY_ID, event.getRecipeId());
+            evict(CacheConfig.RECIPE_DOCUMENTS, event.getRecipeId());
+            event.getTitles().forEach(title -> evict(CacheConfig.RECIPES_BY_TITLE, title));
+        });
+    }
+
+    @EventListener
+    public void onRecipeCategoryChanged(RecipeCategoryChangedEvent event) {
+        evictNowAndAfterTransaction(() -> {
+            clear(CacheConfig.CATEGORIES);
+            evict(CacheConfig.CATEGORIES_BY_ID, event.getCategoryId());
+            if (event.getType() != RecipeCategoryChangedEvent.Type.CREATED) {
+                // Cached Recipes embed their categories, and category changes are rare enough to simply drop them all
+                clear(CacheConfig.RECIPES_BY_ID);
+                clear(CacheConfig.RECIPES_BY_TITLE);
+                clear(CacheConfig.RECIPE_DOCUMENTS);
+            }
+        });
+    }
+
+    private void evictNowAndAfterTransaction(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
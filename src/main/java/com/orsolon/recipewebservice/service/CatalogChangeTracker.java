@@ -0,0 +1,194 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.config.CacheConfig;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
+import com.orsolon.recipewebservice.model.CatalogVersion;
+import com.orsolon.recipewebservice.repository.CatalogVersionRepository;
+import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+    Derives the HTTP validators (ETag and Last-Modified) from persisted versions, so that every instance sharing the database
+    answers conditional requests alike, and none of them is reset by a restart.
+    A Recipe or Recipe Category ETag is its @Version. The version of a cached Recipe is taken from the cache, the others are read
+    without loading the entity.
+    Collection endpoints share the catalog version, spread over CatalogVersion.STRIPES rows so that concurrent writers do not
+    all wait on a single row. A transaction that publishes a write increments one stripe when it publishes its first write, and
+    that same stripe again only for a write published after it read the validators: reads later in that transaction see the new
+    version, other transactions once it commits, and a rollback undoes it.
+    Callers must read the validator before reading the data.
+ */
+@Component
+public class CatalogChangeTracker {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeCategoryRepository recipeCategoryRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache recipeDocuments;
+    private final Cache recipesById;
+
+    @Autowired
+    public CatalogChangeTracker(RecipeRepository recipeRepository, RecipeCategoryRepository recipeCategoryRepository,
+                                CatalogVersionRepository catalogVersionRepository, PlatformTransactionManager transactionManager,
+                                CacheManager cacheManager) {
+        this.recipeRepository = recipeRepository;
+        this.recipeCategoryRepository = recipeCategoryRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recipeDocuments = cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS);
+        this.recipesById = cacheManager.getCache(CacheConfig.RECIPES_BY_ID);
+    }
+
+    @PostConstruct
+    public void createCatalogVersion() {
+        long now = toSeconds(System.currentTimeMillis());
+        for (long stripe = 1; stripe <= CatalogVersion.STRIPES; stripe++) {
+            if (!catalogVersionRepository.existsById(stripe)) {
+                try {
+                    catalogVersionRepository.saveAndFlush(CatalogVersion.builder()
+                            .id(stripe)
+                            .lastModified(now)
+                            .build());
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance created it in the meantime
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        catalogChanged();
+    }
+
+    @EventListener
+    public void onRecipeCategoryChanged(RecipeCategoryChangedEvent event) {
+        catalogChanged();
+    }
+
+    // Null when the Recipe does not exist, the request is then answered as if it had no validator
+    public String recipeETag(Long recipeId) {
+        return recipeETag(recipeId, recipeVersion(recipeId));
+    }
+
+    // The version of a Recipe from the cache, or else from the database without loading it. Null when the Recipe does not exist
+    public Long recipeVersion(Long recipeId) {
+        Long version = cachedRecipeVersion(recipeId);
+        return version != null ? version : recipeRepository.findVersionById(recipeId).orElse(null);
+    }
+
+    // Null without a version
+    public static String recipeETag(Long recipeId, Long version) {
+        return version == null ? null : "recipe-" + recipeId + "-" + version;
+    }
+
+    // The ETag of the Recipe as sent in the given content coding, null for the plain JSON. Each coding is a representation of
+    // its own, with different bytes, so it carries its own strong ETag, as in "recipe-1-3-zstd"
+    public static String recipeETag(Long recipeId, Long version, ContentCoding coding) {
+        String eTag = recipeETag(recipeId, version);
+        return eTag == null || coding == null ? eTag : eTag + "-" + coding.getToken();
+    }
+
+    public String categoryETag(Long categoryId) {
+        return recipeCategoryRepository.findVersionById(categoryId)
+                .map(version -> "category-" + categoryId + "-" + version)
+                .orElse(null);
+    }
+
+    // Shared by every collection of Recipes and Recipe Categories. The ETag is weak, as in W/"catalog-3": the catalog version
+    // tells nothing of the bytes of a collection, and the server compresses no response carrying a strong ETag
+    public CatalogValidators catalogValidators() {
+        CatalogVersionIncremented incremented = catalogVersionIncremented();
+        if (incremented != null) {
+            incremented.observed = true;
+        }
+        CatalogVersionRepository.CatalogVersionSummary summary = catalogVersionRepository.summarize();
+        if (summary.getVersion() == null) {
+            throw new IllegalStateException("The catalog version is missing");
+        }
+        return new CatalogValidators("W/\"catalog-" + summary.getVersion() + "\"", summary.getLastModified());
+    }
+
+    // Helper method to read the version of a Recipe from its cached document or DTO, null when neither is cached
+    private Long cachedRecipeVersion(Long recipeId) {
+        if (recipeId == null) {
+            return null;
+        }
+        RecipeDocument document = recipeDocuments.get(recipeId, RecipeDocument.class);
+        if (document != null) {
+            return document.getVersion();
+        }
+        RecipeDTO recipe = recipesById.get(recipeId, RecipeDTO.class);
+        return recipe == null ? null : recipe.getVersion();
+    }
+
+    // Increments a stripe of the catalog version in the transaction of the write, or right away without one. Writes published
+    // after the last increment are folded into it until the transaction reads the validators
+    private void catalogChanged() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> incrementCatalogVersion(randomStripe()));
+            return;
+        }
+        CatalogVersionIncremented incremented = catalogVersionIncremented();
+        if (incremented == null) {
+            incremented = new CatalogVersionIncremented(randomStripe());
+            incrementCatalogVersion(incremented.stripe);
+            TransactionSynchronizationManager.registerSynchronization(incremented);
+        } else if (incremented.observed) {
+            incrementCatalogVersion(incremented.stripe);
+            incremented.observed = false;
+        }
+    }
+
+    // Helper method to find the increment of the current transaction, null when it has none
+    private static CatalogVersionIncremented catalogVersionIncremented() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(CatalogVersionIncremented.class::isInstance)
+                .map(CatalogVersionIncremented.class::cast)
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Marks the transaction as counted. Registered with the synchronizations of the current transaction only, so that
+    // a nested new transaction is counted on its own. A transaction keeps to one stripe, so it never holds two of the rows
+    private static class CatalogVersionIncremented implements TransactionSynchronization {
+        private final long stripe;
+        private boolean observed;
+
+        private CatalogVersionIncremented(long stripe) {
+            this.stripe = stripe;
+        }
+    }
+
+    private static long randomStripe() {
+        return ThreadLocalRandom.current().nextInt(CatalogVersion.STRIPES) + 1;
+    }
+
+    private void incrementCatalogVersion(long stripe) {
+        // HTTP dates have a resolution of one second, which only the ETag (checked first when sent) improves upon
+        catalogVersionRepository.increment(stripe, toSeconds(System.currentTimeMillis()));
+    }
+
+    private static long toSeconds(long epochMillis) {
+        return epochMillis - epochMillis % 1000;
+    }
+}
@@ -0,0 +1,11 @@
+package com.orsolon.recipewebservice.service;
+
+import lombok.Value;
+
+// The ETag and Last-Modified of the catalog, read together so that a response never mixes two states of the catalog
+@Value
+public class CatalogValidators {
+    String eTag;
+    // Epoch milliseconds, whole seconds as carried by the Last-Modified header
+    long lastModified;
+}
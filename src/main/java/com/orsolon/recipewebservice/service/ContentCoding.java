@@ -0,0 +1,99 @@
+package com.orsolon.recipewebservice.service;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    The content codings the recipe documents are stored in next to their plain JSON, listed by preference:
+    zstd gives smaller documents that are faster to decompress, gzip is understood by every client.
+    Both encoders are pure Java, zstd coming from aircompressor.
+ */
+public enum ContentCoding {
+    ZSTD("zstd"),
+    GZIP("gzip");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public byte[] encode(byte[] content) {
+        return switch (this) {
+            case ZSTD -> zstd(content);
+            case GZIP -> gzip(content);
+        };
+    }
+
+    // Picks the coding the Accept-Encoding header prefers among the available ones, or null when the content is to be sent as is
+    public static ContentCoding negotiate(String acceptEncoding, Set<ContentCoding> available) {
+        if (acceptEncoding == null || acceptEncoding.isBlank() || available.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Double> qualities = new HashMap<>();
+        for (String element : acceptEncoding.split(",")) {
+            String[] parameters = element.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            qualities.put("x-gzip".equals(name) ? GZIP.token : name, quality(parameters));
+        }
+
+        ContentCoding preferred = null;
+        double preferredQuality = 0;
+        for (ContentCoding coding : values()) {
+            double quality = qualities.getOrDefault(coding.token, qualities.getOrDefault("*", 0.0));
+            if (available.contains(coding) && quality > preferredQuality) {
+                preferred = coding;
+                preferredQuality = quality;
+            }
+        }
+        return preferred;
+    }
+
+    // Helper method to read the q parameter of an Accept-Encoding element, 1 when missing and 0 when malformed
+    private static double quality(String[] parameters) {
+        return Arrays.stream(parameters)
+                .skip(1)
+                .map(String::trim)
+                .filter(parameter -> parameter.startsWith("q="))
+                .findFirst()
+                .map(parameter -> {
+                    try {
+                        return Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        return 0.0;
+                    }
+                })
+                .orElse(1.0);
+    }
+
+    private static byte[] zstd(byte[] content) {
+        ZstdCompressor compressor = new ZstdCompressor();
+        byte[] buffer = new byte[compressor.maxCompressedLength(content.length)];
+        int length = compressor.compress(content, 0, content.length, buffer, 0, buffer.length);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -6,8 +6,15 @@ import com.orsolon.recipewebservice.dto.RecipeDTO;
 import com.orsolon.recipewebservice.model.Ingredient;
 import com.orsolon.recipewebservice.model.Recipe;
 import com.orsolon.recipewebservice.model.RecipeCategory;
+import com.orsolon.recipewebservice.model.reactive.IngredientRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeCategoryRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeRow;
+import com.orsolon.recipewebservice.repository.RecipeRepository.IngredientView;
+import com.orsolon.recipewebservice.repository.RecipeRepository.RecipeCategoryView;
+import com.orsolon.recipewebservice.repository.RecipeRepository.RecipeView;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,7 +34,35 @@ public class DTOConverter {
                 .ingredients(recipe.getIngredients().stream()
                         .map(this::convertIngredientToDTO)
                         .collect(Collectors.toList()))
-                .steps(recipe.getSteps())
+                .steps(recipe.getSteps() == null ? null : new ArrayList<>(recipe.getSteps()))
+                .version(recipe.getVersion())
+                .build();
+    }
+
+    // The collections are the rows projected for this Recipe, null when left out of the fields
+    public RecipeDTO convertRecipeViewToDTO(RecipeView recipe, List<RecipeCategoryView> categories, List<IngredientView> ingredients,
+                                            List<String> steps, RecipeFields fields) {
+        return RecipeDTO.builder()
+                .id(recipe.getId())
+                .title(fields.includes(RecipeFields.TITLE) ? recipe.getTitle() : null)
+                .categories(categories == null ? null : categories.stream()
+                        .map(category -> RecipeCategoryDTO.builder()
+                                .id(category.getId())
+                                .name(category.getName())
+                                .build())
+                        .collect(Collectors.toList()))
+                .yield(fields.includes(RecipeFields.YIELD) ? recipe.getYield() : null)
+                .ingredients(ingredients == null ? null : ingredients.stream()
+                        .map(ingredient -> IngredientDTO.builder()
+                                .id(ingredient.getId())
+                                .quantity(ingredient.getQuantity())
+                                .title(ingredient.getTitle())
+                                .unit(ingredient.getUnit())
+                                .item(ingredient.getItem())
+                                .build())
+                        .collect(Collectors.toList()))
+                .steps(steps == null ? null : new ArrayList<>(steps))
+                .version(fields.includes(RecipeFields.VERSION) ? recipe.getVersion() : null)
                 .build();
     }
 
@@ -36,7 +71,7 @@ public class DTOConverter {
                 .id(recipeDTO.getId())
                 .title(recipeDTO.getTitle())
                 .categories(convertRecipeCategoriesToEntity(recipeDTO.getCategories()))
-                .yield(recipeDTO.getYield())
+                .yield(recipeDTO.getYield() == null ? 0 : recipeDTO.getYield())
                 .ingredients(recipeDTO.getIngredients().stream()
                         .map(this::convertIngredientToEntity)
                         .collect(Collectors.toList()))
@@ -104,4 +139,30 @@ public class DTOConverter {
                 .item(ingredientDTO.getItem())
                 .build();
     }
+
+    // Row converters, used by the reactive read API where a Recipe is assembled from the rows of each table
+    public RecipeDTO convertRecipeRowToDTO(RecipeRow recipe, List<RecipeCategoryRow> categories, List<IngredientRow> ingredients, List<String> steps) {
+        return RecipeDTO.builder()
+                .id(recipe.getId())
+                .title(recipe.getTitle())
+                .categories(categories.stream()
+                        .map(category -> RecipeCategoryDTO.builder()
+                                .id(category.getId())
+                                .name(category.getName())
+                                .build())
+                        .collect(Collectors.toList()))
+                .yield(recipe.getYield())
+                .ingredients(ingredients.stream()
+                        .map(ingredient -> IngredientDTO.builder()
+                                .id(ingredient.getId())
+                                .quantity(ingredient.getQuantity())
+                                .title(ingredient.getTitle())
+                                .unit(ingredient.getUnit())
+                                .item(ingredient.getItem())
+                                .build())
+                        .collect(Collectors.toList()))
+                .steps(steps)
+                .version(recipe.getVersion())
+                .build();
+    }
 }
@@ -0,0 +1,12 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRecipeService {
+    Flux<RecipeDTO> findAll();
+    Mono<RecipeDTO> findById(Long id);
+    Flux<RecipeDTO> findByCategory(Long categoryId);
+    Flux<RecipeDTO> search(String query);
+}
@@ -0,0 +1,158 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
+import com.orsolon.recipewebservice.model.reactive.IngredientRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeCategoryRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeStepRow;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveIngredientRepository;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeRepository;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeStepRepository;
+import com.orsolon.recipewebservice.service.search.RecipeSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+    Non-blocking counterpart of the read side of RecipeServiceImpl, over R2DBC.
+    Recipes are streamed in batches of recipe.reactive.batch-size: a batch is read with a keyset query, then its categories,
+    ingredients and steps with one query per table, as RecipeServiceImpl does with its fetch plans. The next batch is only read
+    once the subscriber asks for more than the current one holds, so a slow client holds back the database reads instead of
+    having the whole catalog buffered for it.
+    Arguments are validated when a method is called, before anything is subscribed, so that a bad request fails before a
+    response is committed.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveRecipeServiceImpl implements ReactiveRecipeService {
+
+    private final ReactiveRecipeRepository recipeRepository;
+    private final ReactiveRecipeCategoryRepository recipeCategoryRepository;
+    private final ReactiveIngredientRepository ingredientRepository;
+    private final ReactiveRecipeStepRepository recipeStepRepository;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final DTOConverter dtoConverter;
+    private final int batchSize;
+
+    @Autowired
+    public ReactiveRecipeServiceImpl(ReactiveRecipeRepository recipeRepository, ReactiveRecipeCategoryRepository recipeCategoryRepository,
+                                     ReactiveIngredientRepository ingredientRepository, ReactiveRecipeStepRepository recipeStepRepository,
+                                     RecipeSearchIndex recipeSearchIndex, DTOConverter dtoConverter,
+                                     @Value("${recipe.reactive.batch-size:100}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("recipe.reactive.batch-size must be positive: " + batchSize);
+        }
+        this.recipeRepository = recipeRepository;
+        this.recipeCategoryRepository = recipeCategoryRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.recipeStepRepository = recipeStepRepository;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.dtoConverter = dtoConverter;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Flux<RecipeDTO> findAll() {
+        return inBatches(recipeRepository.findKeysetFirstPage(batchSize),
+                last -> recipeRepository.findKeysetPageAfter(last.getTitle(), last.getId(), batchSize));
+    }
+
+    @Override
+    public Mono<RecipeDTO> findById(Long recipeId) {
+        validateIdParameter(recipeId);
+
+        return recipeRepository.findById(recipeId)
+                .switchIfEmpty(Mono.error(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId)))
+                .flatMap(recipe -> fetchCollections(List.of(recipe)).next());
+    }
+
+    @Override
+    public Flux<RecipeDTO> findByCategory(Long categoryId) {
+        validateIdParameter(categoryId);
+
+        return inBatches(recipeRepository.findKeysetFirstPageByCategoryId(categoryId, batchSize),
+                last -> recipeRepository.findKeysetPageAfterByCategoryId(categoryId, last.getTitle(), last.getId(), batchSize));
+    }
+
+    @Override
+    public Flux<RecipeDTO> search(String query) {
+        validateStringParameter(query);
+
+        // The index is in memory, only the hits are read from the database, one batch at a time and in the order of relevance
+        List<Long> recipeIds = recipeSearchIndex.search(query, 0, Integer.MAX_VALUE).getRecipeIds();
+        return Flux.fromIterable(recipeIds)
+                .buffer(batchSize)
+                .concatMap(batchIds -> recipeRepository.findAllById(batchIds)
+                        .collectMap(RecipeRow::getId, Function.identity())
+                        .flatMapMany(recipesById -> fetchCollections(batchIds.stream()
+                                .map(recipesById::get)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList()))), 0);
+    }
+
+    /*
+        Reads the first batch, then each following one from the last Recipe of the batch before it, until a batch comes back short.
+        Batches are hydrated one at a time, with no prefetch: the next batch is read while the current one is being sent,
+        and none after it until the subscriber has taken the current one.
+     */
+    private Flux<RecipeDTO> inBatches(Flux<RecipeRow> firstBatch, Function<RecipeRow, Flux<RecipeRow>> batchAfter) {
+        return firstBatch.collectList()
+                .expand(batch -> batch.size() < batchSize
+                        ? Mono.empty()
+                        : Mono.defer(() -> batchAfter.apply(batch.get(batch.size() - 1)).collectList()))
+                .concatMap(this::fetchCollections, 0);
+    }
+
+    // Reads the categories, ingredients and steps of the given Recipes, one query per table, and converts them in the given order
+    private Flux<RecipeDTO> fetchCollections(List<RecipeRow> recipes) {
+        if (recipes.isEmpty()) {
+            return Flux.empty();
+        }
+
+        List<Long> recipeIds = recipes.stream()
+                .map(RecipeRow::getId)
+                .collect(Collectors.toList());
+        return Mono.zip(
+                        recipeCategoryRepository.findByRecipeIdIn(recipeIds).collectMultimap(RecipeCategoryRow::getRecipeId),
+                        ingredientRepository.findByRecipeIdIn(recipeIds).collectMultimap(IngredientRow::getRecipeId),
+                        recipeStepRepository.findByRecipeIdIn(recipeIds).collectMultimap(RecipeStepRow::getRecipeId, RecipeStepRow::getStep))
+                .flatMapIterable(collections -> recipes.stream()
+                        .map(recipe -> dtoConverter.convertRecipeRowToDTO(recipe,
+                                listOf(collections.getT1(), recipe.getId()),
+                                listOf(collections.getT2(), recipe.getId()),
+                                listOf(collections.getT3(), recipe.getId())))
+                        .collect(Collectors.toList()));
+    }
+
+    // Helper method to get the rows of a Recipe, in the order they were read
+    private static <T> List<T> listOf(Map<Long, Collection<T>> rowsByRecipeId, Long recipeId) {
+        Collection<T> rows = rowsByRecipeId.get(recipeId);
+        return rows == null ? new ArrayList<>() : new ArrayList<>(rows);
+    }
+
+    private void validateIdParameter(Long id) {
+        if (id == null || id <= 0) {
+            throw new InvalidFieldValueException("Invalid value: " + id);
+        }
+    }
+
+    private void validateStringParameter(String string) {
+        if (string == null || string.isEmpty()) {
+            throw new InvalidFieldValueException("Invalid value: " + string);
+        }
+    }
+}
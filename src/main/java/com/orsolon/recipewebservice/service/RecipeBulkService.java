@@ -0,0 +1,10 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+
+import java.util.List;
+
+public interface RecipeBulkService {
+    RecipeBulkResultDTO createAll(List<RecipeDTO> recipeDTOs);
+}
@@ -0,0 +1,312 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeBulkItemResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.model.Ingredient;
+import com.orsolon.recipewebservice.model.Recipe;
+import com.orsolon.recipewebservice.model.RecipeCategory;
+import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
+import com.orsolon.recipewebservice.service.validator.RecipeCategoryValidatorHelper;
+import com.orsolon.recipewebservice.service.validator.RecipeValidatorHelper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+    Creates many Recipes at once. Validation runs in parallel, uniqueness checks are done with one query for the whole request,
+    category names are resolved in memory, and Recipes are persisted in chunks, each in its own transaction.
+    Missing categories are created in the transaction of the first chunk that uses them, so a failed chunk leaves none behind.
+    A failed chunk is retried one Recipe at a time, so a single bad Recipe only fails itself.
+    IDs are always generated: a Recipe or Ingredient with an ID is rejected as invalid.
+    A failing Recipe never prevents the others from being created: the outcome of each one is reported individually.
+ */
+@Service
+@Slf4j
+public class RecipeBulkServiceImpl implements RecipeBulkService {
+
+    // Recipes validated per task at least, smaller requests are validated on the calling thread alone
+    private static final int MIN_VALIDATION_SLICE = 50;
+    private static final int MAX_DEFAULT_VALIDATION_THREADS = 4;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeCategoryRepository recipeCategoryRepository;
+    private final RecipeCategoryResolver recipeCategoryResolver;
+    private final DTOConverter dtoConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int validationThreads;
+    private final ExecutorService validationExecutor;
+
+    @Autowired
+    public RecipeBulkServiceImpl(RecipeRepository recipeRepository, RecipeCategoryRepository recipeCategoryRepository, RecipeCategoryResolver recipeCategoryResolver,
+                                 DTOConverter dtoConverter, PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                                 @Value("${recipe.bulk.chunk-size:500}") int chunkSize, @Value("${recipe.bulk.validation-threads:0}") int validationThreads) {
+        this.recipeRepository = recipeRepository;
+        this.recipeCategoryRepository = recipeCategoryRepository;
+        this.recipeCategoryResolver = recipeCategoryResolver;
+        this.dtoConverter = dtoConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.validationThreads = validationThreads > 0 ? validationThreads
+                : Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_VALIDATION_THREADS);
+        this.validationExecutor = Executors.newFixedThreadPool(this.validationThreads, new ValidatorThreadFactory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
+
+    @Override
+    public RecipeBulkResultDTO createAll(List<RecipeDTO> recipeDTOs) {
+        if (recipeDTOs == null || recipeDTOs.isEmpty()) {
+            throw new InvalidFieldValueException("Recipes cannot be empty.");
+        }
+
+        long validationStart = System.nanoTime();
+        RecipeBulkItemResultDTO[] results = new RecipeBulkItemResultDTO[recipeDTOs.size()];
+        RecipeDTO[] sanitizedRecipeDTOs = new RecipeDTO[recipeDTOs.size()];
+
+        validateAll(recipeDTOs, sanitizedRecipeDTOs, results);
+
+        long persistenceStart = System.nanoTime();
+        rejectConflicts(recipeDTOs, sanitizedRecipeDTOs, results);
+
+        // Committed categories by normalized name, shared by the chunks
+        Map<String, RecipeCategory> categoriesByName = new HashMap<>();
+        List<Integer> pendingIndexes = IntStream.range(0, recipeDTOs.size())
+                .filter(index -> results[index] == null)
+                .boxed()
+                .collect(Collectors.toList());
+        for (int from = 0; from < pendingIndexes.size(); from += chunkSize) {
+            persistChunk(pendingIndexes.subList(from, Math.min(from + chunkSize, pendingIndexes.size())), sanitizedRecipeDTOs, categoriesByName, results);
+        }
+        long persistenceEnd = System.nanoTime();
+
+        List<RecipeBulkItemResultDTO> items = Arrays.asList(results);
+        int created = (int) items.stream()
+                .filter(item -> item.getStatus() == RecipeBulkItemResultDTO.Status.CREATED)
+                .count();
+        return RecipeBulkResultDTO.builder()
+                .created(created)
+                .rejected(items.size() - created)
+                .items(items)
+                .validationMillis(TimeUnit.NANOSECONDS.toMillis(persistenceStart - validationStart))
+                .persistenceMillis(TimeUnit.NANOSECONDS.toMillis(persistenceEnd - persistenceStart))
+                .build();
+    }
+
+    /*
+        Sanitizing every string with Jsoup makes validation costly for large requests, so the Recipes are split into slices
+        validated on the pool of this service, bounded whatever the number of concurrent requests, the calling thread taking
+        the last slice itself. Each index is written by a single task, and read only once every task is done.
+     */
+    private void validateAll(List<RecipeDTO> recipeDTOs, RecipeDTO[] sanitizedRecipeDTOs, RecipeBulkItemResultDTO[] results) {
+        int slices = Math.max(1, Math.min(validationThreads, recipeDTOs.size() / MIN_VALIDATION_SLICE));
+        int sliceSize = (recipeDTOs.size() + slices - 1) / slices;
+
+        List<Future<?>> validatedSlices = new ArrayList<>(slices - 1);
+        try {
+            for (int from = 0; from + sliceSize < recipeDTOs.size(); from += sliceSize) {
+                int sliceStart = from;
+                validatedSlices.add(validationExecutor.submit(() -> validateSlice(recipeDTOs, sliceStart, sliceStart + sliceSize, sanitizedRecipeDTOs, results)));
+            }
+            validateSlice(recipeDTOs, validatedSlices.size() * sliceSize, recipeDTOs.size(), sanitizedRecipeDTOs, results);
+            for (Future<?> validatedSlice : validatedSlices) {
+                validatedSlice.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating recipes", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error validating recipes", e.getCause());
+        } finally {
+            validatedSlices.forEach(validatedSlice -> validatedSlice.cancel(true));
+        }
+    }
+
+    private void validateSlice(List<RecipeDTO> recipeDTOs, int from, int to, RecipeDTO[] sanitizedRecipeDTOs, RecipeBulkItemResultDTO[] results) {
+        for (int index = from; index < to; index++) {
+            RecipeDTO recipeDTO = recipeDTOs.get(index);
+            try {
+                sanitizedRecipeDTOs[index] = validateAndSanitize(recipeDTO);
+            } catch (RuntimeException e) {
+                results[index] = buildResult(index, RecipeBulkItemResultDTO.Status.INVALID, recipeDTO, e.getMessage());
+            }
+        }
+    }
+
+    private RecipeDTO validateAndSanitize(RecipeDTO recipeDTO) {
+        if (recipeDTO != null && recipeDTO.getId() != null) {
+            throw new InvalidFieldValueException("Recipe IDs are generated and cannot be supplied.");
+        }
+        if (recipeDTO != null && recipeDTO.getIngredients() != null
+                && recipeDTO.getIngredients().stream().anyMatch(ingredient -> ingredient != null && ingredient.getId() != null)) {
+            throw new InvalidFieldValueException("Ingredient IDs are generated and cannot be supplied.");
+        }
+        RecipeDTO sanitizedRecipeDTO = RecipeValidatorHelper.validateAndSanitize(recipeDTO);
+        if (sanitizedRecipeDTO.getCategories() == null) {
+            throw new InvalidFieldValueException("Categories cannot be null.");
+        }
+        if (sanitizedRecipeDTO.getIngredients() == null) {
+            throw new InvalidFieldValueException("Ingredients cannot be null.");
+        }
+
+        // Category names are the lookup key, so they are sanitized here rather than when the category is created
+        sanitizedRecipeDTO.setCategories(sanitizedRecipeDTO.getCategories().stream()
+                .map(RecipeCategoryValidatorHelper::validateAndSanitize)
+                .collect(Collectors.toList()));
+        return sanitizedRecipeDTO;
+    }
+
+    // Rejects Recipes whose Title already exists, either in the database or earlier in the same request
+    private void rejectConflicts(List<RecipeDTO> recipeDTOs, RecipeDTO[] sanitizedRecipeDTOs, RecipeBulkItemResultDTO[] results) {
+        Set<String> requestedTitles = new HashSet<>();
+        for (int index = 0; index < sanitizedRecipeDTOs.length; index++) {
+            if (results[index] == null) {
+                requestedTitles.add(sanitizedRecipeDTOs[index].getTitle());
+            }
+        }
+
+        Set<String> existingTitles = requestedTitles.isEmpty() ? new HashSet<>() : new HashSet<>(recipeRepository.findExistingTitles(requestedTitles));
+
+        for (int index = 0; index < sanitizedRecipeDTOs.length; index++) {
+            if (results[index] == null && !existingTitles.add(sanitizedRecipeDTOs[index].getTitle())) {
+                results[index] = buildResult(index, RecipeBulkItemResultDTO.Status.CONFLICT, recipeDTOs.get(index), "A recipe with the same Title already exists.");
+            }
+        }
+    }
+
+    private void persistChunk(List<Integer> indexes, RecipeDTO[] sanitizedRecipeDTOs, Map<String, RecipeCategory> categoriesByName, RecipeBulkItemResultDTO[] results) {
+        // Categories created by this chunk, only shared with the next chunks once the transaction has committed
+        Map<String, RecipeCategory> createdCategories = new HashMap<>();
+        try {
+            // Changes are published in the chunk transaction, so that listeners act on the chunk as a whole, and undo it on a rollback
+            List<Recipe> savedRecipes = transactionTemplate.execute(status -> {
+                List<Recipe> recipesToSave = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    recipesToSave.add(convertToEntity(sanitizedRecipeDTOs[index], categoriesByName, createdCategories));
+                }
+                List<Recipe> chunkRecipes = recipeRepository.saveAll(recipesToSave);
+                for (RecipeCategory createdCategory : createdCategories.values()) {
+                    recipeCategoryResolver.register(createdCategory);
+                    eventPublisher.publishEvent(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.CREATED, createdCategory.getId()));
+                }
+                for (Recipe savedRecipe : chunkRecipes) {
+                    eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.CREATED, savedRecipe.getId(), Set.of(savedRecipe.getTitle()),
+                            dtoConverter.convertRecipeToDTO(savedRecipe)));
+                }
+                return chunkRecipes;
+            });
+            categoriesByName.putAll(createdCategories);
+
+            for (int i = 0; i < indexes.size(); i++) {
+                Recipe savedRecipe = Objects.requireNonNull(savedRecipes).get(i);
+                results[indexes.get(i)] = RecipeBulkItemResultDTO.builder()
+                        .index(indexes.get(i))
+                        .status(RecipeBulkItemResultDTO.Status.CREATED)
+                        .id(savedRecipe.getId())
+                        .title(savedRecipe.getTitle())
+                        .build();
+            }
+        } catch (RuntimeException e) {
+            // The whole chunk was rolled back. A Recipe persisted alone fails for itself, the Recipes of a larger chunk are each
+            // retried in a transaction of their own, so that only the ones that really fail are reported as failed.
+            if (indexes.size() == 1) {
+                log.error("Error persisting bulk recipe {}: {}", indexes.get(0), e.getMessage());
+                results[indexes.get(0)] = buildResult(indexes.get(0), RecipeBulkItemResultDTO.Status.FAILED, sanitizedRecipeDTOs[indexes.get(0)], e.getMessage());
+            } else {
+                log.warn("Error persisting bulk recipe chunk, retrying its {} recipes one by one: {}", indexes.size(), e.getMessage());
+                for (Integer index : indexes) {
+                    persistChunk(List.of(index), sanitizedRecipeDTOs, categoriesByName, results);
+                }
+            }
+        }
+    }
+
+    private Recipe convertToEntity(RecipeDTO sanitizedRecipeDTO, Map<String, RecipeCategory> categoriesByName, Map<String, RecipeCategory> createdCategories) {
+        Recipe recipe = dtoConverter.convertRecipeToEntity(sanitizedRecipeDTO);
+        // Categories are matched by name, names differing only in case or spacing resolve to the same category
+        recipe.setCategories(sanitizedRecipeDTO.getCategories().stream()
+                .map(category -> findOrCreateCategory(category.getName(), categoriesByName, createdCategories))
+                .distinct()
+                .collect(Collectors.toList()));
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            ingredient.setRecipe(recipe);
+        }
+        return recipe;
+    }
+
+    // Must run in the chunk transaction: a category missing from the database is created there and rolled back with the chunk
+    private RecipeCategory findOrCreateCategory(String name, Map<String, RecipeCategory> categoriesByName, Map<String, RecipeCategory> createdCategories) {
+        String normalizedName = RecipeCategory.normalizeName(name);
+        RecipeCategory category = categoriesByName.get(normalizedName);
+        if (category == null) {
+            category = createdCategories.get(normalizedName);
+        }
+        if (category == null) {
+            RecipeCategoryDTO existingCategory = recipeCategoryResolver.find(name);
+            if (existingCategory != null) {
+                category = dtoConverter.convertRecipeCategoryToEntity(existingCategory);
+                categoriesByName.put(normalizedName, category);
+            } else {
+                category = recipeCategoryRepository.save(RecipeCategory.builder()
+                        .name(name)
+                        .build());
+                createdCategories.put(normalizedName, category);
+            }
+        }
+        return category;
+    }
+
+    private RecipeBulkItemResultDTO buildResult(int index, RecipeBulkItemResultDTO.Status status, RecipeDTO recipeDTO, String message) {
+        return RecipeBulkItemResultDTO.builder()
+                .index(index)
+                .status(status)
+                .title(recipeDTO == null ? null : recipeDTO.getTitle())
+                .message(message)
+                .build();
+    }
+
+    private static class ValidatorThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "recipe-bulk-validator-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.model.RecipeCategory;
+import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    Resolves category names to persisted categories, creating them on first use.
+    Resolved categories are kept in memory by normalized name, so resolving a known category is a hash lookup.
+    New categories are committed in their own transaction: the cache never points to a row that may be rolled back,
+    and a concurrent creation of the same name is caught by the unique index and resolved to the winning row.
+    Callers that create categories in their own transaction use find and register instead of resolve.
+ */
+@Component
+@Slf4j
+public class RecipeCategoryResolver {
+
+    private final RecipeCategoryRepository recipeCategoryRepository;
+    private final DTOConverter dtoConverter;
+    private final TransactionTemplate newTransactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, RecipeCategoryDTO> categoriesByName = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecipeCategoryResolver(RecipeCategoryRepository recipeCategoryRepository, DTOConverter dtoConverter, PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.recipeCategoryRepository = recipeCategoryRepository;
+        this.dtoConverter = dtoConverter;
+        this.eventPublisher = eventPublisher;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        recipeCategoryRepository.findAll()
+                .forEach(category -> categoriesByName.putIfAbsent(category.getNormalizedName(), dtoConverter.convertRecipeCategoryToDTO(category)));
+        log.info("Recipe category resolver warmed up with {} categories", categoriesByName.size());
+    }
+
+    // Returns the category with the given name, creating it if needed. The name must already be sanitized.
+    public RecipeCategoryDTO resolve(String name) {
+        RecipeCategoryDTO category = find(name);
+        if (category == null) {
+            String normalizedName = RecipeCategory.normalizeName(name);
+            RecipeCategory persistedCategory = create(name, normalizedName);
+            category = copy(categoriesByName.computeIfAbsent(normalizedName, key -> dtoConverter.convertRecipeCategoryToDTO(persistedCategory)));
+        }
+        return category;
+    }
+
+    // Returns the persisted category with the given name, or null when there is none. The name must already be sanitized.
+    public RecipeCategoryDTO find(String name) {
+        String normalizedName = RecipeCategory.normalizeName(name);
+
+        RecipeCategoryDTO category = categoriesByName.get(normalizedName);
+        if (category == null) {
+            category = recipeCategoryRepository.findByNormalizedName(normalizedName)
+                    .map(persistedCategory -> categoriesByName.computeIfAbsent(normalizedName, key -> dtoConverter.convertRecipeCategoryToDTO(persistedCategory)))
+                    .orElse(null);
+        }
+        return category == null ? null : copy(category);
+    }
+
+    // Remembers a category created by the caller. Within a transaction, only once it has committed: a rolled back row is never cached.
+    public void register(RecipeCategory category) {
+        RecipeCategoryDTO categoryDTO = dtoConverter.convertRecipeCategoryToDTO(category);
+        String normalizedName = RecipeCategory.normalizeName(category.getName());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoriesByName.putIfAbsent(normalizedName, categoryDTO);
+                }
+            });
+        } else {
+            categoriesByName.putIfAbsent(normalizedName, categoryDTO);
+        }
+    }
+
+    // Forgets the category with the given name, to be called when a category is renamed or deleted. Within a transaction, only once
+    // it has committed: until then the old row is still the committed one, and a concurrent lookup could cache it again after an eviction.
+    public void evict(String name) {
+        if (name == null) {
+            return;
+        }
+        String normalizedName = RecipeCategory.normalizeName(name);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoriesByName.remove(normalizedName);
+                }
+            });
+        } else {
+            categoriesByName.remove(normalizedName);
+        }
+    }
+
+    // Callers get their own copy, the cached one must not change
+    private RecipeCategoryDTO copy(RecipeCategoryDTO category) {
+        return RecipeCategoryDTO.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .build();
+    }
+
+    private RecipeCategory create(String name, String normalizedName) {
+        try {
+            RecipeCategory createdCategory = newTransactionTemplate.execute(status -> recipeCategoryRepository.saveAndFlush(RecipeCategory.builder()
+                    .name(name)
+                    .build()));
+            eventPublisher.publishEvent(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.CREATED, createdCategory.getId()));
+            return createdCategory;
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the same category in the meantime
+            return recipeCategoryRepository.findByNormalizedName(normalizedName)
+                    .orElseThrow(() -> e);
+        }
+    }
+}
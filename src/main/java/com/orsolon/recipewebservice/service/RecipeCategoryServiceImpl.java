@@ -1,19 +1,25 @@
 package com.orsolon.recipewebservice.service;
 
+import com.orsolon.recipewebservice.config.CacheConfig;
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
 import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
 import com.orsolon.recipewebservice.exception.RecipeCategoryNotFoundException;
 import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
 import com.orsolon.recipewebservice.model.RecipeCategory;
 import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
 import com.orsolon.recipewebservice.service.validator.RecipeCategoryValidatorHelper;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,15 +29,23 @@ import java.util.stream.Collectors;
 public class RecipeCategoryServiceImpl implements RecipeCategoryService {
 
     private final RecipeCategoryRepository recipeCategoryRepository;
+    private final RecipeRepository recipeRepository;
     private final DTOConverter dtoConverter;
+    private final RecipeCategoryResolver recipeCategoryResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public RecipeCategoryServiceImpl(RecipeCategoryRepository recipeCategoryRepository, DTOConverter dtoConverter) {
+    public RecipeCategoryServiceImpl(RecipeCategoryRepository recipeCategoryRepository, RecipeRepository recipeRepository, DTOConverter dtoConverter,
+                                     RecipeCategoryResolver recipeCategoryResolver, ApplicationEventPublisher eventPublisher) {
         this.recipeCategoryRepository = recipeCategoryRepository;
+        this.recipeRepository = recipeRepository;
         this.dtoConverter = dtoConverter;
+        this.recipeCategoryResolver = recipeCategoryResolver;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Cacheable(CacheConfig.CATEGORIES)
     public List<RecipeCategoryDTO> findAll() {
         return recipeCategoryRepository.findAllByOrderByNameAsc().stream()
                 .map(dtoConverter::convertRecipeCategoryToDTO)
@@ -39,6 +53,7 @@ public class RecipeCategoryServiceImpl implements RecipeCategoryService {
     }
 
     @Override
+    @Cacheable(CacheConfig.CATEGORIES_BY_ID)
     public RecipeCategoryDTO findById(Long categoryId) {
         validateIdParameter(categoryId);
 
@@ -81,17 +96,12 @@ public class RecipeCategoryServiceImpl implements RecipeCategoryService {
         // Validate and sanitize the input RecipeCategoryDTO object
         RecipeCategoryDTO sanitizedRecipeCategoryDTO = RecipeCategoryValidatorHelper.validateAndSanitize(recipeCategoryDTO);
 
-        // Convert the RecipeCategoryDTO to a RecipeCategory entity
-        RecipeCategory recipeCategoryToSave = dtoConverter.convertRecipeCategoryToEntity(sanitizedRecipeCategoryDTO);
-
-        // Save the RecipeCategory entity to the repository
-        RecipeCategory savedRecipeCategory = recipeCategoryRepository.save(recipeCategoryToSave);
-
-        // Convert the saved RecipeCategory entity back to a RecipeCategoryDTO
-        return dtoConverter.convertRecipeCategoryToDTO(savedRecipeCategory);
+        // Categories are unique by name, so this returns the existing category with the same name, or creates it
+        return recipeCategoryResolver.resolve(sanitizedRecipeCategoryDTO.getName());
     }
 
     @Override
+    @Transactional
     public RecipeCategoryDTO update(Long categoryId, RecipeCategoryDTO recipeCategoryDTO) {
         RecipeCategory existingRecipeCategory = recipeCategoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RecipeCategoryNotFoundException("Recipe Category not found with id: " + categoryId));
@@ -101,21 +111,29 @@ public class RecipeCategoryServiceImpl implements RecipeCategoryService {
 
         RecipeCategory updatedRecipeCategory = dtoConverter.convertRecipeCategoryToEntity(sanitizedRecipeCategoryDTO);
         updatedRecipeCategory.setId(existingRecipeCategory.getId());
+        updatedRecipeCategory.setVersion(existingRecipeCategory.getVersion());
 
-        // Update the RecipeCategory entity to the repository
+        // Update the RecipeCategory entity to the repository, the Recipes embedding it change along
+        recipeRepository.incrementVersionByCategoryId(categoryId);
         recipeCategoryRepository.save(updatedRecipeCategory);
+        recipeCategoryResolver.evict(existingRecipeCategory.getName());
+        eventPublisher.publishEvent(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.UPDATED, categoryId));
 
         // Convert the updated RecipeCategory entity back to a RecipeCategoryDTO
         return dtoConverter.convertRecipeCategoryToDTO(updatedRecipeCategory);
     }
 
     @Override
+    @Transactional
     public void delete(Long recipeId) {
         validateIdParameter(recipeId);
 
         RecipeCategory recipeCategory = recipeCategoryRepository.findById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId));
+        recipeRepository.incrementVersionByCategoryId(recipeId);
         recipeCategoryRepository.delete(recipeCategory);
+        recipeCategoryResolver.evict(recipeCategory.getName());
+        eventPublisher.publishEvent(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.DELETED, recipeId));
     }
 
     private void validateIdParameter(Long id) {
@@ -0,0 +1,49 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.model.Recipe;
+import com.orsolon.recipewebservice.repository.RecipeRepository.RecipeView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+    Position of a Recipe in the (title, id) keyset ordering, exchanged with clients as an opaque Base64 token.
+ */
+@Data
+@AllArgsConstructor
+public class RecipeCursor {
+    private static final char SEPARATOR = ':';
+
+    private String title;
+    private Long id;
+
+    public static RecipeCursor of(Recipe recipe) {
+        return new RecipeCursor(recipe.getTitle(), recipe.getId());
+    }
+
+    public static RecipeCursor of(RecipeView recipe) {
+        return new RecipeCursor(recipe.getTitle(), recipe.getId());
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RecipeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The id comes first, so titles containing the separator are still decoded correctly
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 1) {
+                throw new InvalidFieldValueException("Invalid value for cursor: " + token);
+            }
+            return new RecipeCursor(raw.substring(separatorIndex + 1), Long.valueOf(raw.substring(0, separatorIndex)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFieldValueException("Invalid value for cursor: " + token);
+        }
+    }
+}
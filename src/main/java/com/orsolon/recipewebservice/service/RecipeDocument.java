@@ -0,0 +1,26 @@
+package com.orsolon.recipewebservice.service;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/*
+    The serialized UTF-8 JSON of a Recipe, along with that JSON compressed in every ContentCoding when it is large enough
+    to be worth compressing. Encodings is empty for small documents, which are always sent as is.
+    The version of the Recipe is kept along, so that its ETag is known without reading the database.
+ */
+@Value
+public class RecipeDocument {
+    Long version;
+    byte[] json;
+    Map<ContentCoding, byte[]> encodings;
+
+    // Picks the coding to send the document in for the given Accept-Encoding header, null for the plain JSON
+    public ContentCoding negotiate(String acceptEncoding) {
+        return ContentCoding.negotiate(acceptEncoding, encodings.keySet());
+    }
+
+    public byte[] getBody(ContentCoding coding) {
+        return coding == null ? json : encodings.get(coding);
+    }
+}
@@ -0,0 +1,89 @@
+package com.orsolon.recipewebservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.orsolon.recipewebservice.config.CacheConfig;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+    Keeps the serialized UTF-8 JSON document of single Recipes, so that serving a hot Recipe is a cache lookup plus a buffer copy,
+    without converting and serializing the whole ingredient and step graph again.
+    Documents of at least server.compression.min-response-size are compressed in every ContentCoding when they are cached,
+    so compressing a Recipe costs CPU once per write instead of once per request.
+    Documents are keyed by Recipe id and evicted by the CacheEvictionListener together with the cached RecipeDTO.
+ */
+@Component
+public class RecipeDocumentCache {
+
+    private final RecipeService recipeService;
+    private final ObjectWriter recipeWriter;
+    private final Cache documents;
+    private final long minCompressedSize;
+
+    @Autowired
+    public RecipeDocumentCache(RecipeService recipeService, ObjectMapper objectMapper, CacheManager cacheManager,
+                               @Value("${server.compression.min-response-size:2KB}") DataSize minCompressedSize) {
+        this.recipeService = recipeService;
+        this.recipeWriter = objectMapper.writerFor(RecipeDTO.class);
+        this.documents = cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS);
+        this.minCompressedSize = minCompressedSize.toBytes();
+    }
+
+    // Returns the JSON document of the Recipe with the given ID, throwing the same exceptions as RecipeService.findById
+    public byte[] findJsonById(Long recipeId) {
+        return findDocumentById(recipeId).getJson();
+    }
+
+    // Returns the JSON document of the Recipe with the given ID along with its compressed encodings
+    public RecipeDocument findDocumentById(Long recipeId) {
+        if (recipeId == null) {
+            return createDocument(recipeService.findById(null));
+        }
+        try {
+            return documents.get(recipeId, () -> createDocument(recipeService.findById(recipeId)));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Returns the cached document of the Recipe with the given ID without creating it, null when it is not cached
+    public RecipeDocument findCachedDocumentById(Long recipeId) {
+        return recipeId == null ? null : documents.get(recipeId, RecipeDocument.class);
+    }
+
+    private RecipeDocument createDocument(RecipeDTO recipeDTO) {
+        byte[] json = serialize(recipeDTO);
+        if (json.length < minCompressedSize) {
+            return new RecipeDocument(recipeDTO.getVersion(), json, Collections.emptyMap());
+        }
+
+        Map<ContentCoding, byte[]> encodings = new EnumMap<>(ContentCoding.class);
+        for (ContentCoding coding : ContentCoding.values()) {
+            encodings.put(coding, coding.encode(json));
+        }
+        return new RecipeDocument(recipeDTO.getVersion(), json, Collections.unmodifiableMap(encodings));
+    }
+
+    private byte[] serialize(RecipeDTO recipeDTO) {
+        try {
+            return recipeWriter.writeValueAsBytes(recipeDTO);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
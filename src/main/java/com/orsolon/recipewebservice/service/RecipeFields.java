@@ -0,0 +1,58 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+    The fields of the Recipes a client asked for with the fields parameter, such as "title,categories".
+    The id is always included. The collections left out are not fetched from the database, and every field left out
+    stays null in the converted RecipeDTO, which leaves it out of the response.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RecipeFields {
+    public static final String ID = "id";
+    public static final String TITLE = "title";
+    public static final String CATEGORIES = "categories";
+    public static final String YIELD = "yield";
+    public static final String INGREDIENTS = "ingredients";
+    public static final String STEPS = "steps";
+    public static final String VERSION = "version";
+
+    private static final List<String> NAMES = List.of(ID, TITLE, CATEGORIES, YIELD, INGREDIENTS, STEPS, VERSION);
+
+    public static final RecipeFields ALL = new RecipeFields(Set.copyOf(NAMES));
+
+    Set<String> names;
+
+    // Parses a comma separated list of field names, standing for every field when null or blank
+    public static RecipeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> names = new HashSet<>();
+        names.add(ID);
+        for (String name : fields.split(",")) {
+            String trimmedName = name.trim();
+            if (trimmedName.isEmpty()) {
+                continue;
+            }
+            if (!NAMES.contains(trimmedName)) {
+                throw new InvalidFieldValueException("Invalid value for fields: " + trimmedName);
+            }
+            names.add(trimmedName);
+        }
+        return new RecipeFields(Set.copyOf(names));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+}
@@ -1,80 +1,180 @@
 package com.orsolon.recipewebservice.service;
 
-import com.orsolon.recipewebservice.dto.IngredientDTO;
-import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeBulkItemResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
-import com.orsolon.recipewebservice.dto.xml.IngredientDiv;
-import com.orsolon.recipewebservice.dto.xml.IngredientXml;
-import com.orsolon.recipewebservice.dto.xml.RecipeMl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/*
+    Loads the default Recipes shipped with the application.
+    Files are parsed on a bounded pool while the calling thread persists the parsed Recipes in batches through the bulk service,
+    so parsing and persistence overlap. Only a few files per worker are in flight at any time, keeping memory bounded
+    regardless of how many files are found.
+ */
 @Service
 @Slf4j
 public class RecipeInitializer {
 
+    public static final String DEFAULT_RECIPES_LOCATION = "classpath:data/recipes/*.xml";
+
+    // Files parsed ahead of persistence, per worker thread
+    private static final int FILES_IN_FLIGHT_PER_THREAD = 4;
+
     private final RecipeXmlParser recipeXmlParser;
-    private final RecipeService recipeService;
+    private final RecipeBulkService recipeBulkService;
+    private final int threads;
+    private final int batchSize;
 
     @Autowired
-    public RecipeInitializer(RecipeXmlParser recipeXmlParser, RecipeService recipeService) {
+    public RecipeInitializer(RecipeXmlParser recipeXmlParser, RecipeBulkService recipeBulkService,
+                             @Value("${recipe.loader.threads:0}") int threads, @Value("${recipe.loader.batch-size:500}") int batchSize) {
         this.recipeXmlParser = recipeXmlParser;
-        this.recipeService = recipeService;
+        this.recipeBulkService = recipeBulkService;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(batchSize, 1);
     }
 
     public void loadRecipes() {
+        loadRecipes(DEFAULT_RECIPES_LOCATION);
+    }
+
+    // Returns the number of Recipes created
+    public int loadRecipes(String locationPattern) {
         ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        LoadStatistics statistics = new LoadStatistics();
+
+        long scanStart = System.nanoTime();
+        Resource[] recipeFiles;
+        try {
+            recipeFiles = resolver.getResources(locationPattern);
+        } catch (IOException e) {
+            log.error("Error loading recipes: {}", e.getMessage());
+            return 0;
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+        log.info("Found {} recipe files in {} ms, loading them with {} threads", recipeFiles.length, TimeUnit.NANOSECONDS.toMillis(scanNanos), threads);
 
+        long loadStart = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new LoaderThreadFactory());
         try {
-            Resource[] defaultRecipes = resolver.getResources("classpath:data/recipes/*.xml");
-            for (Resource defaultRecipe : defaultRecipes) {
-                RecipeMl recipeMl = recipeXmlParser.parseXml(defaultRecipe.getInputStream());
-                if (recipeMl.getRecipe() != null) {
-                    List<RecipeCategoryDTO> recipeCategories = new ArrayList<>();
-
-                    for (String recipeCategory : recipeMl.getRecipe().getHead().getCategories()) {
-                        recipeCategories.add(
-                                RecipeCategoryDTO.builder()
-                                        .name(recipeCategory)
-                                        .build());
-                    }
-
-                    List<IngredientDTO> recipeIngredients = new ArrayList<>();
-
-                    for (IngredientDiv ingredientDiv : recipeMl.getRecipe().getIngredientList().getIngredientDivs()) {
-                        for (IngredientXml ingredientXml : ingredientDiv.getIngredients()) {
-                            recipeIngredients.add(
-                                    IngredientDTO.builder()
-                                            .title(ingredientDiv.getTitle())
-                                            .item(ingredientXml.getItem())
-                                            .quantity(ingredientXml.getAmount().getQuantity())
-                                            .unit(ingredientXml.getAmount().getUnit())
-                                            .build());
-                        }
-                    }
-
-                    recipeService.create(
-                            RecipeDTO.builder()
-                                    .title(recipeMl.getRecipe().getHead().getTitle())
-                                    .categories(recipeCategories)
-                                    .yield(recipeMl.getRecipe().getHead().getYield())
-                                    .ingredients(recipeIngredients)
-                                    .steps(recipeMl.getRecipe().getSteps())
-                                    .build());
-                } else {
-                    log.error("Error parsing XML file: recipe element is null");
+            Deque<Future<List<RecipeDTO>>> parsedFiles = new ArrayDeque<>();
+            List<RecipeDTO> batch = new ArrayList<>(batchSize);
+            int nextFile = 0;
+            int completedFiles = 0;
+
+            while (nextFile < recipeFiles.length || !parsedFiles.isEmpty()) {
+                while (nextFile < recipeFiles.length && parsedFiles.size() < threads * FILES_IN_FLIGHT_PER_THREAD) {
+                    Resource recipeFile = recipeFiles[nextFile++];
+                    parsedFiles.add(executor.submit(() -> parse(recipeFile, statistics)));
+                }
+
+                // Files are consumed in submission order, so the load order is the same on every run
+                batch.addAll(awaitParsedFile(parsedFiles.poll()));
+                completedFiles++;
+                if (batch.size() >= batchSize) {
+                    persist(batch, statistics);
+                    batch = new ArrayList<>(batchSize);
+                    log.info("Loaded {} of {} recipe files, {} recipes created so far", completedFiles, recipeFiles.length, statistics.created.get());
                 }
             }
+            if (!batch.isEmpty()) {
+                persist(batch, statistics);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Loading recipes was interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Loaded {} recipes from {} files in {} ms ({} rejected, {} unreadable files). Phases: scan {} ms, parse {} ms (summed over threads), validate {} ms, persist {} ms",
+                statistics.created.get(), recipeFiles.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart + scanNanos),
+                statistics.rejected.get(), statistics.unreadableFiles.get(), TimeUnit.NANOSECONDS.toMillis(scanNanos),
+                TimeUnit.NANOSECONDS.toMillis(statistics.parseNanos.get()), statistics.validationMillis.get(), statistics.persistenceMillis.get());
+        return statistics.created.get();
+    }
+
+    // Runs on a loader thread
+    private List<RecipeDTO> parse(Resource recipeFile, LoadStatistics statistics) {
+        long parseStart = System.nanoTime();
+        List<RecipeDTO> recipes = new ArrayList<>();
+        try (InputStream inputStream = recipeFile.getInputStream()) {
+            recipeXmlParser.parseRecipes(inputStream, recipes::add);
         } catch (IOException e) {
-            log.error("Error loading recipes: {}", e.getMessage());
+            log.error("Error parsing XML file {}: {}", recipeFile.getFilename(), e.getMessage());
+            statistics.unreadableFiles.incrementAndGet();
+            return Collections.emptyList();
+        } finally {
+            statistics.parseNanos.addAndGet(System.nanoTime() - parseStart);
+        }
+
+        if (recipes.isEmpty()) {
+            log.error("Error parsing XML file {}: no recipe element found", recipeFile.getFilename());
+        }
+        return recipes;
+    }
+
+    private List<RecipeDTO> awaitParsedFile(Future<List<RecipeDTO>> parsedFile) throws InterruptedException {
+        try {
+            return parsedFile.get();
+        } catch (ExecutionException e) {
+            log.error("Error parsing recipe file: {}", e.getCause().getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private void persist(List<RecipeDTO> batch, LoadStatistics statistics) {
+        RecipeBulkResultDTO result = recipeBulkService.createAll(batch);
+        statistics.created.addAndGet(result.getCreated());
+        statistics.rejected.addAndGet(result.getRejected());
+        statistics.validationMillis.addAndGet(result.getValidationMillis());
+        statistics.persistenceMillis.addAndGet(result.getPersistenceMillis());
+
+        result.getItems().stream()
+                .filter(item -> item.getStatus() != RecipeBulkItemResultDTO.Status.CREATED)
+                .forEach(item -> log.warn("Recipe '{}' was not loaded ({}): {}", item.getTitle(), item.getStatus(), item.getMessage()));
+    }
+
+    // Counters shared between the loader threads and the persisting thread
+    private static class LoadStatistics {
+        private final AtomicLong parseNanos = new AtomicLong();
+        private final AtomicLong validationMillis = new AtomicLong();
+        private final AtomicLong persistenceMillis = new AtomicLong();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger unreadableFiles = new AtomicInteger();
+    }
+
+    private static class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "recipe-loader-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
         }
     }
 }
@@ -1,18 +1,45 @@
 package com.orsolon.recipewebservice.service;
 
+import com.orsolon.recipewebservice.dto.CursorPageDTO;
+import com.orsolon.recipewebservice.dto.PageDTO;
+import com.orsolon.recipewebservice.dto.RecipeBatchDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.RecipeMatchDTO;
+import com.orsolon.recipewebservice.dto.RecipeSearchPageDTO;
+import com.orsolon.recipewebservice.dto.SimilarRecipeDTO;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface RecipeService {
     List<RecipeDTO> findAll();
+    List<RecipeDTO> findAll(RecipeFields fields);
+    PageDTO<RecipeDTO> findAll(int page, int size);
+    PageDTO<RecipeDTO> findAll(int page, int size, RecipeFields fields);
+    CursorPageDTO<RecipeDTO> findAllAfter(String cursor, int size);
+    CursorPageDTO<RecipeDTO> findAllAfter(String cursor, int size, RecipeFields fields);
+    void exportAll(Consumer<RecipeDTO> consumer);
     RecipeDTO findById(Long id);
+    RecipeDTO findById(Long id, RecipeFields fields);
+    RecipeBatchDTO findByIds(List<Long> ids);
+    RecipeBatchDTO findByIds(List<Long> ids, RecipeFields fields);
     RecipeDTO findByTitle(String title);
     List<RecipeDTO> findByCategory(Long categoryId);
+    List<RecipeDTO> findByCategory(Long categoryId, RecipeFields fields);
+    PageDTO<RecipeDTO> findByCategory(Long categoryId, int page, int size);
+    PageDTO<RecipeDTO> findByCategory(Long categoryId, int page, int size, RecipeFields fields);
     List<RecipeDTO> search(String query);
+    List<RecipeDTO> search(String query, RecipeFields fields);
+    RecipeSearchPageDTO search(String query, int page, int size);
+    RecipeSearchPageDTO search(String query, int page, int size, RecipeFields fields);
+    PageDTO<RecipeMatchDTO> matchIngredients(List<String> availableIngredients, int missingAtMost, int page, int size);
+    List<SimilarRecipeDTO> findSimilar(Long recipeId, int limit);
     RecipeDTO create(RecipeDTO recipeDTO);
     RecipeDTO update(Long id, RecipeDTO recipeDTO);
+    RecipeDTO update(Long id, RecipeDTO recipeDTO, Set<Long> expectedVersions);
     RecipeDTO partialUpdate(Long recipeId, Map<String, Object> updates);
+    RecipeDTO partialUpdate(Long recipeId, Map<String, Object> updates, Set<Long> expectedVersions);
     void delete(Long recipeId);
 }
@@ -1,8 +1,17 @@
 package com.orsolon.recipewebservice.service;
 
+import com.orsolon.recipewebservice.config.CacheConfig;
+import com.orsolon.recipewebservice.dto.CursorPageDTO;
+import com.orsolon.recipewebservice.dto.FacetValueDTO;
 import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.PageDTO;
+import com.orsolon.recipewebservice.dto.RecipeBatchDTO;
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.RecipeMatchDTO;
+import com.orsolon.recipewebservice.dto.RecipeSearchPageDTO;
+import com.orsolon.recipewebservice.dto.SimilarRecipeDTO;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
 import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
 import com.orsolon.recipewebservice.exception.RecipeAlreadyExistsException;
 import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
@@ -10,42 +19,158 @@ import com.orsolon.recipewebservice.model.Ingredient;
 import com.orsolon.recipewebservice.model.Recipe;
 import com.orsolon.recipewebservice.model.RecipeCategory;
 import com.orsolon.recipewebservice.repository.RecipeRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository.IngredientView;
+import com.orsolon.recipewebservice.repository.RecipeRepository.RecipeCategoryView;
+import com.orsolon.recipewebservice.repository.RecipeRepository.RecipeView;
+import com.orsolon.recipewebservice.repository.RecipeRepository.StepView;
+import com.orsolon.recipewebservice.service.search.FacetCount;
+import com.orsolon.recipewebservice.service.search.IngredientMatch;
+import com.orsolon.recipewebservice.service.search.IngredientMatchHits;
+import com.orsolon.recipewebservice.service.search.RecipeIngredientIndex;
+import com.orsolon.recipewebservice.service.search.RecipeSearchHits;
+import com.orsolon.recipewebservice.service.search.RecipeSearchIndex;
+import com.orsolon.recipewebservice.service.search.RecipeSimilarityIndex;
+import com.orsolon.recipewebservice.service.search.SimilarRecipe;
 import com.orsolon.recipewebservice.service.validator.RecipeValidatorHelper;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RecipeServiceImpl implements RecipeService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort PAGE_SORT = Sort.by("title", "id");
+    private static final int EXPORT_BATCH_SIZE = 100;
+    private static final int MAX_FACET_VALUES = 10;
+    private static final int MAX_BATCH_IDS = 1000;
+
     private final RecipeRepository recipeRepository;
     private final RecipeCategoryService recipeCategoryService;
     private final DTOConverter dtoConverter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeSimilarityIndex recipeSimilarityIndex;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public RecipeServiceImpl(RecipeRepository recipeRepository, RecipeCategoryService recipeCategoryService, DTOConverter dtoConverter) {
+    public RecipeServiceImpl(RecipeRepository recipeRepository, RecipeCategoryService recipeCategoryService, DTOConverter dtoConverter,
+                             ApplicationEventPublisher eventPublisher, RecipeSearchIndex recipeSearchIndex,
+                             RecipeIngredientIndex recipeIngredientIndex, RecipeSimilarityIndex recipeSimilarityIndex) {
         this.recipeRepository = recipeRepository;
         this.recipeCategoryService = recipeCategoryService;
         this.dtoConverter = dtoConverter;
+        this.eventPublisher = eventPublisher;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.recipeSimilarityIndex = recipeSimilarityIndex;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecipeDTO> findAll() {
-        return recipeRepository.findAllByOrderByTitleAsc().stream()
-                .map(dtoConverter::convertRecipeToDTO)
-                .collect(Collectors.toList());
+        return findAll(RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeDTO> findAll(RecipeFields fields) {
+        return convertViewsToDTO(recipeRepository.findAllViewsOrderedByTitle(), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<RecipeDTO> findAll(int page, int size) {
+        return findAll(page, size, RecipeFields.ALL);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageDTO<RecipeDTO> findAll(int page, int size, RecipeFields fields) {
+        validatePageParameters(page, size);
+
+        return convertPageToDTO(recipeRepository.findAllViews(PageRequest.of(page, size, PAGE_SORT)), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<RecipeDTO> findAllAfter(String cursor, int size) {
+        return findAllAfter(cursor, size, RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<RecipeDTO> findAllAfter(String cursor, int size, RecipeFields fields) {
+        validatePageParameters(0, size);
+
+        // Fetch one extra row to find out whether there is a next page
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<RecipeView> recipes;
+        if (cursor == null || cursor.isEmpty()) {
+            recipes = recipeRepository.findKeysetFirstPage(limit);
+        } else {
+            RecipeCursor position = RecipeCursor.decode(cursor);
+            recipes = recipeRepository.findKeysetPageAfter(position.getTitle(), position.getId(), limit);
+        }
+
+        boolean hasNext = recipes.size() > size;
+        List<RecipeView> pageRecipes = hasNext ? recipes.subList(0, size) : recipes;
+
+        return CursorPageDTO.<RecipeDTO>builder()
+                .content(convertViewsToDTO(pageRecipes, fields))
+                .size(size)
+                .nextCursor(hasNext ? RecipeCursor.of(pageRecipes.get(size - 1)).encode() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<RecipeDTO> consumer) {
+        try (Stream<Recipe> recipes = recipeRepository.streamAllByOrderByTitleAsc()) {
+            // Hydrate the collections a batch at a time, and detach each Recipe once written so memory stays flat
+            List<Recipe> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            Iterator<Recipe> iterator = recipes.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == EXPORT_BATCH_SIZE || !iterator.hasNext()) {
+                    for (Recipe recipe : fetchCollections(batch)) {
+                        consumer.accept(dtoConverter.convertRecipeToDTO(recipe));
+                        entityManager.detach(recipe);
+                    }
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.RECIPES_BY_ID)
     public RecipeDTO findById(Long recipeId) {
         validateIdParameter(recipeId);
 
@@ -55,6 +180,49 @@ public class RecipeServiceImpl implements RecipeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public RecipeDTO findById(Long recipeId, RecipeFields fields) {
+        validateIdParameter(recipeId);
+
+        List<RecipeDTO> recipes = loadInOrder(List.of(recipeId), fields);
+        if (recipes.isEmpty()) {
+            throw new RecipeNotFoundException("Recipe not found with id: " + recipeId);
+        }
+        return recipes.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeBatchDTO findByIds(List<Long> recipeIds) {
+        return findByIds(recipeIds, RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeBatchDTO findByIds(List<Long> recipeIds, RecipeFields fields) {
+        if (recipeIds == null || recipeIds.isEmpty() || recipeIds.size() > MAX_BATCH_IDS) {
+            throw new InvalidFieldValueException("Invalid number of ids, expected 1 to " + MAX_BATCH_IDS + ": " + (recipeIds == null ? 0 : recipeIds.size()));
+        }
+        recipeIds.forEach(this::validateIdParameter);
+
+        // A repeated id is answered once, at the position it was first requested at
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(recipeIds));
+        List<RecipeDTO> recipes = loadInOrder(distinctIds, fields);
+
+        Set<Long> foundIds = recipes.stream()
+                .map(RecipeDTO::getId)
+                .collect(Collectors.toSet());
+        return RecipeBatchDTO.builder()
+                .recipes(recipes)
+                .missingIds(distinctIds.stream()
+                        .filter(recipeId -> !foundIds.contains(recipeId))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.RECIPES_BY_TITLE)
     public RecipeDTO findByTitle(String title) {
         validateStringParameter(title);
 
@@ -64,33 +232,141 @@ public class RecipeServiceImpl implements RecipeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecipeDTO> findByCategory(Long categoryId) {
+        return findByCategory(categoryId, RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeDTO> findByCategory(Long categoryId, RecipeFields fields) {
         validateIdParameter(categoryId);
 
-        List<Recipe> recipes = recipeRepository.findByCategories_Id(categoryId);
-        return recipes.stream()
-                .map(dtoConverter::convertRecipeToDTO)
-                .collect(Collectors.toList());
+        return convertViewsToDTO(recipeRepository.findViewsByCategoryId(categoryId), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<RecipeDTO> findByCategory(Long categoryId, int page, int size) {
+        return findByCategory(categoryId, page, size, RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<RecipeDTO> findByCategory(Long categoryId, int page, int size, RecipeFields fields) {
+        validateIdParameter(categoryId);
+        validatePageParameters(page, size);
+
+        return convertPageToDTO(recipeRepository.findViewsByCategoryId(categoryId, PageRequest.of(page, size, PAGE_SORT)), fields);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecipeDTO> search(String query) {
+        return search(query, RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeDTO> search(String query, RecipeFields fields) {
         validateStringParameter(query);
 
-        Specification<Recipe> searchSpec = new Specification<Recipe>() {
-            @Override
-            public Predicate toPredicate(Root<Recipe> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder) {
-                return criteriaBuilder.or(
-                        criteriaBuilder.like(root.get("title"), "%" + query + "%"),
-                        criteriaBuilder.like(root.join("categories").get("name"), "%" + query + "%")
-                );
+        RecipeSearchHits hits = recipeSearchIndex.search(query, 0, Integer.MAX_VALUE);
+        return loadInOrder(hits.getRecipeIds(), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeSearchPageDTO search(String query, int page, int size) {
+        return search(query, page, size, RecipeFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeSearchPageDTO search(String query, int page, int size, RecipeFields fields) {
+        validateStringParameter(query);
+        validatePageParameters(page, size);
+
+        // Pages beyond the last hit are simply empty, as with the database backed pages. Facets always cover every hit.
+        RecipeSearchHits hits = recipeSearchIndex.search(query, (int) Math.min((long) page * size, Integer.MAX_VALUE), size, MAX_FACET_VALUES);
+        return RecipeSearchPageDTO.builder()
+                .content(loadInOrder(hits.getRecipeIds(), fields))
+                .page(page)
+                .size(size)
+                .totalElements(hits.getTotalHits())
+                .totalPages((int) ((hits.getTotalHits() + size - 1) / size))
+                .categoryFacets(convertFacetsToDTO(hits.getCategoryFacets()))
+                .ingredientFacets(convertFacetsToDTO(hits.getIngredientFacets()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<RecipeMatchDTO> matchIngredients(List<String> availableIngredients, int missingAtMost, int page, int size) {
+        if (availableIngredients == null || availableIngredients.stream().allMatch(ingredient -> ingredient == null || ingredient.isBlank())) {
+            throw new InvalidFieldValueException("Available ingredients cannot be empty.");
+        }
+        if (missingAtMost < 0) {
+            throw new InvalidFieldValueException("Invalid value for missingAtMost: " + missingAtMost);
+        }
+        validatePageParameters(page, size);
+
+        IngredientMatchHits hits = recipeIngredientIndex.match(availableIngredients, missingAtMost, (int) Math.min((long) page * size, Integer.MAX_VALUE), size);
+        Map<Long, Recipe> recipesById = loadInOrder(hits.getMatches().stream()
+                .map(IngredientMatch::getRecipeId)
+                .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        List<RecipeMatchDTO> matches = new ArrayList<>();
+        for (IngredientMatch match : hits.getMatches()) {
+            Recipe recipe = recipesById.get(match.getRecipeId());
+            if (recipe != null) {
+                matches.add(RecipeMatchDTO.builder()
+                        .recipe(dtoConverter.convertRecipeToDTO(recipe))
+                        .matchedIngredients(match.getMatchedIngredients())
+                        .totalIngredients(match.getTotalIngredients())
+                        .missingIngredients(match.getMissingIngredients())
+                        .build());
             }
-        };
+        }
+        return PageDTO.<RecipeMatchDTO>builder()
+                .content(matches)
+                .page(page)
+                .size(size)
+                .totalElements(hits.getTotalHits())
+                .totalPages((int) ((hits.getTotalHits() + size - 1) / size))
+                .build();
+    }
 
-        List<Recipe> foundRecipes = recipeRepository.findAll(searchSpec);
-        return foundRecipes.stream()
-                .map(dtoConverter::convertRecipeToDTO)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<SimilarRecipeDTO> findSimilar(Long recipeId, int limit) {
+        validateIdParameter(recipeId);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidFieldValueException("Invalid value for limit: " + limit);
+        }
+        if (!recipeRepository.existsById(recipeId)) {
+            throw new RecipeNotFoundException("Recipe not found with id: " + recipeId);
+        }
+
+        List<SimilarRecipe> similarRecipes = recipeSimilarityIndex.similarTo(recipeId, limit);
+        Map<Long, Recipe> recipesById = loadInOrder(similarRecipes.stream()
+                .map(SimilarRecipe::getRecipeId)
+                .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        List<SimilarRecipeDTO> similarRecipeDTOs = new ArrayList<>();
+        for (SimilarRecipe similarRecipe : similarRecipes) {
+            Recipe recipe = recipesById.get(similarRecipe.getRecipeId());
+            if (recipe != null) {
+                similarRecipeDTOs.add(SimilarRecipeDTO.builder()
+                        .recipe(dtoConverter.convertRecipeToDTO(recipe))
+                        .similarity(similarRecipe.getSimilarity())
+                        .sharedIngredients(similarRecipe.getSharedIngredients())
+                        .build());
+            }
+        }
+        return similarRecipeDTOs;
     }
 
     @Override
@@ -119,7 +395,12 @@ public class RecipeServiceImpl implements RecipeService {
         recipeToSave.getCategories().forEach(category -> {
             RecipeCategoryDTO savedCategory = recipeCategoryService.create(dtoConverter.convertRecipeCategoryToDTO(category));
             category.setId(savedCategory.getId());
+            category.setName(savedCategory.getName());
         });
+        // Names differing only in case or spacing resolve to the same category
+        recipeToSave.setCategories(recipeToSave.getCategories().stream()
+                .distinct()
+                .collect(Collectors.toList()));
 
         // Set the relationship between Recipe and Ingredient, and persist the Ingredient entities
         for (Ingredient ingredient : recipeToSave.getIngredients()) {
@@ -130,35 +411,61 @@ public class RecipeServiceImpl implements RecipeService {
         Recipe savedRecipe = recipeRepository.save(recipeToSave);
 
         // Convert the saved Recipe entity back to a RecipeDTO
-        return dtoConverter.convertRecipeToDTO(savedRecipe);
+        RecipeDTO savedRecipeDTO = dtoConverter.convertRecipeToDTO(savedRecipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.CREATED, savedRecipe.getId(), Set.of(savedRecipe.getTitle()), savedRecipeDTO));
+        return savedRecipeDTO;
     }
 
     @Override
+    @Transactional
     public RecipeDTO update(Long recipeId, RecipeDTO recipeDTO) {
+        return update(recipeId, recipeDTO, null);
+    }
+
+    @Override
+    @Transactional
+    public RecipeDTO update(Long recipeId, RecipeDTO recipeDTO, Set<Long> expectedVersions) {
         validateIdParameter(recipeId);
 
         Recipe existingRecipe = recipeRepository.findById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId));
+        String previousTitle = existingRecipe.getTitle();
 
         // Validate and sanitize the input RecipeDTO object
         RecipeDTO sanitizedRecipeDTO = RecipeValidatorHelper.validateAndSanitize(recipeDTO);
 
+        // The expected versions take precedence over the one in the body, without either the update is unconditional
+        validateVersion(existingRecipe, expectedVersions != null ? expectedVersions
+                : recipeDTO.getVersion() != null ? Set.of(recipeDTO.getVersion()) : null);
+
         Recipe updatedRecipe = dtoConverter.convertRecipeToEntity(sanitizedRecipeDTO);
         updatedRecipe.setId(existingRecipe.getId());
+        updatedRecipe.setVersion(existingRecipe.getVersion());
 
-        // Update the Recipe entity to the repository
-        recipeRepository.save(updatedRecipe);
+        // Update the Recipe entity to the repository, flushing so that a concurrent update fails here and the new version is known
+        Recipe savedRecipe = recipeRepository.saveAndFlush(updatedRecipe);
 
         // Convert the updated Recipe entity back to a RecipeDTO
-        return dtoConverter.convertRecipeToDTO(updatedRecipe);
+        RecipeDTO savedRecipeDTO = dtoConverter.convertRecipeToDTO(savedRecipe);
+        publishUpdated(recipeId, previousTitle, savedRecipeDTO);
+        return savedRecipeDTO;
     }
 
     @Override
+    @Transactional
     public RecipeDTO partialUpdate(Long recipeId, Map<String, Object> updates) {
+        return partialUpdate(recipeId, updates, null);
+    }
+
+    @Override
+    @Transactional
+    public RecipeDTO partialUpdate(Long recipeId, Map<String, Object> updates, Set<Long> expectedVersions) {
         validateIdParameter(recipeId);
 
         Recipe existingRecipe = recipeRepository.findById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId));
+        String previousTitle = existingRecipe.getTitle();
+        validateVersion(existingRecipe, expectedVersions);
 
         // Sanitize the updates before applying them
         Map<String, Object> sanitizedUpdates = RecipeValidatorHelper.validateAndSanitizeUpdates(updates);
@@ -184,8 +491,14 @@ public class RecipeServiceImpl implements RecipeService {
             }
         });
 
-        recipeRepository.save(existingRecipe);
-        return dtoConverter.convertRecipeToDTO(existingRecipe);
+        long previousVersion = existingRecipe.getVersion();
+        Recipe savedRecipe = recipeRepository.saveAndFlush(existingRecipe);
+        RecipeDTO savedRecipeDTO = dtoConverter.convertRecipeToDTO(savedRecipe);
+        if (sanitizedUpdates.containsKey("ingredients") && savedRecipe.getVersion() == previousVersion) {
+            savedRecipeDTO.setVersion(incrementVersion(savedRecipe));
+        }
+        publishUpdated(recipeId, previousTitle, savedRecipeDTO);
+        return savedRecipeDTO;
     }
 
     @Override
@@ -195,6 +508,132 @@ public class RecipeServiceImpl implements RecipeService {
         Recipe recipe = recipeRepository.findById(recipeId)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId));
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.DELETED, recipeId, Set.of(recipe.getTitle()), null));
+    }
+
+    // Helper method to publish the update of a Recipe, whose title may have changed
+    private void publishUpdated(Long recipeId, String previousTitle, RecipeDTO recipe) {
+        Set<String> titles = new HashSet<>();
+        titles.add(previousTitle);
+        titles.add(recipe != null ? recipe.getTitle() : null);
+        titles.remove(null);
+        eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, recipeId, titles, recipe));
+    }
+
+    private List<FacetValueDTO> convertFacetsToDTO(List<FacetCount> facetCounts) {
+        return facetCounts.stream()
+                .map(facetCount -> FacetValueDTO.builder()
+                        .value(facetCount.getValue())
+                        .count(facetCount.getCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Helper method to load the Recipes with the given ids in that order, skipping those deleted since they were found
+    private List<Recipe> loadInOrder(List<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Recipe> recipesById = fetchCollections(recipeRepository.findAllById(recipeIds)).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        return recipeIds.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Same as above, reading only the given fields of the Recipes straight into their DTOs
+    private List<RecipeDTO> loadInOrder(List<Long> recipeIds, RecipeFields fields) {
+        if (recipeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, RecipeDTO> recipesById = convertViewsToDTO(recipeRepository.findViewsByIdIn(recipeIds), fields).stream()
+                .collect(Collectors.toMap(RecipeDTO::getId, Function.identity()));
+        return recipeIds.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private PageDTO<RecipeDTO> convertPageToDTO(Page<RecipeView> recipePage, RecipeFields fields) {
+        return PageDTO.<RecipeDTO>builder()
+                .content(convertViewsToDTO(recipePage.getContent(), fields))
+                .page(recipePage.getNumber())
+                .size(recipePage.getSize())
+                .totalElements(recipePage.getTotalElements())
+                .totalPages(recipePage.getTotalPages())
+                .build();
+    }
+
+    /*
+        Initializes the categories, ingredients and steps of the given Recipes with one query per collection,
+        so converting them to DTOs costs a constant number of statements instead of one per Recipe and collection.
+        The Recipes must be managed by the current persistence context.
+     */
+    private List<Recipe> fetchCollections(List<Recipe> recipes) {
+        if (!recipes.isEmpty()) {
+            List<Long> recipeIds = recipes.stream()
+                    .map(Recipe::getId)
+                    .collect(Collectors.toList());
+            recipeRepository.fetchCategoriesByIdIn(recipeIds);
+            recipeRepository.fetchIngredientsByIdIn(recipeIds);
+            recipeRepository.fetchStepsByIdIn(recipeIds);
+        }
+        return recipes;
+    }
+
+    /*
+        Converts the projected Recipe columns to DTOs, reading each requested collection with one projection query
+        for all the Recipes. Collections left out of the fields cost no query at all, and no Recipe entity is loaded.
+     */
+    private List<RecipeDTO> convertViewsToDTO(List<RecipeView> recipes, RecipeFields fields) {
+        if (recipes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> recipeIds = recipes.stream()
+                .map(RecipeView::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<RecipeCategoryView>> categoriesByRecipe = fields.includes(RecipeFields.CATEGORIES)
+                ? recipeRepository.findCategoryViewsByRecipeIdIn(recipeIds).stream()
+                        .collect(Collectors.groupingBy(RecipeCategoryView::getRecipeId))
+                : null;
+        Map<Long, List<IngredientView>> ingredientsByRecipe = fields.includes(RecipeFields.INGREDIENTS)
+                ? recipeRepository.findIngredientViewsByRecipeIdIn(recipeIds).stream()
+                        .collect(Collectors.groupingBy(IngredientView::getRecipeId))
+                : null;
+        Map<Long, List<String>> stepsByRecipe = fields.includes(RecipeFields.STEPS)
+                ? recipeRepository.findStepViewsByRecipeIdIn(recipeIds).stream()
+                        .collect(Collectors.groupingBy(StepView::getRecipeId, Collectors.mapping(StepView::getStep, Collectors.toList())))
+                : null;
+
+        return recipes.stream()
+                .map(recipe -> dtoConverter.convertRecipeViewToDTO(recipe,
+                        categoriesByRecipe == null ? null : categoriesByRecipe.getOrDefault(recipe.getId(), List.of()),
+                        ingredientsByRecipe == null ? null : ingredientsByRecipe.getOrDefault(recipe.getId(), List.of()),
+                        stepsByRecipe == null ? null : stepsByRecipe.getOrDefault(recipe.getId(), List.of()),
+                        fields))
+                .collect(Collectors.toList());
+    }
+
+    // Ingredients are mapped by the Ingredient, so replacing them alone leaves no dirty column in the Recipe row, nor a version increment
+    // at flush. The version is then incremented with a versioned update of its own, failing as a concurrent update would if the Recipe
+    // changed meanwhile, and never on top of the increment of a flushed change. No row is locked beforehand.
+    // The managed Recipe is detached afterwards, since its version is stale. Returns the new version.
+    private long incrementVersion(Recipe recipe) {
+        if (recipeRepository.incrementVersion(recipe.getId(), recipe.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Recipe.class, recipe.getId(),
+                    "Recipe with id " + recipe.getId() + " was updated concurrently", null);
+        }
+        entityManager.detach(recipe);
+        return recipe.getVersion() + 1;
+    }
+
+    // Helper method to reject a write based on another version of the Recipe than the current one
+    private void validateVersion(Recipe recipe, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(recipe.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Recipe.class, recipe.getId(),
+                    "Recipe with id " + recipe.getId() + " is at version " + recipe.getVersion() + ", not at any of the expected versions " + expectedVersions, null);
+        }
     }
 
     private void validateIdParameter(Long id) {
@@ -203,6 +642,15 @@ public class RecipeServiceImpl implements RecipeService {
         }
     }
 
+    private void validatePageParameters(int page, int size) {
+        if (page < 0) {
+            throw new InvalidFieldValueException("Invalid value for page: " + page);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidFieldValueException("Invalid value for size: " + size);
+        }
+    }
+
     private void validateStringParameter(String string) {
         if (string == null || string.isEmpty()) {
             throw new InvalidFieldValueException("Invalid value: " + string);
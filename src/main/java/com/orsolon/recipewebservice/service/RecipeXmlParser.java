@@ -1,16 +1,120 @@
 package com.orsolon.recipewebservice.service;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.deser.FromXmlParser;
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.xml.IngredientDiv;
+import com.orsolon.recipewebservice.dto.xml.IngredientXml;
 import com.orsolon.recipewebservice.dto.xml.RecipeMl;
+import com.orsolon.recipewebservice.dto.xml.RecipeXml;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
+/*
+    Parses RecipeML documents.
+    The mapper and readers are built once and shared: ObjectReader instances are immutable and thread-safe,
+    so concurrent calls reuse the same introspection results and deserializer caches.
+ */
 @Service
 public class RecipeXmlParser {
+
+    private static final String RECIPE_ELEMENT = "recipe";
+
+    private final XmlMapper xmlMapper;
+    private final ObjectReader recipeMlReader;
+    private final ObjectReader recipeReader;
+    private final XMLInputFactory xmlInputFactory;
+
+    public RecipeXmlParser() {
+        this.xmlMapper = new XmlMapper();
+        this.recipeMlReader = xmlMapper.readerFor(RecipeMl.class);
+        this.recipeReader = xmlMapper.readerFor(RecipeXml.class);
+        this.xmlInputFactory = xmlMapper.getFactory().getXMLInputFactory();
+    }
+
     public RecipeMl parseXml(InputStream inputStream) throws IOException {
-        XmlMapper xmlMapper = new XmlMapper();
-        return xmlMapper.readValue(inputStream, RecipeMl.class);
+        return recipeMlReader.readValue(inputStream);
+    }
+
+    /*
+        Streaming mode: binds one <recipe> element at a time and hands it to the consumer as a RecipeDTO,
+        so documents holding any number of recipes are read in constant memory.
+        Returns the number of recipes read.
+     */
+    public int parseRecipes(InputStream inputStream, Consumer<RecipeDTO> consumer) throws IOException {
+        int count = 0;
+        XMLStreamReader xmlStreamReader = null;
+        try {
+            xmlStreamReader = xmlInputFactory.createXMLStreamReader(inputStream);
+            while (xmlStreamReader.hasNext()) {
+                if (xmlStreamReader.next() == XMLStreamConstants.START_ELEMENT
+                        && RECIPE_ELEMENT.equals(xmlStreamReader.getLocalName())) {
+                    // Binding stops at the matching </recipe>, leaving the stream reader ready for the next sibling.
+                    // The parser is not closed here, as that would also close the shared stream reader.
+                    FromXmlParser parser = xmlMapper.getFactory().createParser(xmlStreamReader);
+                    RecipeXml recipeXml = recipeReader.readValue(parser);
+                    consumer.accept(convertToRecipeDTO(recipeXml));
+                    count++;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Error reading RecipeML stream: " + e.getMessage(), e);
+        } finally {
+            if (xmlStreamReader != null) {
+                try {
+                    xmlStreamReader.close();
+                } catch (XMLStreamException e) {
+                    // Nothing left to release
+                }
+            }
+        }
+        return count;
+    }
+
+    public RecipeDTO convertToRecipeDTO(RecipeXml recipeXml) {
+        List<RecipeCategoryDTO> recipeCategories = new ArrayList<>();
+        if (recipeXml.getHead().getCategories() != null) {
+            for (String recipeCategory : recipeXml.getHead().getCategories()) {
+                recipeCategories.add(
+                        RecipeCategoryDTO.builder()
+                                .name(recipeCategory)
+                                .build());
+            }
+        }
+
+        List<IngredientDTO> recipeIngredients = new ArrayList<>();
+        if (recipeXml.getIngredientList() != null && recipeXml.getIngredientList().getIngredientDivs() != null) {
+            for (IngredientDiv ingredientDiv : recipeXml.getIngredientList().getIngredientDivs()) {
+                for (IngredientXml ingredientXml : ingredientDiv.getIngredients()) {
+                    recipeIngredients.add(
+                            IngredientDTO.builder()
+                                    .title(ingredientDiv.getTitle())
+                                    .item(ingredientXml.getItem())
+                                    .quantity(ingredientXml.getAmount().getQuantity())
+                                    .unit(ingredientXml.getAmount().getUnit())
+                                    .build());
+                }
+            }
+        }
+
+        return RecipeDTO.builder()
+                .title(recipeXml.getHead().getTitle())
+                .categories(recipeCategories)
+                .yield(recipeXml.getHead().getYield())
+                .ingredients(recipeIngredients)
+                .steps(recipeXml.getSteps())
+                .build();
     }
 }
@@ -0,0 +1,9 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.SuggestionDTO;
+
+import java.util.List;
+
+public interface SuggestionService {
+    List<SuggestionDTO> suggest(String prefix, int limit);
+}
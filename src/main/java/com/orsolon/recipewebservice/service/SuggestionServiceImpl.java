@@ -0,0 +1,35 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.SuggestionDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.service.search.RecipeSuggestionIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @Autowired
+    public SuggestionServiceImpl(RecipeSuggestionIndex recipeSuggestionIndex) {
+        this.recipeSuggestionIndex = recipeSuggestionIndex;
+    }
+
+    // Served from memory only, the database is never queried
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidFieldValueException("Invalid value for prefix: " + prefix);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidFieldValueException("Invalid value for limit: " + limit);
+        }
+
+        return recipeSuggestionIndex.suggest(prefix, limit);
+    }
+}
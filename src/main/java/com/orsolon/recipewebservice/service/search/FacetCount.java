@@ -0,0 +1,10 @@
+package com.orsolon.recipewebservice.service.search;
+
+import lombok.Value;
+
+// The number of matching Recipes having one value of a facet
+@Value
+public class FacetCount {
+    String value;
+    int count;
+}
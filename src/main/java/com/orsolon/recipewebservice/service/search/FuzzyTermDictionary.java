@@ -0,0 +1,213 @@
+package com.orsolon.recipewebservice.service.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/*
+    Finds the known terms within a few edits of a possibly misspelled term, such as "zuchini" for "zucchini".
+    Terms are indexed by their bigrams, padded with a boundary mark on each side, so a term of n characters has n + 1 bigrams
+    and one edit changes at most three of them, swapping two adjacent letters included (it would change four trigrams):
+    a term within d edits shares at least n + 1 - 3d bigrams with the query.
+    When that bound prunes nothing (short terms), the terms of a compatible length are scanned instead.
+    Candidates are then verified with the optimal string alignment distance, where swapping two adjacent letters is one edit.
+    The postings of each bigram are split by term length, so that only the terms of a compatible length are counted.
+    The shared bigram counts are kept in arrays borrowed from a small pool, reset through the same postings after use.
+
+    Not thread-safe for adding terms: the owning index guards it with its own lock, expanding is safe under its read lock.
+ */
+public class FuzzyTermDictionary {
+
+    private static final char BOUNDARY = '$';
+    private static final Ordinals NO_TERMS = new Ordinals();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final Map<String, BigramPostings> termsByBigram = new HashMap<>();
+    private final List<Ordinals> termsByLength = new ArrayList<>();
+    private final BlockingQueue<int[]> sharedBigramCounts = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    public void add(String term) {
+        if (term.isEmpty() || ordinals.containsKey(term)) {
+            return;
+        }
+
+        int ordinal = terms.size();
+        ordinals.put(term, ordinal);
+        terms.add(term);
+        for (String bigram : bigrams(term)) {
+            termsByBigram.computeIfAbsent(bigram, key -> new BigramPostings()).add(term.length(), ordinal);
+        }
+        while (termsByLength.size() <= term.length()) {
+            termsByLength.add(new Ordinals());
+        }
+        termsByLength.get(term.length()).add(ordinal);
+    }
+
+    public void clear() {
+        ordinals.clear();
+        terms.clear();
+        termsByBigram.clear();
+        termsByLength.clear();
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    // The known terms 1 to maxDistance edits away from the term, closest first, at most limit of them
+    public List<FuzzyTerm> expand(String term, int maxDistance, int limit) {
+        if (maxDistance <= 0 || limit <= 0 || term.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> queryBigrams = bigrams(term);
+        int minSharedBigrams = queryBigrams.size() - 3 * maxDistance;
+        List<FuzzyTerm> matches = new ArrayList<>();
+        if (minSharedBigrams > 0) {
+            int[] sharedBigrams = sharedBigramCounts.poll();
+            if (sharedBigrams == null || sharedBigrams.length < terms.size()) {
+                sharedBigrams = new int[Math.max(terms.size(), 64)];
+            }
+            int minLength = term.length() - maxDistance;
+            int maxLength = term.length() + maxDistance;
+            for (String bigram : queryBigrams) {
+                BigramPostings withBigram = termsByBigram.get(bigram);
+                for (int length = minLength; withBigram != null && length <= maxLength; length++) {
+                    Ordinals withLength = withBigram.withLength(length);
+                    for (int i = 0; i < withLength.size; i++) {
+                        int ordinal = withLength.values[i];
+                        // Verified on the very count reaching the bound, so every candidate is checked once
+                        if (++sharedBigrams[ordinal] == minSharedBigrams) {
+                            addIfClose(matches, term, terms.get(ordinal), maxDistance);
+                        }
+                    }
+                }
+            }
+            for (String bigram : queryBigrams) {
+                BigramPostings withBigram = termsByBigram.get(bigram);
+                for (int length = minLength; withBigram != null && length <= maxLength; length++) {
+                    Ordinals withLength = withBigram.withLength(length);
+                    for (int i = 0; i < withLength.size; i++) {
+                        sharedBigrams[withLength.values[i]] = 0;
+                    }
+                }
+            }
+            sharedBigramCounts.offer(sharedBigrams);
+        } else {
+            int maxLength = Math.min(term.length() + maxDistance, termsByLength.size() - 1);
+            for (int length = Math.max(term.length() - maxDistance, 1); length <= maxLength; length++) {
+                Ordinals withLength = termsByLength.get(length);
+                for (int i = 0; i < withLength.size; i++) {
+                    addIfClose(matches, term, terms.get(withLength.values[i]), maxDistance);
+                }
+            }
+        }
+
+        matches.sort((first, second) -> first.getDistance() != second.getDistance()
+                ? Integer.compare(first.getDistance(), second.getDistance())
+                : first.getTerm().compareTo(second.getTerm()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private static void addIfClose(List<FuzzyTerm> matches, String term, String candidate, int maxDistance) {
+        if (Math.abs(candidate.length() - term.length()) > maxDistance) {
+            return;
+        }
+        int distance = distance(term, candidate, maxDistance);
+        if (distance > 0 && distance <= maxDistance) {
+            matches.add(new FuzzyTerm(candidate, distance));
+        }
+    }
+
+    /*
+        Optimal string alignment distance: insertions, deletions, substitutions and transpositions of adjacent characters.
+        Gives up with maxDistance + 1 as soon as a whole row exceeds maxDistance.
+     */
+    static int distance(String first, String second, int maxDistance) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] row = new int[second.length() + 1];
+        int[] nextRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            row[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            int[] rowBefore = previousRow;
+            previousRow = row;
+            row = nextRow;
+            nextRow = rowBefore;
+
+            row[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                int cell = Math.min(Math.min(row[j - 1] + 1, previousRow[j] + 1), previousRow[j - 1] + cost);
+                if (i > 1 && j > 1 && first.charAt(i - 1) == second.charAt(j - 2) && first.charAt(i - 2) == second.charAt(j - 1)) {
+                    cell = Math.min(cell, nextRow[j - 2] + 1);
+                }
+                row[j] = cell;
+                rowMinimum = Math.min(rowMinimum, cell);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+        return row[second.length()];
+    }
+
+    private static Set<String> bigrams(String term) {
+        String padded = BOUNDARY + term + BOUNDARY;
+        Set<String> bigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            bigrams.add(padded.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    // A known term and its number of edits from the query term
+    @Value
+    public static class FuzzyTerm {
+        String term;
+        int distance;
+    }
+
+    // The terms holding a bigram, by their length
+    private static class BigramPostings {
+        private Ordinals[] byLength = new Ordinals[0];
+
+        private void add(int length, int ordinal) {
+            if (length >= byLength.length) {
+                byLength = Arrays.copyOf(byLength, length + 1);
+            }
+            if (byLength[length] == null) {
+                byLength[length] = new Ordinals();
+            }
+            byLength[length].add(ordinal);
+        }
+
+        private Ordinals withLength(int length) {
+            return length >= 0 && length < byLength.length && byLength[length] != null ? byLength[length] : NO_TERMS;
+        }
+    }
+
+    private static class Ordinals {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.orsolon.recipewebservice.service.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+// How well a set of available ingredients covers the ingredients of one Recipe, by canonical ingredient name
+@Value
+public class IngredientMatch {
+    Long recipeId;
+    int matchedIngredients;
+    int totalIngredients;
+    List<String> missingIngredients;
+}
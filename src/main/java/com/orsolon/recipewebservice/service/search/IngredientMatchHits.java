@@ -0,0 +1,12 @@
+package com.orsolon.recipewebservice.service.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+// One page of ingredient matches ranked by coverage, along with the number of Recipes matching
+@Value
+public class IngredientMatchHits {
+    List<IngredientMatch> matches;
+    long totalHits;
+}
@@ -0,0 +1,73 @@
+package com.orsolon.recipewebservice.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/*
+    Reduces a RecipeML ingredient item to its canonical name, so that "Eggs; beaten", "Egg" and "2 eggs" are one ingredient.
+    The preparation notes after the first ";" and any text in parentheses are dropped, as are quantities and units
+    written into the item; the remaining words are folded and singularized.
+ */
+public final class IngredientNormalizer {
+
+    private static final Set<String> UNITS = Set.of(
+            "oz", "ounce", "lb", "pound", "g", "gram", "kg", "ml", "l", "liter", "litre", "cup", "c",
+            "tbsp", "tbs", "tablespoon", "tsp", "teaspoon", "pt", "pint", "qt", "quart", "pinch", "dash");
+
+    private IngredientNormalizer() {
+    }
+
+    // Returns the canonical name of the item, empty when nothing but notes, quantities or units is left
+    public static String normalize(String item) {
+        return String.join(" ", canonicalTerms(item));
+    }
+
+    public static List<String> canonicalTerms(String item) {
+        List<String> terms = new ArrayList<>();
+        if (item == null) {
+            return terms;
+        }
+
+        int notesStart = item.indexOf(';');
+        String name = notesStart >= 0 ? item.substring(0, notesStart) : item;
+        name = name.replaceAll("\\([^)]*\\)?", " ");
+
+        for (String token : TextAnalyzer.tokenize(name)) {
+            if (isQuantity(token)) {
+                continue;
+            }
+            String term = singularize(token);
+            if (!UNITS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isQuantity(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Plain English plural rules, enough for ingredient names; words ending in "ss", "us" or "is" are left alone
+    private static String singularize(String word) {
+        if (word.length() <= 3) {
+            return word;
+        }
+        if (word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes") || word.endsWith("xes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,13 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+
+/*
+    An in-memory index over the Recipes, kept in step with the database by the RecipeIndexListener.
+    Indexing a Recipe that is already indexed replaces it. Implementations must be safe for concurrent use.
+ */
+public interface RecipeIndex {
+    void index(RecipeDTO recipe);
+    void remove(Long recipeId);
+    void clear();
+}
@@ -0,0 +1,114 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
+import com.orsolon.recipewebservice.service.DTOConverter;
+import com.orsolon.recipewebservice.service.RecipeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Keeps every RecipeIndex in step with the database.
+    The indexes are built from the whole catalog once the context is refreshed (Recipes loaded while the context starts
+    are published before any listener is registered), and then updated incrementally from the change events.
+    A Recipe change is applied right away from the Recipe carried by the event, so the writer finds it at once;
+    if the transaction is rolled back, the Recipe is indexed again as it is in the database.
+    Category updates and deletions change every Recipe in that category, and are applied by reindexing the catalog
+    once the transaction completed.
+ */
+@Component
+@Slf4j
+public class RecipeIndexListener {
+
+    private final List<RecipeIndex> recipeIndexes;
+    private final RecipeService recipeService;
+    private final RecipeRepository recipeRepository;
+    private final DTOConverter dtoConverter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public RecipeIndexListener(List<RecipeIndex> recipeIndexes, RecipeService recipeService, RecipeRepository recipeRepository,
+                               DTOConverter dtoConverter, PlatformTransactionManager transactionManager) {
+        this.recipeIndexes = recipeIndexes;
+        this.recipeService = recipeService;
+        this.recipeRepository = recipeRepository;
+        this.dtoConverter = dtoConverter;
+        // Reads run after the writing transaction completed, so they must not join it
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        long start = System.nanoTime();
+        recipeIndexes.forEach(RecipeIndex::clear);
+        reindexAll();
+        log.info("Indexed the recipe catalog in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @EventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.getType() == RecipeChangedEvent.Type.DELETED || event.getRecipe() == null) {
+            recipeIndexes.forEach(index -> index.remove(event.getRecipeId()));
+        } else {
+            recipeIndexes.forEach(index -> index.index(event.getRecipe()));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reindex(event.getRecipeId());
+                    }
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onRecipeCategoryChanged(RecipeCategoryChangedEvent event) {
+        if (event.getType() == RecipeCategoryChangedEvent.Type.CREATED) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reindexAll();
+                }
+            });
+        } else {
+            reindexAll();
+        }
+    }
+
+    // Helper method to index a Recipe as it is in the database, or to remove it when it does not exist
+    private void reindex(Long recipeId) {
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.findById(recipeId)
+                .map(dtoConverter::convertRecipeToDTO)
+                .ifPresentOrElse(
+                        recipe -> recipeIndexes.forEach(index -> index.index(recipe)),
+                        () -> recipeIndexes.forEach(index -> index.remove(recipeId))));
+    }
+
+    // Indexing replaces the indexed version of each Recipe, so the indexes keep serving queries meanwhile
+    private void reindexAll() {
+        transactionTemplate.executeWithoutResult(status -> recipeService.exportAll(
+                recipe -> recipeIndexes.forEach(index -> index.index(recipe))));
+    }
+}
@@ -0,0 +1,265 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Maps every canonical ingredient (see IngredientNormalizer) to the bitset of the Recipes using it, to find the Recipes
+    that can be cooked from a list of available ingredients.
+    An available ingredient covers every canonical ingredient containing all of its words, so "butter" covers
+    "butter or margarine" as well. Recipes are stored under internal document numbers, which are reused once
+    their Recipe is removed, so the bitsets stay as dense as the catalog.
+ */
+@Component
+public class RecipeIngredientIndex implements RecipeIndex {
+
+    private static final int[] NO_INGREDIENTS = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ingredientOrdinals = new HashMap<>();
+    private final List<String> ingredientNames = new ArrayList<>();
+    private final List<BitSet> docsByIngredient = new ArrayList<>();
+    private final Map<String, BitSet> ingredientsByTerm = new HashMap<>();
+    private final Map<Long, Integer> docsByRecipeId = new HashMap<>();
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+    private long[] docRecipeIds = new long[64];
+    private int[][] docIngredients = new int[64][];
+    private int docCount;
+
+    @Override
+    public void index(RecipeDTO recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        if (recipe.getIngredients() != null) {
+            for (IngredientDTO ingredient : recipe.getIngredients()) {
+                String name = IngredientNormalizer.normalize(ingredient.getItem());
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existingDoc = docsByRecipeId.get(recipe.getId());
+            int doc;
+            if (existingDoc != null) {
+                doc = existingDoc;
+                clearIngredients(doc);
+            } else if (!freeDocs.isEmpty()) {
+                doc = freeDocs.pop();
+            } else {
+                doc = docCount++;
+                ensureCapacity(docCount);
+            }
+
+            int[] ordinals = new int[names.size()];
+            int i = 0;
+            for (String name : names) {
+                int ordinal = ordinalOf(name);
+                docsByIngredient.get(ordinal).set(doc);
+                ordinals[i++] = ordinal;
+            }
+            docRecipeIds[doc] = recipe.getId();
+            docIngredients[doc] = ordinals;
+            docsByRecipeId.put(recipe.getId(), doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsByRecipeId.remove(recipeId);
+            if (doc != null) {
+                clearIngredients(doc);
+                docIngredients[doc] = null;
+                freeDocs.push(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ingredientOrdinals.clear();
+            ingredientNames.clear();
+            docsByIngredient.clear();
+            ingredientsByTerm.clear();
+            docsByRecipeId.clear();
+            freeDocs.clear();
+            docRecipeIds = new long[64];
+            docIngredients = new int[64][];
+            docCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+        Returns the Recipes lacking at most missingAtMost of their ingredients, from offset to offset + limit.
+        The best covered Recipes come first, then those missing the fewest ingredients, ties broken by the lowest id.
+        Recipes using none of the available ingredients are never returned.
+     */
+    public IngredientMatchHits match(List<String> availableIngredients, int missingAtMost, int offset, int limit) {
+        List<List<String>> availableTerms = new ArrayList<>();
+        for (String availableIngredient : availableIngredients) {
+            List<String> terms = IngredientNormalizer.canonicalTerms(availableIngredient);
+            if (!terms.isEmpty()) {
+                availableTerms.add(terms);
+            }
+        }
+        if (availableTerms.isEmpty() || limit <= 0) {
+            return new IngredientMatchHits(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet coveredIngredients = new BitSet(ingredientNames.size());
+            for (List<String> terms : availableTerms) {
+                coveredIngredients.or(ingredientsContainingAll(terms));
+            }
+
+            int[] matched = new int[docCount];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            for (int ordinal = coveredIngredients.nextSetBit(0); ordinal >= 0; ordinal = coveredIngredients.nextSetBit(ordinal + 1)) {
+                BitSet docs = docsByIngredient.get(ordinal);
+                for (int doc = docs.nextSetBit(0); doc >= 0; doc = docs.nextSetBit(doc + 1)) {
+                    if (matched[doc]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = doc;
+                    }
+                }
+            }
+
+            // Keep the best offset + limit Recipes in a min-heap, the worst of them at its head
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<Integer> best = new PriorityQueue<>((first, second) -> compareRank(second, first, matched));
+            int totalHits = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (docIngredients[doc].length - matched[doc] > missingAtMost) {
+                    continue;
+                }
+                totalHits++;
+                if (best.size() < wanted) {
+                    best.add(doc);
+                } else if (compareRank(doc, best.peek(), matched) < 0) {
+                    best.poll();
+                    best.add(doc);
+                }
+            }
+
+            IngredientMatch[] ranked = new IngredientMatch[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                int doc = best.poll();
+                ranked[i] = new IngredientMatch(docRecipeIds[doc], matched[doc], docIngredients[doc].length,
+                        missingIngredients(doc, coveredIngredients));
+            }
+            List<IngredientMatch> page = offset >= ranked.length
+                    ? Collections.emptyList()
+                    : Arrays.asList(ranked).subList(offset, ranked.length);
+            return new IngredientMatchHits(page, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Negative when the first document ranks before the second one
+    private int compareRank(int firstDoc, int secondDoc, int[] matched) {
+        long firstTotal = docIngredients[firstDoc].length;
+        long secondTotal = docIngredients[secondDoc].length;
+        // Compares the coverage ratios without dividing
+        int byCoverage = Long.compare(matched[secondDoc] * firstTotal, matched[firstDoc] * secondTotal);
+        if (byCoverage != 0) {
+            return byCoverage;
+        }
+        int byMissing = Long.compare(firstTotal - matched[firstDoc], secondTotal - matched[secondDoc]);
+        return byMissing != 0 ? byMissing : Long.compare(docRecipeIds[firstDoc], docRecipeIds[secondDoc]);
+    }
+
+    private BitSet ingredientsContainingAll(List<String> terms) {
+        BitSet ingredients = null;
+        for (String term : terms) {
+            BitSet withTerm = ingredientsByTerm.get(term);
+            if (withTerm == null) {
+                return new BitSet();
+            }
+            if (ingredients == null) {
+                ingredients = (BitSet) withTerm.clone();
+            } else {
+                ingredients.and(withTerm);
+            }
+        }
+        return ingredients;
+    }
+
+    private List<String> missingIngredients(int doc, BitSet coveredIngredients) {
+        List<String> missing = new ArrayList<>();
+        for (int ordinal : docIngredients[doc]) {
+            if (!coveredIngredients.get(ordinal)) {
+                missing.add(ingredientNames.get(ordinal));
+            }
+        }
+        return missing;
+    }
+
+    // Must be called with the write lock held
+    private int ordinalOf(String name) {
+        Integer ordinal = ingredientOrdinals.get(name);
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        int newOrdinal = ingredientNames.size();
+        ingredientOrdinals.put(name, newOrdinal);
+        ingredientNames.add(name);
+        docsByIngredient.add(new BitSet());
+        for (String term : name.split(" ")) {
+            ingredientsByTerm.computeIfAbsent(term, key -> new BitSet()).set(newOrdinal);
+        }
+        return newOrdinal;
+    }
+
+    // Must be called with the write lock held
+    private void clearIngredients(int doc) {
+        for (int ordinal : docIngredients[doc] != null ? docIngredients[doc] : NO_INGREDIENTS) {
+            docsByIngredient.get(ordinal).clear(doc);
+        }
+    }
+
+    private void ensureCapacity(int documents) {
+        if (documents > docRecipeIds.length) {
+            int capacity = Math.max(documents, docRecipeIds.length * 2);
+            docRecipeIds = Arrays.copyOf(docRecipeIds, capacity);
+            docIngredients = Arrays.copyOf(docIngredients, capacity);
+        }
+    }
+}
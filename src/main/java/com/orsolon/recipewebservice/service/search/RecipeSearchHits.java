@@ -0,0 +1,14 @@
+package com.orsolon.recipewebservice.service.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+// One page of Recipe ids ranked by relevance, along with the number of Recipes matching the query and their facet counts
+@Value
+public class RecipeSearchHits {
+    List<Long> recipeIds;
+    long totalHits;
+    List<FacetCount> categoryFacets;
+    List<FacetCount> ingredientFacets;
+}
@@ -0,0 +1,622 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.search.FuzzyTermDictionary.FuzzyTerm;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    In-memory inverted index over the title, categories, ingredient items and steps of every Recipe, ranked with BM25F:
+    term frequencies are weighted and length-normalized per field before saturation, so a match in the title outweighs
+    the same match in a step, and one long field cannot drown out the others.
+    Every query term must match, in any of the fields. A query term also matches the terms of the titles, categories
+    and ingredient items within a few edits of it (one edit from 3 letters on, two from 8 letters on, never for terms with
+    digits), each edit halving the score, so "zuchini" finds zucchini Recipes while exact matches still rank first.
+    Two edits are kept to long terms, where they still leave the bigram filter of the dictionary something to prune.
+
+    Recipes are stored under internal document numbers, handed out in increasing order, so posting lists stay sorted
+    by appending. The per-document scores of a query are kept in buffers borrowed from a small pool, and only the entries
+    the query touched are reset afterwards, so a query does not allocate arrays the size of the index.
+    Replacing or removing a Recipe only marks its document as deleted; the index is compacted once deleted
+    documents outnumber the live ones.
+
+    The categories and canonical ingredients of every document are also kept as ordinals into a dictionary per facet,
+    so the facet counts of a query are summed over the matching documents without loading any Recipe.
+ */
+@Component
+public class RecipeSearchIndex implements RecipeIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int TITLE = 0;
+    private static final int CATEGORIES = 1;
+    private static final int INGREDIENTS = 2;
+    private static final int STEPS = 3;
+    private static final int FIELD_COUNT = 4;
+    private static final float[] FIELD_WEIGHTS = {3.0f, 2.0f, 1.5f, 1.0f};
+
+    public static final int DEFAULT_MAX_EDIT_DISTANCE = 2;
+    private static final float EDIT_PENALTY = 0.5f;
+    private static final int MAX_FUZZY_VARIANTS = 16;
+
+    // Per-field frequencies are packed into one int per posting, one byte each
+    private static final int MAX_FIELD_FREQUENCY = 0xFF;
+    private static final int ALL_FIELDS = -1;
+    private static final int ALL_FIELDS_BUT_STEPS = ~(MAX_FIELD_FREQUENCY << (STEPS * 8));
+    private static final int MIN_DELETED_DOCS_BEFORE_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Integer> docsByRecipeId = new HashMap<>();
+    private long[] docRecipeIds = new long[64];
+    private int[] fieldLengths = new int[64 * FIELD_COUNT];
+    private final BitSet liveDocs = new BitSet();
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+    private final FacetField categoryFacet = new FacetField();
+    private final FacetField ingredientFacet = new FacetField();
+    private final FuzzyTermDictionary fuzzyTerms = new FuzzyTermDictionary();
+    // Kept for as many concurrent searches as there are processors, beyond that a search allocates its own
+    private final BlockingQueue<SearchBuffers> searchBuffers = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private final int maxEditDistance;
+    private int docCount;
+
+    public RecipeSearchIndex() {
+        this(DEFAULT_MAX_EDIT_DISTANCE);
+    }
+
+    // A maximum edit distance of 0 disables fuzzy matching, bigram filtering stops pruning beyond 2
+    @Autowired
+    public RecipeSearchIndex(@Value("${recipe.search.fuzzy.max-distance:" + DEFAULT_MAX_EDIT_DISTANCE + "}") int maxEditDistance) {
+        this.maxEditDistance = Math.max(0, Math.min(maxEditDistance, DEFAULT_MAX_EDIT_DISTANCE));
+    }
+
+    @Override
+    public void index(RecipeDTO recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+
+        // Analysis happens outside the lock, only the postings update is exclusive
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] lengths = new int[FIELD_COUNT];
+        addField(termFrequencies, lengths, TITLE, recipe.getTitle());
+        if (recipe.getCategories() != null) {
+            for (RecipeCategoryDTO category : recipe.getCategories()) {
+                addField(termFrequencies, lengths, CATEGORIES, category.getName());
+            }
+        }
+        if (recipe.getIngredients() != null) {
+            for (IngredientDTO ingredient : recipe.getIngredients()) {
+                addField(termFrequencies, lengths, INGREDIENTS, ingredient.getItem());
+            }
+        }
+        if (recipe.getSteps() != null) {
+            for (String step : recipe.getSteps()) {
+                addField(termFrequencies, lengths, STEPS, step);
+            }
+        }
+
+        // Facet values by their folded key, the first spelling seen is the one reported
+        Map<String, String> categories = new LinkedHashMap<>();
+        if (recipe.getCategories() != null) {
+            for (RecipeCategoryDTO category : recipe.getCategories()) {
+                List<String> terms = TextAnalyzer.tokenize(category.getName());
+                if (!terms.isEmpty()) {
+                    categories.putIfAbsent(String.join(" ", terms), category.getName().trim());
+                }
+            }
+        }
+        Map<String, String> ingredients = new LinkedHashMap<>();
+        if (recipe.getIngredients() != null) {
+            for (IngredientDTO ingredient : recipe.getIngredients()) {
+                String name = IngredientNormalizer.normalize(ingredient.getItem());
+                if (!name.isEmpty()) {
+                    ingredients.putIfAbsent(name, name);
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(recipe.getId());
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            docRecipeIds[doc] = recipe.getId();
+            categoryFacet.set(doc, categories);
+            ingredientFacet.set(doc, ingredients);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                fieldLengths[doc * FIELD_COUNT + field] = lengths[field];
+                totalFieldLengths[field] += lengths[field];
+            }
+            for (Map.Entry<String, int[]> entry : termFrequencies.entrySet()) {
+                int packedFrequencies = pack(entry.getValue());
+                postingsByTerm.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, packedFrequencies);
+                if ((packedFrequencies & ALL_FIELDS_BUT_STEPS) != 0 && maxEditDistance > 0) {
+                    fuzzyTerms.add(entry.getKey());
+                }
+            }
+            docsByRecipeId.put(recipe.getId(), doc);
+            liveDocs.set(doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(recipeId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            docsByRecipeId.clear();
+            docRecipeIds = new long[64];
+            fieldLengths = new int[64 * FIELD_COUNT];
+            categoryFacet.clear();
+            ingredientFacet.clear();
+            fuzzyTerms.clear();
+            liveDocs.clear();
+            Arrays.fill(totalFieldLengths, 0);
+            docCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByRecipeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns the ids of the Recipes ranked from offset to offset + limit, best match first, ties broken by the lowest id
+    public RecipeSearchHits search(String query, int offset, int limit) {
+        return search(query, offset, limit, 0);
+    }
+
+    // Also counts the categories and ingredients of all matching Recipes, returning the facetLimit most frequent of each
+    public RecipeSearchHits search(String query, int offset, int limit, int facetLimit) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return emptyHits();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveCount = docsByRecipeId.size();
+            List<List<TermVariant>> termVariants = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                List<TermVariant> variants = variantsOf(term);
+                if (variants.isEmpty()) {
+                    return emptyHits();
+                }
+                termVariants.add(variants);
+            }
+
+            float[] averageFieldLengths = new float[FIELD_COUNT];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                averageFieldLengths[field] = liveCount == 0 ? 1.0f : Math.max((float) totalFieldLengths[field] / liveCount, 1.0f);
+            }
+
+            // Not given back when the search fails, its entries may then be left set
+            SearchBuffers buffers = borrowSearchBuffers();
+            float[] scores = buffers.scores;
+            float[] termScores = buffers.termScores;
+            int[] matchedTerms = buffers.matchedTerms;
+            int[] touched = buffers.touched;
+            int touchedCount = 0;
+            int[] termDocs = buffers.termDocs;
+            for (List<TermVariant> variants : termVariants) {
+                int termDocCount = 0;
+                for (TermVariant variant : variants) {
+                    Postings postings = variant.postings;
+                    float idf = variant.weight * idf(postings.liveDocumentFrequency(liveDocs), liveCount);
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        int frequencies = postings.frequencies[i] & variant.fieldMask;
+                        if (frequencies == 0 || !liveDocs.get(doc)) {
+                            continue;
+                        }
+                        // Scores are always positive, so a zero term score means the first variant found in this document
+                        if (termScores[doc] == 0) {
+                            if (termDocCount == termDocs.length) {
+                                termDocs = Arrays.copyOf(termDocs, termDocCount * 2);
+                            }
+                            termDocs[termDocCount++] = doc;
+                            if (matchedTerms[doc]++ == 0) {
+                                if (touchedCount == touched.length) {
+                                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                                }
+                                touched[touchedCount++] = doc;
+                            }
+                        }
+                        // Only the best variant counts, holding several spellings of a term is no better than holding one
+                        termScores[doc] = Math.max(termScores[doc], idf * saturatedFrequency(doc, frequencies, averageFieldLengths));
+                    }
+                }
+                for (int i = 0; i < termDocCount; i++) {
+                    scores[termDocs[i]] += termScores[termDocs[i]];
+                    termScores[termDocs[i]] = 0;
+                }
+            }
+
+            // Keep the best offset + limit documents in a min-heap, the worst of them at its head
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<Integer> best = new PriorityQueue<>((first, second) -> compareRank(second, first, scores));
+            int totalHits = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                boolean matchesAllTerms = matchedTerms[doc] == termVariants.size();
+                matchedTerms[doc] = 0;
+                if (!matchesAllTerms) {
+                    scores[doc] = 0;
+                    continue;
+                }
+                // The matching documents are gathered at the front of touched, for the facets
+                touched[totalHits++] = doc;
+                if (best.size() < wanted) {
+                    best.add(doc);
+                } else if (compareRank(doc, best.peek(), scores) < 0) {
+                    best.poll();
+                    best.add(doc);
+                }
+            }
+
+            Long[] ranked = new Long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = docRecipeIds[best.poll()];
+            }
+            for (int i = 0; i < totalHits; i++) {
+                scores[touched[i]] = 0;
+            }
+            List<Long> page = offset >= ranked.length
+                    ? Collections.emptyList()
+                    : Arrays.asList(ranked).subList(offset, ranked.length);
+            RecipeSearchHits hits = new RecipeSearchHits(page, totalHits,
+                    categoryFacet.count(touched, totalHits, facetLimit), ingredientFacet.count(touched, totalHits, facetLimit));
+            buffers.touched = touched;
+            buffers.termDocs = termDocs;
+            searchBuffers.offer(buffers);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Buffers with room for every document, all of their entries cleared. Must be called with the read lock held.
+    private SearchBuffers borrowSearchBuffers() {
+        SearchBuffers buffers = searchBuffers.poll();
+        if (buffers == null || buffers.scores.length < docCount) {
+            // Outgrown buffers are dropped, the index grew since they were made
+            buffers = new SearchBuffers(Math.max(docCount, docRecipeIds.length));
+        }
+        return buffers;
+    }
+
+    // The term itself in every field, then its known misspellings in the title, categories and ingredients. Must be called with the read lock held.
+    private List<TermVariant> variantsOf(String term) {
+        List<TermVariant> variants = new ArrayList<>();
+        Postings postings = postingsByTerm.get(term);
+        if (postings != null) {
+            variants.add(new TermVariant(postings, 1.0f, ALL_FIELDS));
+        }
+        for (FuzzyTerm fuzzyTerm : fuzzyTerms.expand(term, allowedEdits(term), MAX_FUZZY_VARIANTS)) {
+            Postings variantPostings = postingsByTerm.get(fuzzyTerm.getTerm());
+            if (variantPostings != null) {
+                variants.add(new TermVariant(variantPostings, (float) Math.pow(EDIT_PENALTY, fuzzyTerm.getDistance()), ALL_FIELDS_BUT_STEPS));
+            }
+        }
+        return variants;
+    }
+
+    // Short terms and numbers are too easily one edit away from an unrelated term
+    private int allowedEdits(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (Character.isDigit(term.charAt(i))) {
+                return 0;
+            }
+        }
+        int edits = term.length() < 3 ? 0 : term.length() < 8 ? 1 : 2;
+        return Math.min(edits, maxEditDistance);
+    }
+
+    private static RecipeSearchHits emptyHits() {
+        return new RecipeSearchHits(Collections.emptyList(), 0, Collections.emptyList(), Collections.emptyList());
+    }
+
+    // Negative when the first document ranks before the second one
+    private int compareRank(int firstDoc, int secondDoc, float[] scores) {
+        int byScore = Float.compare(scores[secondDoc], scores[firstDoc]);
+        return byScore != 0 ? byScore : Long.compare(docRecipeIds[firstDoc], docRecipeIds[secondDoc]);
+    }
+
+    private float saturatedFrequency(int doc, int packedFrequencies, float[] averageFieldLengths) {
+        float frequency = 0;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            int fieldFrequency = (packedFrequencies >>> (field * 8)) & MAX_FIELD_FREQUENCY;
+            if (fieldFrequency > 0) {
+                float lengthRatio = fieldLengths[doc * FIELD_COUNT + field] / averageFieldLengths[field];
+                frequency += FIELD_WEIGHTS[field] * fieldFrequency / (1 - B + B * lengthRatio);
+            }
+        }
+        return frequency / (K1 + frequency);
+    }
+
+    private static float idf(int documentFrequency, int documentCount) {
+        return (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static void addField(Map<String, int[]> termFrequencies, int[] lengths, int field, String text) {
+        for (String term : TextAnalyzer.tokenize(text)) {
+            termFrequencies.computeIfAbsent(term, key -> new int[FIELD_COUNT])[field]++;
+            lengths[field]++;
+        }
+    }
+
+    private static int pack(int[] frequencies) {
+        int packed = 0;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            packed |= Math.min(frequencies[field], MAX_FIELD_FREQUENCY) << (field * 8);
+        }
+        return packed;
+    }
+
+    // Must be called with the write lock held
+    private void removeDocument(Long recipeId) {
+        Integer doc = docsByRecipeId.remove(recipeId);
+        if (doc != null) {
+            liveDocs.clear(doc);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] -= fieldLengths[doc * FIELD_COUNT + field];
+            }
+        }
+    }
+
+    private void ensureCapacity(int documents) {
+        if (documents > docRecipeIds.length) {
+            int capacity = Math.max(documents, docRecipeIds.length * 2);
+            docRecipeIds = Arrays.copyOf(docRecipeIds, capacity);
+            fieldLengths = Arrays.copyOf(fieldLengths, capacity * FIELD_COUNT);
+        }
+        categoryFacet.ensureCapacity(documents);
+        ingredientFacet.ensureCapacity(documents);
+    }
+
+    // Renumbers the live documents from zero and drops the postings of the deleted ones. Must be called with the write lock held.
+    private void compactIfNeeded() {
+        int liveCount = docsByRecipeId.size();
+        int deletedCount = docCount - liveCount;
+        if (deletedCount <= Math.max(MIN_DELETED_DOCS_BEFORE_COMPACTION, liveCount)) {
+            return;
+        }
+
+        int[] newDocs = new int[docCount];
+        long[] compactedRecipeIds = new long[Math.max(liveCount, 64)];
+        int[] compactedFieldLengths = new int[compactedRecipeIds.length * FIELD_COUNT];
+        int nextDoc = 0;
+        for (int doc = liveDocs.nextSetBit(0); doc >= 0; doc = liveDocs.nextSetBit(doc + 1)) {
+            newDocs[doc] = nextDoc;
+            compactedRecipeIds[nextDoc] = docRecipeIds[doc];
+            System.arraycopy(fieldLengths, doc * FIELD_COUNT, compactedFieldLengths, nextDoc * FIELD_COUNT, FIELD_COUNT);
+            docsByRecipeId.put(docRecipeIds[doc], nextDoc);
+            nextDoc++;
+        }
+
+        // The dictionary of fuzzy terms is rebuilt along, dropping the terms only deleted documents had
+        fuzzyTerms.clear();
+        Iterator<Map.Entry<String, Postings>> iterator = postingsByTerm.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Postings> entry = iterator.next();
+            Postings postings = entry.getValue();
+            postings.compact(liveDocs, newDocs);
+            if (postings.size == 0) {
+                iterator.remove();
+            } else if (maxEditDistance > 0 && postings.hasFieldsOtherThan(STEPS)) {
+                fuzzyTerms.add(entry.getKey());
+            }
+        }
+
+        categoryFacet.compact(liveDocs, compactedRecipeIds.length);
+        ingredientFacet.compact(liveDocs, compactedRecipeIds.length);
+
+        docRecipeIds = compactedRecipeIds;
+        fieldLengths = compactedFieldLengths;
+        liveDocs.clear();
+        liveDocs.set(0, nextDoc);
+        docCount = nextDoc;
+    }
+
+    // The values of one facet for every document, as ordinals into the dictionary of the facet
+    private static class FacetField {
+        private static final int[] NO_VALUES = new int[0];
+
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int[][] docValues = new int[64][];
+
+        private void set(int doc, Map<String, String> valuesByKey) {
+            int[] docOrdinals = new int[valuesByKey.size()];
+            int i = 0;
+            for (Map.Entry<String, String> value : valuesByKey.entrySet()) {
+                docOrdinals[i++] = ordinals.computeIfAbsent(value.getKey(), key -> {
+                    values.add(value.getValue());
+                    return values.size() - 1;
+                });
+            }
+            docValues[doc] = docOrdinals;
+        }
+
+        private void ensureCapacity(int documents) {
+            if (documents > docValues.length) {
+                docValues = Arrays.copyOf(docValues, Math.max(documents, docValues.length * 2));
+            }
+        }
+
+        // Renumbers the live documents from zero, in the same order as the rest of the index
+        private void compact(BitSet liveDocs, int capacity) {
+            int[][] compactedValues = new int[capacity][];
+            int nextDoc = 0;
+            for (int doc = liveDocs.nextSetBit(0); doc >= 0; doc = liveDocs.nextSetBit(doc + 1)) {
+                compactedValues[nextDoc++] = docValues[doc];
+            }
+            docValues = compactedValues;
+        }
+
+        private void clear() {
+            ordinals.clear();
+            values.clear();
+            docValues = new int[64][];
+        }
+
+        // The limit most frequent values among the given documents, ties broken alphabetically
+        private List<FacetCount> count(int[] docs, int docCount, int limit) {
+            if (limit <= 0 || docCount == 0) {
+                return Collections.emptyList();
+            }
+
+            int[] counts = new int[values.size()];
+            for (int i = 0; i < docCount; i++) {
+                for (int ordinal : docValues[docs[i]] != null ? docValues[docs[i]] : NO_VALUES) {
+                    counts[ordinal]++;
+                }
+            }
+
+            // The least frequent of the best values so far at the head
+            PriorityQueue<Integer> best = new PriorityQueue<>((first, second) -> counts[first] != counts[second]
+                    ? Integer.compare(counts[first], counts[second])
+                    : values.get(second).compareTo(values.get(first)));
+            for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                if (counts[ordinal] == 0) {
+                    continue;
+                }
+                best.add(ordinal);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            FacetCount[] facetCounts = new FacetCount[best.size()];
+            for (int i = facetCounts.length - 1; i >= 0; i--) {
+                int ordinal = best.poll();
+                facetCounts[i] = new FacetCount(values.get(ordinal), counts[ordinal]);
+            }
+            return Arrays.asList(facetCounts);
+        }
+    }
+
+    // The per-document scratch arrays of a search, every entry back to zero whenever they are not in use
+    private static class SearchBuffers {
+        private final float[] scores;
+        private final float[] termScores;
+        private final int[] matchedTerms;
+        private int[] touched = new int[16];
+        private int[] termDocs = new int[16];
+
+        private SearchBuffers(int documents) {
+            scores = new float[documents];
+            termScores = new float[documents];
+            matchedTerms = new int[documents];
+        }
+    }
+
+    // The postings of one spelling of a query term, the weight and fields its matches count with
+    private static class TermVariant {
+        private final Postings postings;
+        private final float weight;
+        private final int fieldMask;
+
+        private TermVariant(Postings postings, float weight, int fieldMask) {
+            this.postings = postings;
+            this.weight = weight;
+            this.fieldMask = fieldMask;
+        }
+    }
+
+    // The documents containing a term in increasing order, each with its packed per-field frequencies
+    private static class Postings {
+        private int[] docs = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        private void add(int doc, int packedFrequencies) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = packedFrequencies;
+            size++;
+        }
+
+        private int liveDocumentFrequency(BitSet liveDocs) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (liveDocs.get(docs[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private boolean hasFieldsOtherThan(int field) {
+            int otherFields = ~(MAX_FIELD_FREQUENCY << (field * 8));
+            for (int i = 0; i < size; i++) {
+                if ((frequencies[i] & otherFields) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void compact(BitSet liveDocs, int[] newDocs) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (liveDocs.get(docs[i])) {
+                    docs[kept] = newDocs[docs[i]];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(kept, 2));
+                frequencies = Arrays.copyOf(frequencies, Math.max(kept, 2));
+            }
+        }
+    }
+}
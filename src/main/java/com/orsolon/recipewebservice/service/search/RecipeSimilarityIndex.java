@@ -0,0 +1,238 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Finds the Recipes whose ingredients resemble those of a given Recipe without comparing it to the whole catalog.
+    Every Recipe gets a MinHash signature of its canonical ingredients (see IngredientNormalizer): for each of the
+    SIGNATURE_SIZE hash functions, the smallest hash of its ingredients. Two signatures agree on a position with a
+    probability equal to the Jaccard similarity of the two ingredient sets.
+    Signatures are cut into BANDS bands of ROWS rows, and every Recipe is filed in one bucket per band (locality-sensitive
+    hashing). Recipes sharing a bucket are the candidates, found with a probability of 1 - (1 - s^ROWS)^BANDS for a
+    similarity s: about 73% at 0.2 and over 95% from 0.3 on. Candidates are then ranked by their exact Jaccard similarity.
+ */
+@Component
+public class RecipeSimilarityIndex implements RecipeIndex {
+
+    private static final int BANDS = 32;
+    private static final int ROWS = 2;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    // Bounds the work of a query when a bucket is crowded, such as Recipes made of a few staples
+    private static final int MAX_CANDIDATES = 2000;
+    private static final long[] HASH_SEEDS = new SplittableRandom(0x5EEDL).longs(SIGNATURE_SIZE).toArray();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedRecipe> recipesById = new HashMap<>();
+    private final Map<Long, Set<Long>> recipeIdsByBucket = new HashMap<>();
+
+    @Override
+    public void index(RecipeDTO recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+
+        // Sorted, so that two Recipes are compared with a single merge
+        TreeSet<String> names = new TreeSet<>();
+        if (recipe.getIngredients() != null) {
+            for (IngredientDTO ingredient : recipe.getIngredients()) {
+                String name = IngredientNormalizer.normalize(ingredient.getItem());
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        IndexedRecipe indexedRecipe = new IndexedRecipe(names.toArray(new String[0]), names.isEmpty() ? new long[0] : bucketsOf(names));
+
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipe.getId());
+            recipesById.put(recipe.getId(), indexedRecipe);
+            for (long bucket : indexedRecipe.buckets) {
+                recipeIdsByBucket.computeIfAbsent(bucket, key -> new HashSet<>()).add(recipe.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            recipesById.clear();
+            recipeIdsByBucket.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The limit Recipes most similar to the given one, most similar first, ties broken by the lowest id
+    public List<SimilarRecipe> similarTo(Long recipeId, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            IndexedRecipe recipe = recipesById.get(recipeId);
+            if (recipe == null) {
+                return Collections.emptyList();
+            }
+
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < recipe.buckets.length && candidates.size() < MAX_CANDIDATES; band++) {
+                for (Long candidate : recipeIdsByBucket.get(recipe.buckets[band])) {
+                    if (candidates.size() == MAX_CANDIDATES) {
+                        break;
+                    }
+                    if (!candidate.equals(recipeId)) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+
+            // Keep the best limit Recipes in a min-heap, the least similar of them at its head
+            PriorityQueue<SimilarRecipe> best = new PriorityQueue<>((first, second) -> compareRank(second, first));
+            for (Long candidate : candidates) {
+                SimilarRecipe similarRecipe = compare(recipe, candidate, recipesById.get(candidate));
+                if (similarRecipe.getSharedIngredients().isEmpty()) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(similarRecipe);
+                } else if (compareRank(similarRecipe, best.peek()) < 0) {
+                    best.poll();
+                    best.add(similarRecipe);
+                }
+            }
+
+            SimilarRecipe[] ranked = new SimilarRecipe[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll();
+            }
+            return List.of(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Negative when the first Recipe ranks before the second one
+    private static int compareRank(SimilarRecipe first, SimilarRecipe second) {
+        int bySimilarity = Double.compare(second.getSimilarity(), first.getSimilarity());
+        return bySimilarity != 0 ? bySimilarity : Long.compare(first.getRecipeId(), second.getRecipeId());
+    }
+
+    private static SimilarRecipe compare(IndexedRecipe recipe, Long candidateId, IndexedRecipe candidate) {
+        List<String> shared = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < recipe.ingredients.length && j < candidate.ingredients.length) {
+            int comparison = recipe.ingredients[i].compareTo(candidate.ingredients[j]);
+            if (comparison == 0) {
+                shared.add(recipe.ingredients[i]);
+                i++;
+                j++;
+            } else if (comparison < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = recipe.ingredients.length + candidate.ingredients.length - shared.size();
+        return new SimilarRecipe(candidateId, (double) shared.size() / union, shared);
+    }
+
+    // One bucket per band, keyed by the band number and the signature rows of that band
+    private static long[] bucketsOf(Set<String> names) {
+        long[] signature = new long[SIGNATURE_SIZE];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String name : names) {
+            long nameHash = hash(name);
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                signature[i] = Math.min(signature[i], mix(nameHash ^ HASH_SEEDS[i]));
+            }
+        }
+
+        long[] buckets = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long bucket = band;
+            for (int row = 0; row < ROWS; row++) {
+                bucket = mix(bucket * 31 + signature[band * ROWS + row]);
+            }
+            buckets[band] = bucket;
+        }
+        return buckets;
+    }
+
+    // 64-bit FNV-1a, String.hashCode has too few bits to seed many hash functions apart
+    private static long hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // The finalizer of MurmurHash3, spreading every input bit over the whole output
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    // Must be called with the write lock held
+    private void removeRecipe(Long recipeId) {
+        IndexedRecipe recipe = recipesById.remove(recipeId);
+        if (recipe == null) {
+            return;
+        }
+        for (long bucket : recipe.buckets) {
+            // Two bands of a Recipe may share a bucket, which is then already gone
+            Set<Long> recipeIds = recipeIdsByBucket.get(bucket);
+            if (recipeIds != null && recipeIds.remove(recipeId) && recipeIds.isEmpty()) {
+                recipeIdsByBucket.remove(bucket);
+            }
+        }
+    }
+
+    // The sorted canonical ingredients of a Recipe and the buckets it is filed in
+    private static class IndexedRecipe {
+        private final String[] ingredients;
+        private final long[] buckets;
+
+        private IndexedRecipe(String[] ingredients, long[] buckets) {
+            this.ingredients = ingredients;
+            this.buckets = buckets;
+        }
+    }
+}
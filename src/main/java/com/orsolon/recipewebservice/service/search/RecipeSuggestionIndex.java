@@ -0,0 +1,428 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.SuggestionDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    Type-ahead suggestions for Recipe titles, category names and canonical ingredient names, held in a radix tree
+    (a trie whose edges carry whole strings). Each suggestion is reachable from the start of every one of its words,
+    so "choc" suggests "Dark Chocolate Cake" as well.
+    Suggestions are ranked by the number of Recipes behind them. Every node knows the highest count below it,
+    so the best suggestions under a prefix are found by expanding the most promising nodes first, without visiting
+    the rest of the subtree.
+ */
+@Component
+public class RecipeSuggestionIndex implements RecipeIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node("");
+    private final Map<String, Suggestion> suggestionsByKey = new HashMap<>();
+    private final Map<Long, List<Suggestion>> suggestionsByRecipeId = new HashMap<>();
+
+    @Override
+    public void index(RecipeDTO recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+
+        // Every suggestion counts a Recipe once, however often it is repeated in it
+        Map<String, Suggestion> candidates = new LinkedHashMap<>();
+        addCandidate(candidates, SuggestionDTO.Type.TITLE, recipe.getTitle(), TextAnalyzer.tokenize(recipe.getTitle()));
+        if (recipe.getCategories() != null) {
+            for (RecipeCategoryDTO category : recipe.getCategories()) {
+                addCandidate(candidates, SuggestionDTO.Type.CATEGORY, category.getName(), TextAnalyzer.tokenize(category.getName()));
+            }
+        }
+        if (recipe.getIngredients() != null) {
+            for (IngredientDTO ingredient : recipe.getIngredients()) {
+                List<String> terms = IngredientNormalizer.canonicalTerms(ingredient.getItem());
+                addCandidate(candidates, SuggestionDTO.Type.INGREDIENT, String.join(" ", terms), terms);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipe.getId());
+
+            List<Suggestion> recipeSuggestions = new ArrayList<>(candidates.size());
+            for (Map.Entry<String, Suggestion> candidate : candidates.entrySet()) {
+                Suggestion suggestion = suggestionsByKey.get(candidate.getKey());
+                if (suggestion == null) {
+                    suggestion = candidate.getValue();
+                    suggestionsByKey.put(candidate.getKey(), suggestion);
+                    for (String key : suggestion.keys) {
+                        insert(key).terminal().add(suggestion);
+                    }
+                }
+                suggestion.recipeCount++;
+                refresh(suggestion);
+                recipeSuggestions.add(suggestion);
+            }
+            suggestionsByRecipeId.put(recipe.getId(), recipeSuggestions);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            suggestionsByKey.clear();
+            suggestionsByRecipeId.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns up to limit suggestions starting with the prefix at a word boundary, most Recipes first, shorter completions first on ties
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        List<String> terms = TextAnalyzer.tokenize(prefix);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String key = String.join(" ", terms);
+        // A trailing separator completes the last word, "choc " no longer suggests "Chocolate"
+        if (!Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1))) {
+            key += " ";
+        }
+
+        lock.readLock().lock();
+        try {
+            Node start = locate(key);
+            if (start == null) {
+                return Collections.emptyList();
+            }
+
+            List<SuggestionDTO> suggestions = new ArrayList<>(limit);
+            Set<Suggestion> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            PriorityQueue<Candidate> queue = new PriorityQueue<>();
+            long sequence = 0;
+            queue.add(new Candidate(start.maxCount, sequence++, start, null));
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.suggestion != null) {
+                    if (seen.add(candidate.suggestion)) {
+                        suggestions.add(candidate.suggestion.toDTO());
+                    }
+                    continue;
+                }
+                // The suggestions of a node rank before the longer completions below it with the same count
+                for (Suggestion suggestion : candidate.node.suggestions) {
+                    queue.add(new Candidate(suggestion.recipeCount, sequence++, null, suggestion));
+                }
+                for (Node child : candidate.node.children) {
+                    queue.add(new Candidate(child.maxCount, sequence++, child, null));
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addCandidate(Map<String, Suggestion> candidates, SuggestionDTO.Type type, String text, List<String> terms) {
+        if (text == null || terms.isEmpty()) {
+            return;
+        }
+        String key = String.join(" ", terms);
+        candidates.computeIfAbsent(type.name() + ":" + key, identity -> {
+            // One key from the start of each word
+            String[] keys = new String[terms.size()];
+            int offset = 0;
+            for (int i = 0; i < terms.size(); i++) {
+                keys[i] = key.substring(offset);
+                offset += terms.get(i).length() + 1;
+            }
+            return new Suggestion(type, text.trim(), keys);
+        });
+    }
+
+    // Must be called with the write lock held
+    private void removeRecipe(Long recipeId) {
+        List<Suggestion> recipeSuggestions = suggestionsByRecipeId.remove(recipeId);
+        if (recipeSuggestions == null) {
+            return;
+        }
+
+        for (Suggestion suggestion : recipeSuggestions) {
+            suggestion.recipeCount--;
+            if (suggestion.recipeCount > 0) {
+                refresh(suggestion);
+                continue;
+            }
+
+            suggestionsByKey.remove(suggestion.type.name() + ":" + suggestion.keys[0]);
+            for (String key : suggestion.keys) {
+                Path path = find(key);
+                if (path != null) {
+                    path.terminal().suggestions.remove(suggestion);
+                    path.prune();
+                    path.refresh();
+                }
+            }
+        }
+    }
+
+    // Propagates a new count of the suggestion to the maximum counts above it
+    private void refresh(Suggestion suggestion) {
+        for (String key : suggestion.keys) {
+            Path path = find(key);
+            if (path != null) {
+                path.refresh();
+            }
+        }
+    }
+
+    // Returns the nodes from the root to the one holding the key, creating and splitting nodes as needed
+    private Path insert(String key) {
+        Path path = new Path();
+        path.add(root);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int childIndex = node.findChild(key.charAt(position));
+            if (childIndex < 0) {
+                Node leaf = new Node(key.substring(position));
+                node.addChild(leaf);
+                path.add(leaf);
+                return path;
+            }
+
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[]{child};
+                middle.maxCount = child.maxCount;
+                node.children[childIndex] = middle;
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            position += common;
+        }
+        return path;
+    }
+
+    private Path find(String key) {
+        Path path = new Path();
+        path.add(root);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int childIndex = node.findChild(key.charAt(position));
+            if (childIndex < 0) {
+                return null;
+            }
+            Node child = node.children[childIndex];
+            if (!key.startsWith(child.label, position)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            position += child.label.length();
+        }
+        return path;
+    }
+
+    // Returns the node below which every key starts with the prefix, which may end halfway along its edge
+    private Node locate(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            int childIndex = node.findChild(prefix.charAt(position));
+            if (childIndex < 0) {
+                return null;
+            }
+            Node child = node.children[childIndex];
+            int common = commonPrefixLength(child.label, prefix, position);
+            if (position + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int position) {
+        int length = Math.min(label.length(), key.length() - position);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static class Suggestion {
+        private final SuggestionDTO.Type type;
+        private final String text;
+        private final String[] keys;
+        private int recipeCount;
+
+        private Suggestion(SuggestionDTO.Type type, String text, String[] keys) {
+            this.type = type;
+            this.text = text;
+            this.keys = keys;
+        }
+
+        private SuggestionDTO toDTO() {
+            return SuggestionDTO.builder()
+                    .text(text)
+                    .type(type)
+                    .recipeCount(recipeCount)
+                    .build();
+        }
+    }
+
+    private static class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        // Sorted by the first character of their label, which is unique among siblings
+        private Node[] children = NO_CHILDREN;
+        // Most nodes are inner nodes without suggestions of their own, their list is only created when needed
+        private List<Suggestion> suggestions = Collections.emptyList();
+        private int maxCount;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int findChild(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleFirst = children[middle].label.charAt(0);
+                if (middleFirst < first) {
+                    low = middle + 1;
+                } else if (middleFirst > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(Node child) {
+            int insertionPoint = -(findChild(child.label.charAt(0)) + 1);
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+            newChildren[insertionPoint] = child;
+            System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+            children = newChildren;
+        }
+
+        private void removeChild(Node child) {
+            int index = findChild(child.label.charAt(0));
+            if (index >= 0 && children[index] == child) {
+                Node[] newChildren = Arrays.copyOf(children, children.length - 1);
+                System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+                children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+            }
+        }
+
+        private void add(Suggestion suggestion) {
+            if (suggestions.isEmpty()) {
+                suggestions = new ArrayList<>(1);
+            }
+            suggestions.add(suggestion);
+        }
+
+        private void recomputeMaxCount() {
+            int max = 0;
+            for (Suggestion suggestion : suggestions) {
+                max = Math.max(max, suggestion.recipeCount);
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.maxCount);
+            }
+            maxCount = max;
+        }
+    }
+
+    // The nodes from the root down to the one holding a key
+    private static class Path {
+        private final List<Node> nodes = new ArrayList<>();
+
+        private void add(Node node) {
+            nodes.add(node);
+        }
+
+        private Node terminal() {
+            return nodes.get(nodes.size() - 1);
+        }
+
+        private void refresh() {
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                nodes.get(i).recomputeMaxCount();
+            }
+        }
+
+        // Drops the nodes left without suggestions and children, from the bottom up
+        private void prune() {
+            for (int i = nodes.size() - 1; i > 0; i--) {
+                Node node = nodes.get(i);
+                if (!node.suggestions.isEmpty() || node.children.length > 0) {
+                    break;
+                }
+                nodes.get(i - 1).removeChild(node);
+                nodes.remove(i);
+            }
+        }
+    }
+
+    private static class Candidate implements Comparable<Candidate> {
+        private final int score;
+        private final long sequence;
+        private final Node node;
+        private final Suggestion suggestion;
+
+        private Candidate(int score, long sequence, Node node, Suggestion suggestion) {
+            this.score = score;
+            this.sequence = sequence;
+            this.node = node;
+            this.suggestion = suggestion;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Integer.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.orsolon.recipewebservice.service.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+// A Recipe sharing ingredients with another one, with the Jaccard similarity of their canonical ingredients
+@Value
+public class SimilarRecipe {
+    Long recipeId;
+    double similarity;
+    List<String> sharedIngredients;
+}
@@ -0,0 +1,67 @@
+package com.orsolon.recipewebservice.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+    Turns text into the terms the in-memory indexes work with: lowercase, accent-folded runs of letters and digits.
+    Indexed text and queries must go through the same analysis, so that "Crème Brûlée" and "creme brulee" meet.
+ */
+public final class TextAnalyzer {
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String folded = fold(text);
+        int tokenStart = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                tokens.add(folded.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+        if (tokenStart >= 0) {
+            tokens.add(folded.substring(tokenStart));
+        }
+        return tokens;
+    }
+
+    // Lowercases the text and strips diacritics, leaving word boundaries untouched
+    public static String fold(String text) {
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+
+        // Compatibility decomposition also splits ligatures and full-width forms into their plain letters
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -12,9 +12,31 @@ public class CommonValidatorHelper {
         if (input == null) {
             return null;
         }
+        if (!needsCleaning(input)) {
+            // Jsoup would return the input unchanged, skip building a document for it
+            return input.trim();
+        }
         return Jsoup.clean(input, Safelist.none()).trim();
     }
 
+    /*
+        Single pass over the input telling whether Jsoup.clean could change it beyond trimming.
+        That is the case for markup and entities ('<', '>', '&'), characters Jsoup escapes (non-breaking space, control characters),
+        runs of whitespace, which Jsoup collapses, and surrogates, which are left to Jsoup to keep this check simple.
+     */
+    static boolean needsCleaning(String input) {
+        char previous = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '<' || c == '>' || c == '&' || c == '\u00A0' || c < ' ' || (c >= '\u007F' && c <= '\u009F')
+                    || Character.isSurrogate(c) || (c == ' ' && previous == ' ')) {
+                return true;
+            }
+            previous = c;
+        }
+        return false;
+    }
+
     public static <T> List<T> castList(List<?> list, Class<T> elementType) {
         if (list.stream().allMatch(elementType::isInstance)) {
             return (List<T>) list;
@@ -22,7 +22,8 @@ public class RecipeValidatorHelper {
         // Build the Map with all Recipe fields
         Map<String, Object> fields = new HashMap<>();
         fields.put("title", recipeDTO.getTitle());
-        fields.put("yield", recipeDTO.getYield());
+        // A missing yield counts as 0
+        fields.put("yield", recipeDTO.getYield() == null ? 0 : recipeDTO.getYield());
         fields.put("categories", recipeDTO.getCategories());
         fields.put("ingredients", recipeDTO.getIngredients());
         fields.put("steps", recipeDTO.getSteps());
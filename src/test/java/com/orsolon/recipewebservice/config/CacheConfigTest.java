@@ -0,0 +1,102 @@
+package com.orsolon.recipewebservice.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Cache Config Test")
+public class CacheConfigTest {
+
+    @Test
+    @DisplayName("Cache manager should create Caffeine caches recording statistics")
+    public void cacheManager_ShouldCreateCaffeineCachesRecordingStatistics() {
+        CacheManager cacheManager = createCacheManager(new MockEnvironment());
+
+        Cache cache = cacheManager.getCache(CacheConfig.RECIPES_BY_ID);
+        assertInstanceOf(CaffeineCache.class, cache);
+
+        cache.get(1L);
+        cache.put(1L, "Recipe");
+        cache.get(1L);
+
+        CacheStats stats = ((CaffeineCache) cache).getNativeCache().stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    @DisplayName("Cache manager should replace a disabled cache with a no-op cache")
+    public void cacheManager_WhenCacheDisabled_ShouldUseNoOpCache() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("recipe.cache." + CacheConfig.CATEGORIES + ".enabled", "false");
+        CacheManager cacheManager = createCacheManager(environment);
+
+        Cache cache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        assertInstanceOf(NoOpCache.class, cache);
+
+        cache.put("key", "value");
+        assertNull(cache.get("key"));
+
+        assertInstanceOf(CaffeineCache.class, cacheManager.getCache(CacheConfig.CATEGORIES_BY_ID));
+    }
+
+    @Test
+    @DisplayName("Cache manager should apply a per-cache spec")
+    public void cacheManager_WithPerCacheSpec_ShouldApplyIt() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("recipe.cache." + CacheConfig.RECIPES_BY_TITLE + ".spec", "maximumSize=1,recordStats");
+        CacheManager cacheManager = createCacheManager(environment);
+
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.RECIPES_BY_TITLE);
+        assertEquals(1L, cache.getNativeCache().policy().eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    @DisplayName("Cache should never share a cached DTO with its callers")
+    public void cache_WhenCallerChangesDTO_ShouldKeepTheCachedOneUnchanged() {
+        CacheManager cacheManager = createCacheManager(new MockEnvironment());
+        Cache cache = cacheManager.getCache(CacheConfig.RECIPES_BY_ID);
+
+        RecipeDTO recipe = RecipeDTO.builder()
+                .id(1L)
+                .title("Amaretto Cake")
+                .categories(new ArrayList<>(List.of(RecipeCategoryDTO.builder().id(1L).name("Cakes").build())))
+                .build();
+        cache.put(1L, recipe);
+        // Changing the stored instance after the put
+        recipe.setTitle("Changed");
+
+        RecipeDTO firstRead = cache.get(1L, RecipeDTO.class);
+        // Changing a read instance
+        firstRead.getCategories().get(0).setName("Changed");
+        firstRead.getCategories().add(RecipeCategoryDTO.builder().id(2L).name("Desserts").build());
+
+        RecipeDTO secondRead = cache.get(1L, RecipeDTO.class);
+        assertNotSame(firstRead, secondRead);
+        assertEquals("Amaretto Cake", secondRead.getTitle());
+        assertEquals(List.of(RecipeCategoryDTO.builder().id(1L).name("Cakes").build()), secondRead.getCategories());
+    }
+
+    // Helper method to create an initialized cache manager, as the container would
+    private CacheManager createCacheManager(MockEnvironment environment) {
+        SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(environment);
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+}
@@ -0,0 +1,63 @@
+package com.orsolon.recipewebservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Connection Permit DataSource Test")
+public class ConnectionPermitDataSourceTest {
+
+    private DataSource targetDataSource;
+    private ConnectionPermitDataSource connectionPermitDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Mock
+        this.targetDataSource = Mockito.mock(DataSource.class);
+        Mockito.when(targetDataSource.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+
+        this.connectionPermitDataSource = new ConnectionPermitDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Get Connection beyond the permits should time out without reaching the target")
+    public void getConnection_WhenNoPermitLeft_ShouldTimeOut() throws SQLException {
+        connectionPermitDataSource.getConnection();
+        connectionPermitDataSource.getConnection();
+
+        assertEquals(0, connectionPermitDataSource.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, () -> connectionPermitDataSource.getConnection());
+        Mockito.verify(targetDataSource, Mockito.times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Closing a Connection should give its permit back once")
+    public void close_WhenCalledTwice_ShouldReleaseOnePermit() throws SQLException {
+        Connection connection = connectionPermitDataSource.getConnection();
+        connectionPermitDataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, connectionPermitDataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("A failing target should not keep the permit")
+    public void getConnection_WhenTargetFails_ShouldReleasePermit() throws SQLException {
+        Mockito.when(targetDataSource.getConnection()).thenThrow(new SQLException("Database down"));
+
+        assertThrows(SQLException.class, () -> connectionPermitDataSource.getConnection());
+        assertEquals(2, connectionPermitDataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,156 @@
+package com.orsolon.recipewebservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    Floods the server with requests waiting for a database slowed down by QUERY_LATENCY per statement, and measures meanwhile
+    the latency of requests served from memory (suggestions). Left out of the regular build, run with: mvn -Pload-test test
+    Virtual threads are on by default when running on Java 21 or later; -Dload.virtual-threads=false gives the platform thread
+    pool figures to compare with, where the in-memory requests wait for a pool thread behind the database requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=${load.virtual-threads:true}",
+        "server.tomcat.threads.max=100",
+        "spring.datasource.hikari.maximum-pool-size=10"})
+@Tag("load")
+@Slf4j
+@DisplayName("Virtual Thread Load Test")
+public class VirtualThreadLoadTest {
+
+    private static final Duration QUERY_LATENCY = Duration.ofMillis(20);
+    private static final int DATABASE_REQUESTS = 1000;
+    private static final int IN_MEMORY_REQUESTS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    @DisplayName("Requests served from memory should not queue behind requests waiting for a slow database")
+    public void load_WithSlowDatabase_ShouldKeepServingInMemoryRequests() throws Exception {
+        // Before Java 21 the property is ignored and requests run on the platform thread pool
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newCachedThreadPool())
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> databaseResponses = IntStream.range(0, DATABASE_REQUESTS)
+                .mapToObj(i -> client.sendAsync(request("/api/v1/recipes?page=0&size=20"), HttpResponse.BodyHandlers.discarding()))
+                .toList();
+
+        // Let the database requests take every connection and line up before measuring the others
+        Thread.sleep(200);
+        long[] latencies = new long[IN_MEMORY_REQUESTS];
+        List<CompletableFuture<Void>> inMemoryResponses = IntStream.range(0, IN_MEMORY_REQUESTS)
+                .mapToObj(i -> {
+                    long sent = System.nanoTime();
+                    return client.sendAsync(request("/api/v1/suggest?prefix=ch"), HttpResponse.BodyHandlers.discarding())
+                            .thenAccept(response -> {
+                                assertEquals(200, response.statusCode());
+                                latencies[i] = System.nanoTime() - sent;
+                            });
+                })
+                .toList();
+
+        CompletableFuture.allOf(inMemoryResponses.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        for (CompletableFuture<HttpResponse<Void>> response : databaseResponses) {
+            assertEquals(200, response.get(2, TimeUnit.MINUTES).statusCode());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(latencies[IN_MEMORY_REQUESTS * 99 / 100 - 1]);
+        log.info("{} threads: {} database requests/s, in-memory requests p99 {} ms",
+                virtualThreads ? "Virtual" : "Platform", Math.round(DATABASE_REQUESTS / seconds), p99Millis);
+        if (virtualThreads) {
+            assertTrue(p99Millis < 1000, "In-memory requests p99 was " + p99Millis + " ms");
+        }
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    @TestConfiguration
+    static class DatabaseLatencyConfig {
+
+        // Wraps the pool before anything else does, so the latency is spent holding a pooled connection
+        @Bean
+        static BeanPostProcessor databaseLatencyPostProcessor() {
+            return new DatabaseLatencyPostProcessor();
+        }
+    }
+
+    static class DatabaseLatencyPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return slowed(super.getConnection());
+                    }
+                };
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        private static Connection slowed(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(VirtualThreadLoadTest.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(QUERY_LATENCY.toMillis());
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
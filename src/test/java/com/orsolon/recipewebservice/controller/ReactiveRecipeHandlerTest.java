@@ -0,0 +1,103 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
+import com.orsolon.recipewebservice.service.ReactiveRecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Reactive Recipe Handler Test")
+public class ReactiveRecipeHandlerTest {
+
+    private ReactiveRecipeService reactiveRecipeServiceMock;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setup() {
+        reactiveRecipeServiceMock = mock(ReactiveRecipeService.class);
+        webTestClient = WebTestClient.bindToRouterFunction(new ReactiveRecipeHandler(reactiveRecipeServiceMock).routes()).build();
+    }
+
+    @Test
+    @DisplayName("Find All - Should stream the Recipes as a JSON array")
+    public void findAll_ShouldReturnJsonArray() {
+        when(reactiveRecipeServiceMock.findAll()).thenReturn(Flux.just(recipe(1L, "Apple Pie"), recipe(2L, "Banana Bread")));
+
+        webTestClient.get().uri("/api/v1/recipes")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].title").isEqualTo("Banana Bread");
+    }
+
+    @Test
+    @DisplayName("Find All - Should stream one Recipe per line when NDJSON is accepted")
+    public void findAll_WhenNdjsonAccepted_ShouldReturnOneRecipePerLine() {
+        when(reactiveRecipeServiceMock.findAll()).thenReturn(Flux.just(recipe(1L, "Apple Pie"), recipe(2L, "Banana Bread")));
+
+        List<String> titles = webTestClient.get().uri("/api/v1/recipes")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(RecipeDTO.class)
+                .getResponseBody()
+                .map(RecipeDTO::getTitle)
+                .collectList()
+                .block();
+
+        assertEquals(List.of("Apple Pie", "Banana Bread"), titles);
+    }
+
+    @Test
+    @DisplayName("Find by ID - Should return the Recipe, Not Found for an unknown one, and Bad Request for an ID that is not a number")
+    public void findById_ShouldMapErrorsToStatuses() {
+        when(reactiveRecipeServiceMock.findById(1L)).thenReturn(Mono.just(recipe(1L, "Apple Pie")));
+        when(reactiveRecipeServiceMock.findById(99L)).thenReturn(Mono.error(new RecipeNotFoundException("Recipe not found with id: 99")));
+
+        webTestClient.get().uri("/api/v1/recipes/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("Apple Pie");
+
+        webTestClient.get().uri("/api/v1/recipes/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Recipe not found with id: 99")
+                .jsonPath("$.path").isEqualTo("/api/v1/recipes/99");
+
+        webTestClient.get().uri("/api/v1/recipes/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Search - Missing query should return Bad Request")
+    public void search_WhenQueryMissing_ShouldReturnBadRequest() {
+        when(reactiveRecipeServiceMock.search(null)).thenThrow(new InvalidFieldValueException("Invalid value: null"));
+
+        webTestClient.get().uri("/api/v1/recipes/search")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private static RecipeDTO recipe(Long id, String title) {
+        return RecipeDTO.builder().id(id).title(title).yield(4).build();
+    }
+}
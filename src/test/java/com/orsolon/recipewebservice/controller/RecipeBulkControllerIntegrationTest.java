@@ -0,0 +1,267 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orsolon.recipewebservice.dto.RecipeBulkItemResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.GlobalExceptionHandler;
+import com.orsolon.recipewebservice.model.Recipe;
+import com.orsolon.recipewebservice.model.RecipeCategory;
+import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
+import com.orsolon.recipewebservice.service.DTOConverter;
+import com.orsolon.recipewebservice.service.RecipeBulkServiceImpl;
+import com.orsolon.recipewebservice.service.RecipeCategoryResolver;
+import com.orsolon.recipewebservice.service.RecipeServiceImpl;
+import com.orsolon.recipewebservice.util.TestDataUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+@Transactional
+@DisplayName("Recipe Bulk Controller Integration Test")
+public class RecipeBulkControllerIntegrationTest {
+
+    private final RecipeBulkServiceImpl recipeBulkService;
+    private final RecipeServiceImpl recipeService;
+    private final RecipeCategoryRepository recipeCategoryRepository;
+    private final RecipeCategoryResolver recipeCategoryResolver;
+    private final PlatformTransactionManager transactionManager;
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public RecipeBulkControllerIntegrationTest(RecipeBulkServiceImpl recipeBulkService, RecipeServiceImpl recipeService, RecipeCategoryRepository recipeCategoryRepository,
+                                               RecipeCategoryResolver recipeCategoryResolver, PlatformTransactionManager transactionManager) {
+        this.recipeBulkService = recipeBulkService;
+        this.recipeService = recipeService;
+        this.recipeCategoryRepository = recipeCategoryRepository;
+        this.recipeCategoryResolver = recipeCategoryResolver;
+        this.transactionManager = transactionManager;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.objectMapper = new ObjectMapper();
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new RecipeBulkController(recipeBulkService), new GlobalExceptionHandler()).build();
+    }
+
+    @Test
+    @DisplayName("Create All - Empty List should return Status Bad Request")
+    public void createAll_WhenEmptyList_ShouldReturnStatusBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.emptyList())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Create All - Valid Recipes should be created and reported in request order")
+    public void createAll_WhenValidRecipes_ShouldCreateAndReportInRequestOrder() throws Exception {
+        List<RecipeDTO> mockRecipeList = TestDataUtil.createRecipeDTOList(false);
+
+        mockMvc.perform(post("/api/v1/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(mockRecipeList)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.created").value(mockRecipeList.size()))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].title").value(mockRecipeList.get(0).getTitle()))
+                .andExpect(jsonPath("$.items[4].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[4].title").value(mockRecipeList.get(4).getTitle()));
+    }
+
+    @Test
+    @DisplayName("Create All - Invalid and conflicting Recipes should be reported without preventing the others")
+    public void createAll_WhenInvalidAndConflictingRecipes_ShouldReportThemAndCreateTheOthers() throws Exception {
+        List<RecipeDTO> mockRecipeList = TestDataUtil.createRecipeDTOList(false);
+
+        // Already in the database
+        recipeService.create(mockRecipeList.get(0));
+
+        List<RecipeDTO> request = new ArrayList<>(mockRecipeList);
+        // Invalid yield
+        request.get(1).setYield(-1);
+        // Same title as a previous recipe of the request
+        request.add(RecipeDTO.builder()
+                .title(mockRecipeList.get(2).getTitle())
+                .categories(mockRecipeList.get(2).getCategories())
+                .ingredients(mockRecipeList.get(2).getIngredients())
+                .steps(mockRecipeList.get(2).getSteps())
+                .build());
+
+        mockMvc.perform(post("/api/v1/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.items[0].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.items[2].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[3].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[4].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[5].status").value("CONFLICT"));
+    }
+
+    @Test
+    @DisplayName("Create All - Recipes or Ingredients with an ID should be reported as invalid")
+    public void createAll_WhenIdsGiven_ShouldReportThemAsInvalid() throws Exception {
+        List<RecipeDTO> request = TestDataUtil.createRecipeDTOList(false);
+        // Recipe ID
+        request.get(0).setId(1000L);
+        // Ingredient ID, the other Recipes share the generated Ingredient list
+        request.get(1).setIngredients(TestDataUtil.createIngredientDTOList(true));
+
+        mockMvc.perform(post("/api/v1/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(request.size() - 2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("INVALID"))
+                .andExpect(jsonPath("$.items[0].message").value("Recipe IDs are generated and cannot be supplied."))
+                .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.items[1].message").value("Ingredient IDs are generated and cannot be supplied."))
+                .andExpect(jsonPath("$.items[2].status").value("CREATED"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Create All - A failing chunk should not leave the categories it created behind")
+    public void createAll_WhenChunkFails_ShouldNotLeaveItsCategories() {
+        // The chunk transactions are real ones here, the Recipe insert fails after the new category was inserted
+        RecipeRepository failingRecipeRepository = Mockito.mock(RecipeRepository.class);
+        Mockito.when(failingRecipeRepository.findExistingTitles(Mockito.anyCollection())).thenReturn(List.of());
+        Mockito.when(failingRecipeRepository.saveAll(Mockito.<Recipe>anyIterable())).thenThrow(new DataIntegrityViolationException("Recipe insert failed"));
+        ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        RecipeBulkServiceImpl failingRecipeBulkService = new RecipeBulkServiceImpl(failingRecipeRepository, recipeCategoryRepository, recipeCategoryResolver,
+                new DTOConverter(), transactionManager, eventPublisher, 500, 1);
+        RecipeDTO recipeDTO = TestDataUtil.createRecipeDTOList(false).get(0);
+        recipeDTO.setCategories(List.of(RecipeCategoryDTO.builder().name("Rolled Back Category").build()));
+
+        RecipeBulkResultDTO result = failingRecipeBulkService.createAll(List.of(recipeDTO));
+
+        assertEquals(RecipeBulkItemResultDTO.Status.FAILED, result.getItems().get(0).getStatus());
+        assertTrue(recipeCategoryRepository.findByNormalizedName(RecipeCategory.normalizeName("Rolled Back Category")).isEmpty());
+        assertNull(recipeCategoryResolver.find("Rolled Back Category"));
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Create All - A failing chunk should be retried one Recipe at a time, only failing the Recipe that cannot be inserted")
+    public void createAll_WhenChunkFails_ShouldRetryEachRecipeAloneAndOnlyFailTheFailingOne() {
+        // Only the Recipe insert is made to fail, the categories of every Recipe already exist
+        List<RecipeDTO> recipeDTOs = TestDataUtil.createRecipeDTOList(false).subList(0, 3);
+        String failingTitle = recipeDTOs.get(1).getTitle();
+        AtomicLong nextId = new AtomicLong();
+        RecipeRepository failingRecipeRepository = Mockito.mock(RecipeRepository.class);
+        Mockito.when(failingRecipeRepository.findExistingTitles(Mockito.anyCollection())).thenReturn(List.of());
+        Mockito.when(failingRecipeRepository.saveAll(Mockito.<Recipe>anyIterable())).thenAnswer(invocation -> {
+            List<Recipe> recipes = new ArrayList<>();
+            invocation.<Iterable<Recipe>>getArgument(0).forEach(recipes::add);
+            if (recipes.stream().anyMatch(recipe -> recipe.getTitle().equals(failingTitle))) {
+                throw new DataIntegrityViolationException("Recipe insert failed");
+            }
+            recipes.forEach(recipe -> recipe.setId(nextId.incrementAndGet()));
+            return recipes;
+        });
+        RecipeCategoryResolver existingCategoryResolver = Mockito.mock(RecipeCategoryResolver.class);
+        Mockito.when(existingCategoryResolver.find(Mockito.anyString()))
+                .thenAnswer(invocation -> RecipeCategoryDTO.builder().id(1L).name(invocation.getArgument(0)).build());
+        RecipeBulkServiceImpl failingRecipeBulkService = new RecipeBulkServiceImpl(failingRecipeRepository, recipeCategoryRepository, existingCategoryResolver,
+                new DTOConverter(), transactionManager, Mockito.mock(ApplicationEventPublisher.class), 500, 1);
+
+        RecipeBulkResultDTO result = failingRecipeBulkService.createAll(recipeDTOs);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(RecipeBulkItemResultDTO.Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(RecipeBulkItemResultDTO.Status.FAILED, result.getItems().get(1).getStatus());
+        assertEquals("Recipe insert failed", result.getItems().get(1).getMessage());
+        assertEquals(RecipeBulkItemResultDTO.Status.CREATED, result.getItems().get(2).getStatus());
+        // Once for the chunk, then once for each of its Recipes
+        Mockito.verify(failingRecipeRepository, Mockito.times(4)).saveAll(Mockito.<Recipe>anyIterable());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Create All - Recipes validated in parallel slices should each be reported at their own index")
+    public void createAll_WhenValidatedInParallel_ShouldReportEachRecipeAtItsIndex() {
+        List<RecipeDTO> recipeDTOs = new ArrayList<>();
+        for (int index = 0; index < 250; index++) {
+            RecipeDTO recipeDTO = TestDataUtil.createRecipeDTOList(false).get(0);
+            recipeDTO.setTitle("Parallel Recipe " + index);
+            // Every third Recipe is invalid
+            recipeDTO.setId(index % 3 == 0 ? (long) index + 1 : null);
+            recipeDTOs.add(recipeDTO);
+        }
+        AtomicLong nextId = new AtomicLong();
+        RecipeRepository savingRecipeRepository = Mockito.mock(RecipeRepository.class);
+        Mockito.when(savingRecipeRepository.findExistingTitles(Mockito.anyCollection())).thenReturn(List.of());
+        Mockito.when(savingRecipeRepository.saveAll(Mockito.<Recipe>anyIterable())).thenAnswer(invocation -> {
+            List<Recipe> recipes = new ArrayList<>();
+            invocation.<Iterable<Recipe>>getArgument(0).forEach(recipes::add);
+            recipes.forEach(recipe -> recipe.setId(nextId.incrementAndGet()));
+            return recipes;
+        });
+        RecipeCategoryResolver existingCategoryResolver = Mockito.mock(RecipeCategoryResolver.class);
+        Mockito.when(existingCategoryResolver.find(Mockito.anyString()))
+                .thenAnswer(invocation -> RecipeCategoryDTO.builder().id(1L).name(invocation.getArgument(0)).build());
+        RecipeBulkServiceImpl parallelRecipeBulkService = new RecipeBulkServiceImpl(savingRecipeRepository, recipeCategoryRepository, existingCategoryResolver,
+                new DTOConverter(), transactionManager, Mockito.mock(ApplicationEventPublisher.class), 500, 4);
+        try {
+            RecipeBulkResultDTO result = parallelRecipeBulkService.createAll(recipeDTOs);
+
+            assertEquals(166, result.getCreated());
+            assertEquals(84, result.getRejected());
+            for (int index = 0; index < recipeDTOs.size(); index++) {
+                RecipeBulkItemResultDTO item = result.getItems().get(index);
+                assertEquals(index, item.getIndex());
+                assertEquals("Parallel Recipe " + index, item.getTitle());
+                assertEquals(index % 3 == 0 ? RecipeBulkItemResultDTO.Status.INVALID : RecipeBulkItemResultDTO.Status.CREATED, item.getStatus());
+            }
+        } finally {
+            parallelRecipeBulkService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.service.RecipeBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Recipe Bulk Controller Test")
+public class RecipeBulkControllerTest {
+
+    private RecipeBulkService recipeBulkServiceMock;
+    private RecipeBulkController recipeBulkController;
+
+    @BeforeEach
+    public void setup() {
+        recipeBulkServiceMock = mock(RecipeBulkService.class);
+        recipeBulkController = new RecipeBulkController(recipeBulkServiceMock);
+    }
+
+    @Test
+    @DisplayName("Create All - Should return Result Report and Status OK")
+    public void createAll_ShouldReturnResultReportAndStatusOK() {
+        List<RecipeDTO> recipes = List.of(new RecipeDTO(), new RecipeDTO());
+        RecipeBulkResultDTO result = RecipeBulkResultDTO.builder()
+                .created(2)
+                .rejected(0)
+                .items(Collections.emptyList())
+                .build();
+
+        when(recipeBulkServiceMock.createAll(recipes)).thenReturn(result);
+
+        ResponseEntity<RecipeBulkResultDTO> responseEntity = recipeBulkController.createAll(recipes);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(result, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Create All - Should return Status Bad Request")
+    public void createAll_ShouldReturnStatusBadRequest() {
+        List<RecipeDTO> recipes = Collections.emptyList();
+
+        when(recipeBulkServiceMock.createAll(recipes)).thenThrow(new InvalidFieldValueException("Recipes cannot be empty."));
+
+        assertThrows(InvalidFieldValueException.class, () -> recipeBulkController.createAll(recipes));
+    }
+}
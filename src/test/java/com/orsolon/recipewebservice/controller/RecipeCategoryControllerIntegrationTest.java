@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.type.CollectionType;
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
 import com.orsolon.recipewebservice.exception.GlobalExceptionHandler;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
 import com.orsolon.recipewebservice.service.RecipeCategoryServiceImpl;
 import com.orsolon.recipewebservice.service.RecipeServiceImpl;
 import com.orsolon.recipewebservice.util.TestDataUtil;
@@ -27,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.is;
@@ -45,17 +47,20 @@ public class RecipeCategoryControllerIntegrationTest {
 
     private final RecipeCategoryServiceImpl recipeCategoryService;
     private final RecipeServiceImpl recipeService;
+    private final CatalogChangeTracker catalogChangeTracker;
     private MockMvc mockMvc;
 
     @Autowired
-    public RecipeCategoryControllerIntegrationTest(RecipeCategoryServiceImpl recipeCategoryService, RecipeServiceImpl recipeService) {
+    public RecipeCategoryControllerIntegrationTest(RecipeCategoryServiceImpl recipeCategoryService, RecipeServiceImpl recipeService,
+                                                   CatalogChangeTracker catalogChangeTracker) {
         this.recipeCategoryService = recipeCategoryService;
         this.recipeService = recipeService;
+        this.catalogChangeTracker = catalogChangeTracker;
     }
 
     @BeforeEach
     public void setUp() {
-        this.mockMvc = MockMvcBuilders.standaloneSetup(new RecipeCategoryController(recipeCategoryService), new GlobalExceptionHandler()).build();
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new RecipeCategoryController(recipeCategoryService, catalogChangeTracker), new GlobalExceptionHandler()).build();
     }
 
     @Test
@@ -63,9 +68,14 @@ public class RecipeCategoryControllerIntegrationTest {
     public void findAll_ShouldReturnCategoriesAndStatusOK() throws Exception {
         List<RecipeDTO> mockRecipeList = setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
 
+        // Categories are unique by name, so recipes sharing a category name share the same category
         List<RecipeCategoryDTO> mockCategoryList = mockRecipeList.stream()
                 .flatMap(recipe -> recipe.getCategories().stream())
+                .distinct()
                 .sorted(Comparator.comparing(RecipeCategoryDTO::getName)).collect(Collectors.toList());
+        Set<Long> mockCategoryIds = mockCategoryList.stream()
+                .map(RecipeCategoryDTO::getId)
+                .collect(Collectors.toSet());
 
         MvcResult response = mockMvc.perform(get("/api/v1/categories")
                         .accept(MediaType.APPLICATION_JSON))
@@ -80,13 +90,35 @@ public class RecipeCategoryControllerIntegrationTest {
         CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, RecipeCategoryDTO.class);
         List<RecipeCategoryDTO> responseCategories = objectMapper.readValue(jsonResponse, listType);
 
+        // Categories are committed independently of the test transaction, so other tests may have left some behind
+        List<RecipeCategoryDTO> responseMockCategories = responseCategories.stream()
+                .filter(category -> mockCategoryIds.contains(category.getId()))
+                .collect(Collectors.toList());
 
+        assertEquals(mockCategoryList.size(), responseMockCategories.size());
         for (int i=0;i<mockCategoryList.size(); i++) {
-            assertEquals(mockCategoryList.get(i).getId(), responseCategories.get(i).getId());
-            assertEquals(mockCategoryList.get(i).getName(), responseCategories.get(i).getName());
+            assertEquals(mockCategoryList.get(i).getId(), responseMockCategories.get(i).getId());
+            assertEquals(mockCategoryList.get(i).getName(), responseMockCategories.get(i).getName());
         }
     }
 
+    @Test
+    @DisplayName("Create with a category name differing only in case and spacing should reuse the existing category")
+    public void create_WhenCategoryNameDiffersOnlyInCaseAndSpacing_ShouldReuseExistingCategory() {
+        List<RecipeDTO> mockRecipeList = TestDataUtil.createRecipeDTOList(false);
+        RecipeDTO firstRecipe = mockRecipeList.get(0);
+        RecipeDTO secondRecipe = mockRecipeList.get(1);
+
+        firstRecipe.setCategories(new ArrayList<>(List.of(RecipeCategoryDTO.builder().name("Slow Cooker").build())));
+        secondRecipe.setCategories(new ArrayList<>(List.of(RecipeCategoryDTO.builder().name("  slow   COOKER ").build())));
+
+        RecipeDTO createdFirstRecipe = recipeService.create(firstRecipe);
+        RecipeDTO createdSecondRecipe = recipeService.create(secondRecipe);
+
+        assertEquals(createdFirstRecipe.getCategories().get(0).getId(), createdSecondRecipe.getCategories().get(0).getId());
+        assertEquals("Slow Cooker", createdSecondRecipe.getCategories().get(0).getName());
+    }
+
     @Test
     @DisplayName("Find by ID when non-existing ID should return status not found")
     public void findById_WhenNonExistingId_ShouldReturnStatusNotFound() throws Exception {
@@ -2,6 +2,8 @@ package com.orsolon.recipewebservice.controller;
 
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
 import com.orsolon.recipewebservice.exception.RecipeCategoryNotFoundException;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.CatalogValidators;
 import com.orsolon.recipewebservice.service.RecipeCategoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,8 +12,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +26,9 @@ import java.util.Objects;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,23 +38,33 @@ public class RecipeCategoryControllerTest {
     @Mock
     private RecipeCategoryService recipeCategoryService;
 
+    @Mock
+    private CatalogChangeTracker catalogChangeTracker;
+
     @InjectMocks
     private RecipeCategoryController recipeCategoryController;
 
     private RecipeCategoryDTO recipeCategoryDTO;
     private List<RecipeCategoryDTO> recipeCategoryDTOList;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest webRequest;
 
     @BeforeEach
     public void setUp() {
         recipeCategoryDTO = new RecipeCategoryDTO(1L, "Test Category");
         recipeCategoryDTOList = Collections.singletonList(recipeCategoryDTO);
+        servletRequest = new MockHttpServletRequest("GET", "/api/v1/categories");
+        servletResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(servletRequest, servletResponse);
+        lenient().when(catalogChangeTracker.catalogValidators()).thenReturn(new CatalogValidators("W/\"catalog-0\"", 0L));
     }
 
     @Test
     @DisplayName("Find all should return categories and status OK")
     public void findAll_ShouldReturnCategoriesAndStatusOK() {
         when(recipeCategoryService.findAll()).thenReturn(recipeCategoryDTOList);
-        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.findAll();
+        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.findAll(webRequest);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(recipeCategoryDTOList);
     }
@@ -54,14 +73,14 @@ public class RecipeCategoryControllerTest {
     @DisplayName("Find by ID when non-existing ID should return status not found")
     public void findById_WhenNonExistingId_ShouldReturnStatusNotFound() {
         when(recipeCategoryService.findById(any(Long.class))).thenThrow(new RecipeCategoryNotFoundException("Category not found"));
-        assertThrows(RuntimeException.class, () -> recipeCategoryController.findById(999999L));
+        assertThrows(RuntimeException.class, () -> recipeCategoryController.findById(999999L, webRequest));
     }
 
     @Test
     @DisplayName("Find by ID when valid ID should return category and status OK")
     public void findById_WhenValidId_ShouldReturnCategoryAndStatusOK() {
         when(recipeCategoryService.findById(1L)).thenReturn(recipeCategoryDTO);
-        ResponseEntity<RecipeCategoryDTO> response = recipeCategoryController.findById(1L);
+        ResponseEntity<RecipeCategoryDTO> response = recipeCategoryController.findById(1L, webRequest);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(recipeCategoryDTO);
     }
@@ -70,7 +89,7 @@ public class RecipeCategoryControllerTest {
     @DisplayName("Search when no matches should return empty and status OK")
     public void search_WhenNoMatches_ShouldReturnEmptyAndStatusOk() {
         when(recipeCategoryService.search("Nonexistent")).thenReturn(Collections.emptyList());
-        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.search("Nonexistent");
+        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.search("Nonexistent", webRequest);
         assertThat(Objects.requireNonNull(response.getBody()).isEmpty());
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
@@ -79,9 +98,20 @@ public class RecipeCategoryControllerTest {
     @DisplayName("Search when valid query should return categories and status OK")
     public void search_WhenValidQuery_ShouldReturnCategoriesAndStatusOK() {
         when(recipeCategoryService.search("Test")).thenReturn(recipeCategoryDTOList);
-        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.search("Test");
+        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.search("Test", webRequest);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(recipeCategoryDTOList);
     }
 
+    @Test
+    @DisplayName("Find all when If-None-Match matches the catalog should return status not modified")
+    public void findAll_WhenIfNoneMatchMatches_ShouldReturnStatusNotModified() {
+        when(catalogChangeTracker.catalogValidators()).thenReturn(new CatalogValidators("W/\"catalog-3\"", 0L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"catalog-3\"");
+        ResponseEntity<List<RecipeCategoryDTO>> response = recipeCategoryController.findAll(webRequest);
+        assertThat(response).isNull();
+        assertThat(servletResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        verify(recipeCategoryService, never()).findAll();
+    }
+
 }
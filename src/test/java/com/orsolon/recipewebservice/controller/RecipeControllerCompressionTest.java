@@ -0,0 +1,61 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    Goes through the embedded server, which compresses the responses itself: MockMvc leaves compression out.
+    The server compresses no response carrying a strong ETag, so the collection endpoints send a weak one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Recipe Controller Compression Test")
+public class RecipeControllerCompressionTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Find All with Accept-Encoding gzip should return the Recipes compressed, with a weak catalog ETag")
+    public void findAll_WhenGzipAccepted_ShouldReturnCompressedRecipes() throws Exception {
+        HttpResponse<byte[]> response = client.send(request("/api/v1/recipes")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        String eTag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertTrue(eTag.startsWith("W/\"catalog-"), eTag);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            JsonNode recipes = new ObjectMapper().readTree(gzip.readAllBytes());
+            assertTrue(recipes.isArray());
+        }
+
+        HttpResponse<byte[]> notModified = client.send(request("/api/v1/recipes")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(304, notModified.statusCode());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+    }
+}
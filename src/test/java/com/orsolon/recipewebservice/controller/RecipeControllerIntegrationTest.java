@@ -1,11 +1,20 @@
 package com.orsolon.recipewebservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.orsolon.recipewebservice.dto.IngredientDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
 import com.orsolon.recipewebservice.exception.GlobalExceptionHandler;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.RecipeDocumentCache;
 import com.orsolon.recipewebservice.service.RecipeServiceImpl;
+import com.orsolon.recipewebservice.util.SqlStatementRecorder;
 import com.orsolon.recipewebservice.util.TestDataUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,26 +23,36 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.orsolon.recipewebservice.util.SqlStatementRecorder",
+        "spring.jpa.properties.hibernate.session.events.auto=com.orsolon.recipewebservice.util.SqlStatementRecorder"})
 @AutoConfigureMockMvc
 @ExtendWith(MockitoExtension.class)
 @Transactional
@@ -41,18 +60,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class RecipeControllerIntegrationTest {
 
     private final RecipeServiceImpl recipeService;
+    private final RecipeDocumentCache recipeDocumentCache;
+    private final CatalogChangeTracker catalogChangeTracker;
+    @PersistenceContext
+    private EntityManager entityManager;
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
     @Autowired
-    public RecipeControllerIntegrationTest(RecipeServiceImpl recipeService) {
+    public RecipeControllerIntegrationTest(RecipeServiceImpl recipeService, RecipeDocumentCache recipeDocumentCache, CatalogChangeTracker catalogChangeTracker) {
         this.recipeService = recipeService;
+        this.recipeDocumentCache = recipeDocumentCache;
+        this.catalogChangeTracker = catalogChangeTracker;
     }
 
     @BeforeEach
     public void setUp() {
         this.objectMapper = new ObjectMapper();
-        this.mockMvc = MockMvcBuilders.standaloneSetup(new RecipeController(recipeService), new GlobalExceptionHandler()).build();
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new RecipeController(recipeService, recipeDocumentCache, catalogChangeTracker), new GlobalExceptionHandler()).build();
     }
 
     @Test
@@ -86,6 +111,39 @@ public class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$.yield").value(mockRecipe.getYield()));
     }
 
+    @Test
+    @DisplayName("Create - Inserts of Ingredients and Steps should be batched")
+    public void create_InsertsOfIngredientsAndStepsShouldBeBatched() throws Exception {
+        RecipeDTO mockRecipe = TestDataUtil.createRecipeDTOList(false).get(0);
+
+        // 120 ingredients and 120 steps: with hibernate.jdbc.batch_size=50, each table takes one prepared insert statement,
+        // executed in 3 batches of at most 50 rows, instead of 120 statements
+        List<IngredientDTO> ingredients = new ArrayList<>();
+        List<String> steps = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ingredients.addAll(TestDataUtil.createIngredientDTOList(false));
+        }
+        for (int i = 0; i < ingredients.size(); i++) {
+            steps.add("Step " + i);
+        }
+        mockRecipe.setIngredients(ingredients);
+        mockRecipe.setSteps(steps);
+
+        entityManager.flush();
+        SqlStatementRecorder.clear();
+        mockMvc.perform(post("/api/v1/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(mockRecipe)))
+                .andExpect(status().isCreated());
+        entityManager.flush();
+
+        assertEquals(1, SqlStatementRecorder.countStatements("insert into ingredient "));
+        assertEquals(3, SqlStatementRecorder.countBatches("insert into ingredient "));
+        assertEquals(1, SqlStatementRecorder.countStatements("insert into recipe_steps "));
+        assertEquals(3, SqlStatementRecorder.countBatches("insert into recipe_steps "));
+    }
+
     @Test
     @DisplayName("Delete - Invalid ID should return Status Bad Request")
     public void delete_WhenInvalidId_ShouldReturnStatusBadRequest() throws Exception {
@@ -151,6 +209,76 @@ public class RecipeControllerIntegrationTest {
         }
     }
 
+    @Test
+    @DisplayName("Find All - Statement count should not grow with the number of Recipes")
+    public void findAll_StatementCountShouldNotGrowWithNumberOfRecipes() throws Exception {
+        List<RecipeDTO> mockRecipeList = TestDataUtil.createRecipeDTOList(false);
+
+        setUp_AddSingleRecipeToTheDatabase(mockRecipeList.get(0));
+        long statementsWithOneRecipe = countStatementsOfFindAll();
+
+        setUp_AddListOfRecipesToTheDatabase(mockRecipeList.subList(1, mockRecipeList.size()));
+        long statementsWithAllRecipes = countStatementsOfFindAll();
+
+        assertEquals(statementsWithOneRecipe, statementsWithAllRecipes);
+    }
+
+    @Test
+    @DisplayName("Find All After - Following the cursors should return every Recipe once, in title order")
+    public void findAllAfter_FollowingCursors_ShouldReturnEveryRecipeOnceInTitleOrder() throws Exception {
+        List<RecipeDTO> mockRecipeList = setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
+
+        List<String> titles = new ArrayList<>();
+        String cursor = "";
+        do {
+            String response = mockMvc.perform(get("/api/v1/recipes").param("cursor", cursor).param("size", "2")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getContentAsString();
+            titles.addAll(JsonPath.read(response, "$.content[*].title"));
+            cursor = JsonPath.read(response, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(mockRecipeList.stream().map(RecipeDTO::getTitle).sorted().toList(), titles);
+        assertNull(cursor);
+    }
+
+    @Test
+    @DisplayName("Find All After - Invalid Cursor should return Status Bad Request")
+    public void findAllAfter_WhenInvalidCursor_ShouldReturnStatusBadRequest() throws Exception {
+        setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+
+        mockMvc.perform(get("/api/v1/recipes").param("cursor", "not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Find All Paged - Invalid Size should return Status Bad Request")
+    public void findAllPaged_WhenInvalidSize_ShouldReturnStatusBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes").param("page", "0").param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Find All Paged - Should return requested Page and Status OK")
+    public void findAllPaged_ShouldReturnRequestedPageAndStatusOK() throws Exception {
+        List<RecipeDTO> mockRecipeList = setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
+
+        mockMvc.perform(get("/api/v1/recipes").param("page", "1").param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content.length()", is(2)))
+                .andExpect(jsonPath("$.content[0].id").value(mockRecipeList.get(2).getId()))
+                .andExpect(jsonPath("$.content[1].id").value(mockRecipeList.get(3).getId()))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.totalElements").value(mockRecipeList.size()))
+                .andExpect(jsonPath("$.totalPages").value(3));
+    }
+
     @Test
     @DisplayName("Find By Category - Invalid Category ID Parameter should return Status Bad Request")
     public void findByCategory_WhenInvalidCategoryIdParameter_ShouldReturnStatusBadRequest() throws Exception {
@@ -206,6 +334,30 @@ public class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].yield").value(mockRecipe.getYield()));
     }
 
+    @Test
+    @DisplayName("Find By Category Paged - Should count every Recipe of the Category once")
+    public void findByCategoryPaged_ShouldCountEveryRecipeOnce() throws Exception {
+        List<RecipeDTO> mockRecipeList = setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
+        Long categoryId = mockRecipeList.get(0).getCategories().get(0).getId();
+        long recipesInCategory = mockRecipeList.stream()
+                .filter(recipe -> recipe.getCategories().stream().anyMatch(category -> category.getId().equals(categoryId)))
+                .count();
+
+        mockMvc.perform(get("/api/v1/recipes/category/{categoryId}", categoryId).param("page", "0").param("size", "100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()", is((int) recipesInCategory)))
+                .andExpect(jsonPath("$.totalElements").value(recipesInCategory));
+    }
+
+    @Test
+    @DisplayName("Find All - Page and cursor together should return Status Bad Request")
+    public void findAll_WhenPageAndCursorGiven_ShouldReturnStatusBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes").param("page", "0").param("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Find By ID - Invalid ID Parameter should return Status Bad Request")
     public void findById_WhenInvalidIdParameter_ShouldReturnStatusBadRequest() throws Exception {
@@ -260,6 +412,151 @@ public class RecipeControllerIntegrationTest {
         }
     }
 
+    @Test
+    @DisplayName("Find By ID - Repeated lookups should be served from the cache")
+    public void findById_WhenRepeated_ShouldBeServedFromTheCache() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        long statements = countStatements(() -> mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(mockRecipe.getTitle())));
+
+        assertEquals(0, statements);
+    }
+
+    @Test
+    @DisplayName("Find By ID - Lookup after Partial Update should return the Updated Recipe")
+    public void findById_AfterPartialUpdate_ShouldReturnUpdatedRecipe() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+        String newTitle = "Updated recipe title";
+
+        // Cache the Recipe before updating it
+        mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(mockRecipe.getTitle()));
+
+        mockMvc.perform(patch("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.singletonMap("title", newTitle))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(newTitle));
+    }
+
+    @Test
+    @DisplayName("Find By ID - Current ETag should return Status Not Modified without querying the database")
+    public void findById_WhenIfNoneMatchIsCurrent_ShouldReturnStatusNotModified() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+
+        String eTag = mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long statements = countStatements(() -> mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().string("")));
+
+        assertEquals(0, statements);
+    }
+
+    @Test
+    @DisplayName("Find By ID - The ETag of the JSON document should not validate the XML representation or a subset of the fields")
+    public void findById_WhenIfNoneMatchIsOfAnotherRepresentation_ShouldReturnRecipe() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+
+        String eTag = mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String xmlETag = mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_XML)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_XML))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .param("fields", "title")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag.replaceFirst("\"$", "-fid.title\"")))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_XML)
+                        .header(HttpHeaders.IF_NONE_MATCH, xmlETag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(eTag.replaceFirst("\"$", "-xml\""), xmlETag);
+    }
+
+    @Test
+    @DisplayName("Find By ID - ETag from before a Partial Update should return the Updated Recipe")
+    public void findById_WhenIfNoneMatchPrecedesPartialUpdate_ShouldReturnUpdatedRecipe() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+        String newTitle = "Updated recipe title";
+
+        String eTag = mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.singletonMap("title", newTitle))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(newTitle));
+    }
+
+    @Test
+    @DisplayName("Find All - Catalog ETag should return Status Not Modified until a Recipe is created")
+    public void findAll_WhenIfNoneMatchIsCurrent_ShouldReturnStatusNotModifiedUntilCatalogChanges() throws Exception {
+        List<RecipeDTO> mockRecipeList = TestDataUtil.createRecipeDTOList(false);
+        setUp_AddSingleRecipeToTheDatabase(mockRecipeList.get(0));
+
+        String eTag = mockMvc.perform(get("/api/v1/recipes")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/recipes")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        setUp_AddSingleRecipeToTheDatabase(mockRecipeList.get(1));
+
+        mockMvc.perform(get("/api/v1/recipes")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("Partial Update - Invalid ID Parameter should return Status Bad Request")
     public void partialUpdate_WhenInvalidIdParameter_ShouldReturnStatusBadRequest() throws Exception {
@@ -384,6 +681,246 @@ public class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].yield").value(mockRecipe.getYield()));
     }
 
+    @Test
+    @DisplayName("Search - Misspelled Query should return the closest Recipes and Status OK")
+    public void search_WhenMisspelledQuery_ShouldReturnRecipesAndStatusOK() throws Exception {
+        RecipeDTO recipe = TestDataUtil.createRecipeDTOList(false).get(0);
+        recipe.setIngredients(List.of(
+                IngredientDTO.builder().quantity("2").unit("cups").item("Zorblat berries").build()));
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(recipe);
+
+        // Two letters swapped and one letter missing
+        mockMvc.perform(get("/api/v1/recipes/search").param("query", "zorbalt beries")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id").value(mockRecipe.getId()));
+    }
+
+    @Test
+    @DisplayName("Search Paged - Valid Query should return the page along with its facet counts and Status OK")
+    public void searchPaged_WhenValidQuery_ShouldReturnPageWithFacetsAndStatusOK() throws Exception {
+        RecipeDTO recipe = TestDataUtil.createRecipeDTOList(false).get(0);
+        recipe.setIngredients(List.of(
+                IngredientDTO.builder().quantity("2").unit("cups").item("Zorblat berries; fresh").build(),
+                IngredientDTO.builder().quantity("1").unit("cup").item("Quixel flour").build()));
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(recipe);
+
+        mockMvc.perform(get("/api/v1/recipes/search").param("query", "zorblat").param("page", "0").param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(mockRecipe.getId()))
+                .andExpect(jsonPath("$.categoryFacets.length()", is(mockRecipe.getCategories().size())))
+                .andExpect(jsonPath("$.categoryFacets[*].value", hasItem(mockRecipe.getCategories().get(0).getName())))
+                .andExpect(jsonPath("$.categoryFacets[0].count").value(1))
+                .andExpect(jsonPath("$.ingredientFacets[0].value").value("quixel flour"))
+                .andExpect(jsonPath("$.ingredientFacets[1].value").value("zorblat berry"))
+                .andExpect(jsonPath("$.ingredientFacets[1].count").value(1));
+    }
+
+    @Test
+    @DisplayName("Match Ingredients - Available ingredients should return the covered Recipes and Status OK")
+    public void matchIngredients_WhenIngredientsAvailable_ShouldReturnCoveredRecipesAndStatusOK() throws Exception {
+        RecipeDTO recipe = TestDataUtil.createRecipeDTOList(false).get(0);
+        recipe.setIngredients(List.of(
+                IngredientDTO.builder().quantity("2").unit("cups").item("Zorblat berries; fresh").build(),
+                IngredientDTO.builder().quantity("1").unit("cup").item("Quixel flour").build()));
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(recipe);
+
+        // Notes, plurals and case are ignored
+        mockMvc.perform(get("/api/v1/recipes/match").param("have", "zorblat berry,QUIXEL FLOUR")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].recipe.id").value(mockRecipe.getId()))
+                .andExpect(jsonPath("$.content[0].matchedIngredients").value(2))
+                .andExpect(jsonPath("$.content[0].totalIngredients").value(2));
+
+        // One ingredient short
+        mockMvc.perform(get("/api/v1/recipes/match").param("have", "Zorblat berries")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/api/v1/recipes/match").param("have", "Zorblat berries").param("missingAtMost", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].recipe.id").value(mockRecipe.getId()))
+                .andExpect(jsonPath("$.content[0].missingIngredients[0]").value("quixel flour"));
+
+        mockMvc.perform(get("/api/v1/recipes/match").param("have", "zorblat").param("missingAtMost", "-1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Find Similar - Recipes sharing ingredients should be returned most similar first with Status OK")
+    public void findSimilar_WhenRecipesShareIngredients_ShouldReturnSimilarRecipesAndStatusOK() throws Exception {
+        List<RecipeDTO> recipes = TestDataUtil.createRecipeDTOList(false);
+        recipes.get(0).setIngredients(List.of(
+                IngredientDTO.builder().quantity("2").unit("cups").item("Zorblat berries").build(),
+                IngredientDTO.builder().quantity("1").unit("cup").item("Quixel flour").build(),
+                IngredientDTO.builder().quantity("1").unit("tsp").item("Blimp sugar").build()));
+        recipes.get(1).setIngredients(List.of(
+                IngredientDTO.builder().quantity("1").unit("cup").item("Zorblat berry").build(),
+                IngredientDTO.builder().quantity("3").unit("cups").item("Quixel flour; sifted").build()));
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(recipes.get(0));
+        RecipeDTO similarRecipe = setUp_AddSingleRecipeToTheDatabase(recipes.get(1));
+
+        mockMvc.perform(get("/api/v1/recipes/{id}/similar", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].recipe.id").value(similarRecipe.getId()))
+                .andExpect(jsonPath("$[0].sharedIngredients.length()", is(2)));
+
+        mockMvc.perform(get("/api/v1/recipes/{id}/similar", Long.MAX_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/recipes/{id}/similar", mockRecipe.getId()).param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Find by IDs - Should return the Recipes in the requested order and report the missing IDs with Status OK")
+    public void findByIds_WhenSomeIdsMissing_ShouldReturnFoundRecipesInOrderAndMissingIds() throws Exception {
+        List<RecipeDTO> recipes = TestDataUtil.createRecipeDTOList(false);
+        RecipeDTO firstRecipe = setUp_AddSingleRecipeToTheDatabase(recipes.get(0));
+        RecipeDTO secondRecipe = setUp_AddSingleRecipeToTheDatabase(recipes.get(1));
+        String ids = secondRecipe.getId() + "," + Long.MAX_VALUE + "," + firstRecipe.getId() + "," + secondRecipe.getId();
+
+        mockMvc.perform(get("/api/v1/recipes").param("ids", ids)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.recipes.length()", is(2)))
+                .andExpect(jsonPath("$.recipes[0].id").value(secondRecipe.getId()))
+                .andExpect(jsonPath("$.recipes[1].id").value(firstRecipe.getId()))
+                .andExpect(jsonPath("$.recipes[1].ingredients.length()", is(firstRecipe.getIngredients().size())))
+                .andExpect(jsonPath("$.missingIds.length()", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(Long.MAX_VALUE));
+
+        mockMvc.perform(post("/api/v1/recipes/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(firstRecipe.getId(), secondRecipe.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes[0].id").value(firstRecipe.getId()))
+                .andExpect(jsonPath("$.missingIds.length()", is(0)));
+
+        mockMvc.perform(get("/api/v1/recipes").param("ids", "-1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/recipes").param("ids", ids).param("page", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/recipes").param("ids", ids).param("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Find by IDs - Number of SQL statements should not grow with the number of IDs")
+    public void findByIds_ShouldIssueTheSameNumberOfStatementsForAnyNumberOfIds() throws Exception {
+        List<RecipeDTO> recipes = setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
+        String twoIds = recipes.get(0).getId() + "," + recipes.get(1).getId();
+        String fiveIds = recipes.stream()
+                .map(recipe -> String.valueOf(recipe.getId()))
+                .collect(Collectors.joining(","));
+
+        long statementsForTwo = countStatements(() -> mockMvc.perform(get("/api/v1/recipes").param("ids", twoIds)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()));
+        long statementsForFive = countStatements(() -> mockMvc.perform(get("/api/v1/recipes").param("ids", fiveIds)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes.length()", is(recipes.size()))));
+
+        assertEquals(statementsForTwo, statementsForFive);
+    }
+
+    @Test
+    @DisplayName("Find All Paged - Fields parameter should return only the requested fields with fewer SQL statements")
+    public void findAllPaged_WhenFieldsGiven_ShouldReturnOnlyRequestedFieldsWithFewerStatements() throws Exception {
+        setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
+
+        long statementsForAllFields = countStatements(() -> mockMvc.perform(get("/api/v1/recipes").param("page", "0").param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].ingredients").exists()));
+        long statementsForSomeFields = countStatements(() -> mockMvc.perform(get("/api/v1/recipes").param("page", "0").param("size", "5")
+                        .param("fields", "title,categories")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").exists())
+                .andExpect(jsonPath("$.content[0].title").exists())
+                .andExpect(jsonPath("$.content[0].categories").exists())
+                .andExpect(jsonPath("$.content[0].yield").doesNotExist())
+                .andExpect(jsonPath("$.content[0].ingredients").doesNotExist())
+                .andExpect(jsonPath("$.content[0].steps").doesNotExist()));
+
+        assertTrue(statementsForSomeFields < statementsForAllFields,
+                "Expected fewer statements, but " + statementsForSomeFields + " were prepared against " + statementsForAllFields);
+
+        mockMvc.perform(get("/api/v1/recipes").param("page", "0").param("fields", "title,calories")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Unpaged lookups - Fields parameter should return only the requested fields without reading the other collections")
+    public void unpagedLookups_WhenFieldsGiven_ShouldReturnOnlyRequestedFieldsWithoutReadingOtherCollections() throws Exception {
+        List<RecipeDTO> recipes = setUp_AddListOfRecipesToTheDatabase(TestDataUtil.createRecipeDTOList(false));
+        RecipeDTO recipe = recipes.get(0);
+        Long categoryId = recipe.getCategories().get(0).getId();
+        entityManager.flush();
+
+        List<MockHttpServletRequestBuilder> requests = List.of(
+                get("/api/v1/recipes").param("fields", "title,categories"),
+                get("/api/v1/recipes/category/{categoryId}", categoryId).param("fields", "title,categories"),
+                get("/api/v1/recipes/search").param("query", recipe.getTitle()).param("fields", "title,categories"));
+        for (MockHttpServletRequestBuilder request : requests) {
+            SqlStatementRecorder.clear();
+            mockMvc.perform(request.accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").exists())
+                    .andExpect(jsonPath("$[0].title").exists())
+                    .andExpect(jsonPath("$[0].categories").isNotEmpty())
+                    .andExpect(jsonPath("$[0].yield").doesNotExist())
+                    .andExpect(jsonPath("$[0].ingredients").doesNotExist())
+                    .andExpect(jsonPath("$[0].steps").doesNotExist());
+
+            assertEquals(0, SqlStatementRecorder.countStatementsContaining("ingredient"));
+            assertEquals(0, SqlStatementRecorder.countStatementsContaining("recipe_steps"));
+        }
+
+        SqlStatementRecorder.clear();
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipe.getId()).param("fields", "steps")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(recipe.getId().intValue())))
+                .andExpect(jsonPath("$.steps.length()", is(recipe.getSteps().size())))
+                .andExpect(jsonPath("$.title").doesNotExist())
+                .andExpect(jsonPath("$.categories").doesNotExist())
+                .andExpect(jsonPath("$.ingredients").doesNotExist());
+        assertEquals(0, SqlStatementRecorder.countStatementsContaining("ingredient"));
+        assertEquals(0, SqlStatementRecorder.countStatementsContaining("recipe_category"));
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", Long.MAX_VALUE).param("fields", "title")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipe.getId()).param("fields", "title,calories")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/recipes").param("fields", "calories")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Update - Invalid ID Parameter should return Status Bad Request")
     public void update_WhenInvalidIdParameter_ShouldReturnStatusBadRequest() throws Exception {
@@ -434,6 +971,112 @@ public class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$.yield").value(mockRecipe.getYield()));
     }
 
+    @Test
+    @DisplayName("Update - Stale If-Match should return Status Precondition Failed and keep the Recipe")
+    public void update_WhenIfMatchIsStale_ShouldReturnStatusPreconditionFailed() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+        String originalTitle = mockRecipe.getTitle();
+        long staleVersion = mockRecipe.getVersion();
+
+        // Another editor updates the Recipe first
+        mockMvc.perform(patch("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"" + staleVersion + "\"")
+                        .content(objectMapper.writeValueAsString(Collections.singletonMap("yield", mockRecipe.getYield() + 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(staleVersion + 1));
+
+        mockRecipe.setTitle("Updated recipe title");
+        mockMvc.perform(put("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"" + staleVersion + "\"")
+                        .content(objectMapper.writeValueAsString(mockRecipe)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        assertEquals(originalTitle, recipeService.findById(mockRecipe.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Update - ETag of a GET or of the previous update should be accepted as If-Match")
+    public void update_WhenIfMatchIsTheCurrentETag_ShouldUpdateAndReturnTheNewETag() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+
+        String eTag = mockMvc.perform(get("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String patchETag = mockMvc.perform(patch("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(Collections.singletonMap("yield", mockRecipe.getYield() + 1))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"recipe-" + mockRecipe.getId() + "-" + (mockRecipe.getVersion() + 1) + "\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockRecipe.setTitle("Updated recipe title");
+        mockRecipe.setYield(mockRecipe.getYield() + 1);
+        mockMvc.perform(put("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, patchETag)
+                        .content(objectMapper.writeValueAsString(mockRecipe)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"recipe-" + mockRecipe.getId() + "-" + (mockRecipe.getVersion() + 2) + "\""));
+
+        // The first ETag is stale by now
+        mockMvc.perform(patch("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(objectMapper.writeValueAsString(Collections.singletonMap("yield", 1))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Update - Stale version in the body should return Status Precondition Failed")
+    public void update_WhenBodyVersionIsStale_ShouldReturnStatusPreconditionFailed() throws Exception {
+        RecipeDTO mockRecipe = setUp_AddSingleRecipeToTheDatabase(TestDataUtil.createRecipeDTOList(false).get(0));
+        mockRecipe.setVersion(mockRecipe.getVersion() + 1);
+
+        mockMvc.perform(put("/api/v1/recipes/{id}", mockRecipe.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(mockRecipe)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    // Helper method to count the SQL statements issued by a single Find All request, starting from an empty persistence context.
+    private long countStatementsOfFindAll() throws Exception {
+        return countStatements(() -> mockMvc.perform(get("/api/v1/recipes")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()));
+    }
+
+    // Helper method to count the SQL statements prepared by an action, including the ones it leaves pending for the next flush.
+    private long countStatements(MockMvcAction action) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        action.perform();
+        entityManager.flush();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface MockMvcAction {
+        void perform() throws Exception;
+    }
+
     // Helper method to pre-populate the database with a list of random recipes.
     private @NotNull List<RecipeDTO> setUp_AddListOfRecipesToTheDatabase(@NotNull List<RecipeDTO> mockRecipeList) {
         List<RecipeDTO> savedRecipes = new ArrayList<>();
@@ -1,8 +1,18 @@
 package com.orsolon.recipewebservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orsolon.recipewebservice.dto.CursorPageDTO;
+import com.orsolon.recipewebservice.dto.PageDTO;
+import com.orsolon.recipewebservice.dto.RecipeBatchDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.RecipeMatchDTO;
+import com.orsolon.recipewebservice.dto.SimilarRecipeDTO;
 import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
 import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.CatalogValidators;
+import com.orsolon.recipewebservice.service.RecipeDocumentCache;
+import com.orsolon.recipewebservice.service.RecipeFields;
 import com.orsolon.recipewebservice.service.RecipeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,19 +21,36 @@ import org.junit.jupiter.api.TestInstance;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -34,11 +61,21 @@ public class RecipeControllerTest {
 
     private RecipeService recipeServiceMock;
     private RecipeController recipeController;
+    private CatalogChangeTracker catalogChangeTracker;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
 
     @BeforeEach
     public void setup() {
         recipeServiceMock = mock(RecipeService.class);
-        recipeController = new RecipeController(recipeServiceMock);
+        RecipeDocumentCache recipeDocumentCache = new RecipeDocumentCache(recipeServiceMock, new ObjectMapper(), new ConcurrentMapCacheManager(), DataSize.ofKilobytes(1));
+        catalogChangeTracker = mock(CatalogChangeTracker.class);
+        when(catalogChangeTracker.catalogValidators()).thenReturn(new CatalogValidators("W/\"catalog-0\"", 0L));
+        recipeController = new RecipeController(recipeServiceMock, recipeDocumentCache, catalogChangeTracker);
+        request = new MockHttpServletRequest("GET", "/api/v1/recipes");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
     }
 
     @Test
@@ -113,9 +150,9 @@ public class RecipeControllerTest {
     public void findAll_ShouldReturnEmptyListAndStatusOK() {
         List<RecipeDTO> emptyRecipes = Collections.emptyList();
 
-        when(recipeServiceMock.findAll()).thenReturn(emptyRecipes);
+        when(recipeServiceMock.findAll(RecipeFields.ALL)).thenReturn(emptyRecipes);
 
-        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findAll();
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findAll(null, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(emptyRecipes, responseEntity.getBody());
@@ -128,9 +165,9 @@ public class RecipeControllerTest {
         RecipeDTO recipe2 = new RecipeDTO();
         List<RecipeDTO> recipes = Arrays.asList(recipe1, recipe2);
 
-        when(recipeServiceMock.findAll()).thenReturn(recipes);
+        when(recipeServiceMock.findAll(RecipeFields.ALL)).thenReturn(recipes);
 
-        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findAll();
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findAll(null, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(recipes, responseEntity.getBody());
@@ -139,9 +176,53 @@ public class RecipeControllerTest {
     @Test
     @DisplayName("Find All - Should throw Exception")
     public void findAll_ShouldThrowException() {
-        when(recipeServiceMock.findAll()).thenThrow(new RuntimeException("Unexpected error"));
+        when(recipeServiceMock.findAll(RecipeFields.ALL)).thenThrow(new RuntimeException("Unexpected error"));
 
-        assertThrows(RuntimeException.class, () -> recipeController.findAll());
+        assertThrows(RuntimeException.class, () -> recipeController.findAll(null, webRequest));
+    }
+
+    @Test
+    @DisplayName("Find All After - Should return Recipes with Next Cursor and Status OK")
+    public void findAllAfter_ShouldReturnRecipesWithNextCursorAndStatusOK() {
+        CursorPageDTO<RecipeDTO> recipes = CursorPageDTO.<RecipeDTO>builder()
+                .content(Arrays.asList(new RecipeDTO(), new RecipeDTO()))
+                .size(2)
+                .nextCursor("next")
+                .build();
+
+        when(recipeServiceMock.findAllAfter("", 2, RecipeFields.ALL)).thenReturn(recipes);
+
+        ResponseEntity<CursorPageDTO<RecipeDTO>> responseEntity = recipeController.findAllAfter("", 2, null, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(recipes, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Find All Paged - Should return Page and Status OK")
+    public void findAllPaged_ShouldReturnPageAndStatusOK() {
+        PageDTO<RecipeDTO> recipes = PageDTO.<RecipeDTO>builder()
+                .content(Arrays.asList(new RecipeDTO(), new RecipeDTO()))
+                .page(0)
+                .size(2)
+                .totalElements(2)
+                .totalPages(1)
+                .build();
+
+        when(recipeServiceMock.findAll(0, 2, RecipeFields.ALL)).thenReturn(recipes);
+
+        ResponseEntity<PageDTO<RecipeDTO>> responseEntity = recipeController.findAllPaged(0, 2, null, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(recipes, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Find All Paged - Should return Status Bad Request")
+    public void findAllPaged_ShouldReturnStatusBadRequest() {
+        when(recipeServiceMock.findAll(-1, 2, RecipeFields.ALL)).thenThrow(new InvalidFieldValueException("Invalid value for page: -1"));
+
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.findAllPaged(-1, 2, null, webRequest));
     }
 
     @Test
@@ -150,9 +231,9 @@ public class RecipeControllerTest {
         Long categoryId = 1L;
         List<RecipeDTO> emptyRecipes = Collections.emptyList();
 
-        when(recipeServiceMock.findByCategory(categoryId)).thenReturn(emptyRecipes);
+        when(recipeServiceMock.findByCategory(categoryId, RecipeFields.ALL)).thenReturn(emptyRecipes);
 
-        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findByCategory(categoryId);
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findByCategory(categoryId, null, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(emptyRecipes, responseEntity.getBody());
@@ -166,9 +247,9 @@ public class RecipeControllerTest {
         List<RecipeDTO> recipes = Arrays.asList(recipe1, recipe2);
         Long categoryId = 1L;
 
-        when(recipeServiceMock.findByCategory(categoryId)).thenReturn(recipes);
+        when(recipeServiceMock.findByCategory(categoryId, RecipeFields.ALL)).thenReturn(recipes);
 
-        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findByCategory(categoryId);
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findByCategory(categoryId, null, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(recipes, responseEntity.getBody());
@@ -180,9 +261,9 @@ public class RecipeControllerTest {
         Long invalidCategoryId = -1L;
 
         doThrow(new InvalidFieldValueException("Invalid value: " + invalidCategoryId))
-                .when(recipeServiceMock).findByCategory(invalidCategoryId);
+                .when(recipeServiceMock).findByCategory(invalidCategoryId, RecipeFields.ALL);
 
-        assertThrows(InvalidFieldValueException.class, () -> recipeController.findByCategory(invalidCategoryId));
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.findByCategory(invalidCategoryId, null, webRequest));
     }
 
     @Test
@@ -193,7 +274,7 @@ public class RecipeControllerTest {
         doThrow(new InvalidFieldValueException("Invalid value: " + invalidId))
                 .when(recipeServiceMock).findById(invalidId);
 
-        assertThrows(InvalidFieldValueException.class, () -> recipeController.findById(invalidId));
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.findById(invalidId, webRequest));
     }
 
     @Test
@@ -203,7 +284,7 @@ public class RecipeControllerTest {
 
         when(recipeServiceMock.findById(nonExistentId)).thenThrow(new RecipeNotFoundException("Recipe not found"));
 
-        assertThrows(RecipeNotFoundException.class, () -> recipeController.findById(nonExistentId));
+        assertThrows(RecipeNotFoundException.class, () -> recipeController.findById(nonExistentId, webRequest));
     }
 
     @Test
@@ -214,12 +295,293 @@ public class RecipeControllerTest {
 
         when(recipeServiceMock.findById(id)).thenReturn(recipe);
 
-        ResponseEntity<RecipeDTO> responseEntity = recipeController.findById(id);
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.findById(id, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(recipe, responseEntity.getBody());
     }
 
+    @Test
+    @DisplayName("Find Fields By ID - Valid ID should return the requested fields of the Recipe and Status OK")
+    public void findFieldsById_WhenValidId_ShouldReturnRequestedFieldsAndStatusOK() {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).title("Amaretto Cake").build();
+        Long id = 1L;
+
+        when(recipeServiceMock.findById(id, RecipeFields.parse("title"))).thenReturn(recipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.findFieldsById(id, "title", webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(recipe, responseEntity.getBody());
+        verify(recipeServiceMock, never()).findById(id);
+    }
+
+    @Test
+    @DisplayName("Find JSON By ID - Non-Existing ID should return Status Not Found")
+    public void findJsonById_WhenNonExistingId_ShouldReturnStatusNotFound() {
+        Long nonExistentId = 999L;
+
+        when(recipeServiceMock.findById(nonExistentId)).thenThrow(new RecipeNotFoundException("Recipe not found"));
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeController.findJsonById(nonExistentId, webRequest));
+    }
+
+    @Test
+    @DisplayName("Find JSON By ID - Valid ID should return the cached JSON document and Status OK")
+    public void findJsonById_WhenValidId_ShouldReturnCachedJsonDocumentAndStatusOK() throws Exception {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).title("Amaretto Cake").build();
+        Long id = 1L;
+
+        when(recipeServiceMock.findById(id)).thenReturn(recipe);
+
+        ResponseEntity<byte[]> firstResponse = recipeController.findJsonById(id, webRequest);
+        ResponseEntity<byte[]> secondResponse = recipeController.findJsonById(id, webRequest);
+
+        assertEquals(HttpStatus.OK, secondResponse.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, secondResponse.getHeaders().getContentType());
+        assertEquals(recipe, new ObjectMapper().readValue(secondResponse.getBody(), RecipeDTO.class));
+        assertEquals(firstResponse.getBody(), secondResponse.getBody());
+        verify(recipeServiceMock, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Find JSON By ID - Large document with Accept-Encoding gzip should return the precompressed document")
+    public void findJsonById_WhenGzipAccepted_ShouldReturnCompressedDocumentAndStatusOK() throws Exception {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).title("Amaretto Cake").steps(Collections.nCopies(50, "Beat the eggs with the sugar until pale.")).build();
+        Long id = 1L;
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+
+        when(recipeServiceMock.findById(id)).thenReturn(recipe);
+
+        ResponseEntity<byte[]> responseEntity = recipeController.findJsonById(id, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(responseEntity.getBody()))) {
+            assertEquals(recipe, new ObjectMapper().readValue(gzip.readAllBytes(), RecipeDTO.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Find By ID - Matching If-None-Match should return Status Not Modified from the cached document")
+    public void findById_WhenIfNoneMatchMatches_ShouldReturnStatusNotModified() {
+        Long id = 1L;
+        when(recipeServiceMock.findById(id)).thenReturn(RecipeDTO.builder().id(id).version(0L).build());
+        // Caches the document
+        recipeController.findJsonById(id, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/recipes/1"), new MockHttpServletResponse()));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0\"");
+
+        ResponseEntity<byte[]> responseEntity = recipeController.findJsonById(id, webRequest);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        assertEquals("\"recipe-1-0\"", response.getHeader(HttpHeaders.ETAG));
+        verify(recipeServiceMock, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Find JSON By ID - Matching If-None-Match should return Status Not Modified without building an uncached document")
+    public void findJsonById_WhenIfNoneMatchMatchesUncachedRecipe_ShouldNotBuildTheDocument() {
+        Long id = 1L;
+        when(catalogChangeTracker.recipeVersion(id)).thenReturn(3L);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-2-gzip\", \"recipe-1-3-gzip\"");
+
+        ResponseEntity<byte[]> responseEntity = recipeController.findJsonById(id, webRequest);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), responseEntity.getHeaders().getVary());
+        assertEquals("\"recipe-1-3-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        verify(recipeServiceMock, never()).findById(id);
+    }
+
+    @Test
+    @DisplayName("Find JSON By ID - Each content coding should have its own ETag, matched by If-None-Match")
+    public void findJsonById_WhenCompressed_ShouldReturnETagOfTheCoding() {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).version(0L).title("Amaretto Cake").steps(Collections.nCopies(50, "Beat the eggs with the sugar until pale.")).build();
+        Long id = 1L;
+        when(recipeServiceMock.findById(id)).thenReturn(recipe);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        // The copy of a client that did not accept gzip
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0\"");
+
+        ResponseEntity<byte[]> responseEntity = recipeController.findJsonById(id, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"recipe-1-0-gzip\"", response.getHeader(HttpHeaders.ETAG));
+
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest("GET", "/api/v1/recipes/1");
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        gzipRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0-gzip\"");
+        MockHttpServletResponse gzipResponse = new MockHttpServletResponse();
+
+        responseEntity = recipeController.findJsonById(id, new ServletWebRequest(gzipRequest, gzipResponse));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals("\"recipe-1-0-gzip\"", gzipResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Find By ID - Stale If-None-Match should return the Recipe with its current ETag")
+    public void findById_WhenIfNoneMatchIsStale_ShouldReturnRecipeAndCurrentETag() {
+        RecipeDTO recipe = new RecipeDTO();
+        Long id = 1L;
+        // Updated once since the client's copy
+        when(catalogChangeTracker.recipeETag(id)).thenReturn("recipe-1-1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0\"");
+
+        when(recipeServiceMock.findById(id)).thenReturn(recipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.findById(id, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(recipe, responseEntity.getBody());
+        assertEquals("\"recipe-1-1-xml\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Find By ID - The XML representation should have its own ETag and vary by Accept")
+    public void findById_WhenIfNoneMatchIsOfTheJsonDocument_ShouldReturnRecipeWithXmlETag() {
+        RecipeDTO recipe = new RecipeDTO();
+        Long id = 1L;
+        when(catalogChangeTracker.recipeETag(id)).thenReturn("recipe-1-0");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0\"");
+        when(recipeServiceMock.findById(id)).thenReturn(recipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.findById(id, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"recipe-1-0-xml\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(List.of(HttpHeaders.ACCEPT), responseEntity.getHeaders().getVary());
+
+        MockHttpServletRequest xmlRequest = new MockHttpServletRequest("GET", "/api/v1/recipes/1");
+        xmlRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0-xml\"");
+
+        responseEntity = recipeController.findById(id, new ServletWebRequest(xmlRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT), responseEntity.getHeaders().getVary());
+    }
+
+    @Test
+    @DisplayName("Find Fields By ID - Each subset of the fields should have its own ETag, whatever order the fields are given in")
+    public void findJsonFieldsById_ShouldReturnETagOfTheSortedFields() {
+        Long id = 1L;
+        when(catalogChangeTracker.recipeETag(id)).thenReturn("recipe-1-0");
+        when(recipeServiceMock.findById(eq(id), any(RecipeFields.class))).thenReturn(RecipeDTO.builder().id(id).title("Amaretto Cake").build());
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.findJsonFieldsById(id, "title,categories", webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"recipe-1-0-fcategories.id.title\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(List.of(HttpHeaders.ACCEPT), responseEntity.getHeaders().getVary());
+
+        MockHttpServletRequest fieldsRequest = new MockHttpServletRequest("GET", "/api/v1/recipes/1");
+        fieldsRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-0-fcategories.id.title\"");
+        MockHttpServletResponse fieldsResponse = new MockHttpServletResponse();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, recipeController.findJsonFieldsById(id, "categories,title", new ServletWebRequest(fieldsRequest, fieldsResponse)).getStatusCode());
+        assertEquals(HttpStatus.OK, recipeController.findJsonFieldsById(id, "title", new ServletWebRequest(fieldsRequest, new MockHttpServletResponse())).getStatusCode());
+        assertEquals(HttpStatus.OK, recipeController.findFieldsById(id, "categories,title", new ServletWebRequest(fieldsRequest, new MockHttpServletResponse())).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Partial Update - If-Match should accept the ETag of the XML representation or of a subset of the fields")
+    public void partialUpdate_WithIfMatchOfAnotherRepresentation_ShouldPassExpectedVersion() {
+        Map<String, Object> updates = Map.of("title", "Amaretto Cake");
+        RecipeDTO updatedRecipe = RecipeDTO.builder().id(1L).version(4L).build();
+        when(recipeServiceMock.partialUpdate(1L, updates, Set.of(3L, 2L))).thenReturn(updatedRecipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.partialUpdate(1L, "\"recipe-1-3-xml\", \"recipe-1-2-fid.title-xml\"", updates);
+
+        assertEquals(updatedRecipe, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Update - If-Match should be passed on as the expected version")
+    public void update_WithIfMatch_ShouldPassExpectedVersion() {
+        RecipeDTO recipe = new RecipeDTO();
+        RecipeDTO updatedRecipe = RecipeDTO.builder().version(4L).build();
+        Long id = 1L;
+
+        when(recipeServiceMock.update(id, recipe, Set.of(3L))).thenReturn(updatedRecipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.update(id, "\"3\"", recipe);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(updatedRecipe, responseEntity.getBody());
+        assertEquals("\"recipe-1-4\"", responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Partial Update - If-Match holding the Recipe ETag should be passed on as the expected version")
+    public void partialUpdate_WithIfMatchETag_ShouldPassExpectedVersionAndReturnNewETag() {
+        RecipeDTO updatedRecipe = RecipeDTO.builder().version(4L).build();
+        Long id = 1L;
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("title", "New Title");
+
+        when(recipeServiceMock.partialUpdate(id, updates, Set.of(3L))).thenReturn(updatedRecipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.partialUpdate(id, "\"recipe-1-3\"", updates);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"recipe-1-4\"", responseEntity.getHeaders().getETag());
+        // The ETag of a compressed copy identifies the same version
+        assertEquals(updatedRecipe, recipeController.partialUpdate(id, "\"recipe-1-3-zstd\"", updates).getBody());
+    }
+
+    @Test
+    @DisplayName("Update - If-Match holding a list of ETags should pass on every version of the Recipe among them")
+    public void update_WithIfMatchList_ShouldPassEveryExpectedVersion() {
+        RecipeDTO recipe = new RecipeDTO();
+        RecipeDTO updatedRecipe = RecipeDTO.builder().version(5L).build();
+        Long id = 1L;
+
+        when(recipeServiceMock.update(id, recipe, Set.of(3L, 4L))).thenReturn(updatedRecipe);
+
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.update(id, "\"recipe-1-3\", \"recipe-2-7\", W/\"recipe-1-6\", \"abc\", \"recipe-1-4-gzip\"", recipe);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("\"recipe-1-5\"", responseEntity.getHeaders().getETag());
+        assertThrows(OptimisticLockingFailureException.class, () -> recipeController.update(id, "\"recipe-2-3\", \"abc\"", recipe));
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.update(id, "\"abc\", \"def\"", recipe));
+    }
+
+    @Test
+    @DisplayName("Update - If-Match holding the ETag of another Recipe, or a weak ETag, should return Status Precondition Failed")
+    public void update_WithIfMatchOfAnotherRecipeOrWeak_ShouldReturnStatusPreconditionFailed() {
+        RecipeDTO recipe = new RecipeDTO();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> recipeController.update(1L, "\"recipe-2-3\"", recipe));
+        assertThrows(OptimisticLockingFailureException.class, () -> recipeController.update(1L, "W/\"recipe-1-3\"", recipe));
+        verify(recipeServiceMock, never()).update(eq(1L), eq(recipe), any());
+    }
+
+    @Test
+    @DisplayName("Partial Update - Malformed If-Match should return Status Bad Request")
+    public void partialUpdate_WithMalformedIfMatch_ShouldReturnStatusBadRequest() {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("title", "New Title");
+
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.partialUpdate(1L, "W/\"abc\"", updates));
+        verify(recipeServiceMock, never()).partialUpdate(1L, updates, null);
+    }
+
+    @Test
+    @DisplayName("Find All - Matching If-Modified-Since should return Status Not Modified without loading the Recipes")
+    public void findAll_WhenNotModifiedSince_ShouldReturnStatusNotModified() {
+        when(catalogChangeTracker.catalogValidators()).thenReturn(new CatalogValidators("W/\"catalog-3\"", 1_700_000_000_000L));
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, 1_700_000_000_000L);
+
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.findAll(null, webRequest);
+
+        assertNull(responseEntity);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verify(recipeServiceMock, never()).findAll(RecipeFields.ALL);
+    }
+
     @Test
     @DisplayName("Partial Update - Should return Status Bad Request")
     public void partialUpdate_ShouldReturnStatusBadRequest() {
@@ -228,10 +590,10 @@ public class RecipeControllerTest {
         updates.put("title", "New Title");
 
         // Throw InvalidFieldValueException when the ID is invalid
-        when(recipeServiceMock.partialUpdate(invalidId, updates))
+        when(recipeServiceMock.partialUpdate(invalidId, updates, null))
                 .thenThrow(new InvalidFieldValueException("Invalid value for id: " + invalidId));
 
-        assertThrows(InvalidFieldValueException.class, () -> recipeController.partialUpdate(invalidId, updates));
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.partialUpdate(invalidId, null, updates));
     }
 
     @Test
@@ -241,9 +603,9 @@ public class RecipeControllerTest {
         Map<String, Object> updates = new HashMap<>();
         updates.put("title", "New Title");
 
-        when(recipeServiceMock.partialUpdate(nonExistentId, updates)).thenThrow(new RecipeNotFoundException("Recipe not found"));
+        when(recipeServiceMock.partialUpdate(nonExistentId, updates, null)).thenThrow(new RecipeNotFoundException("Recipe not found"));
 
-        assertThrows(RecipeNotFoundException.class, () -> recipeController.partialUpdate(nonExistentId, updates));
+        assertThrows(RecipeNotFoundException.class, () -> recipeController.partialUpdate(nonExistentId, null, updates));
     }
 
     @Test
@@ -254,9 +616,9 @@ public class RecipeControllerTest {
         Long id = 1L;
         Map<String, Object> updates = new HashMap<>();
 
-        when(recipeServiceMock.partialUpdate(id, updates)).thenReturn(updatedRecipe);
+        when(recipeServiceMock.partialUpdate(id, updates, null)).thenReturn(updatedRecipe);
 
-        ResponseEntity<RecipeDTO> responseEntity = recipeController.partialUpdate(id, updates);
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.partialUpdate(id, null, updates);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(updatedRecipe, responseEntity.getBody());
@@ -267,10 +629,10 @@ public class RecipeControllerTest {
     public void search_WhenInvalidQuery_ShouldReturnStatusBadRequest() {
         String invalidQuery = "";
 
-        when(recipeServiceMock.search(invalidQuery))
+        when(recipeServiceMock.search(invalidQuery, RecipeFields.ALL))
                 .thenThrow(new InvalidFieldValueException("Invalid value for query: " + invalidQuery));
 
-        assertThrows(InvalidFieldValueException.class, () -> recipeController.search(invalidQuery));
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.search(invalidQuery, null, webRequest));
     }
 
     @Test
@@ -279,9 +641,9 @@ public class RecipeControllerTest {
         String query = "noResults";
         List<RecipeDTO> emptyRecipes = Collections.emptyList();
 
-        when(recipeServiceMock.search(query)).thenReturn(emptyRecipes);
+        when(recipeServiceMock.search(query, RecipeFields.ALL)).thenReturn(emptyRecipes);
 
-        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.search(query);
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.search(query, null, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(emptyRecipes, responseEntity.getBody());
@@ -295,14 +657,105 @@ public class RecipeControllerTest {
         List<RecipeDTO> recipes = Arrays.asList(recipe1, recipe2);
         String query = "searchQuery";
 
-        when(recipeServiceMock.search(query)).thenReturn(recipes);
+        when(recipeServiceMock.search(query, RecipeFields.ALL)).thenReturn(recipes);
 
-        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.search(query);
+        ResponseEntity<List<RecipeDTO>> responseEntity = recipeController.search(query, null, webRequest);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(recipes, responseEntity.getBody());
     }
 
+    @Test
+    @DisplayName("Match Ingredients - Should return Matches and Status OK")
+    public void matchIngredients_WhenValidIngredients_ShouldReturnMatchesAndStatusOK() {
+        List<String> have = List.of("eggs", "butter");
+        PageDTO<RecipeMatchDTO> matches = PageDTO.<RecipeMatchDTO>builder()
+                .content(List.of(RecipeMatchDTO.builder()
+                        .recipe(new RecipeDTO())
+                        .matchedIngredients(2)
+                        .totalIngredients(3)
+                        .missingIngredients(List.of("zucchini"))
+                        .build()))
+                .page(0)
+                .size(20)
+                .totalElements(1)
+                .totalPages(1)
+                .build();
+
+        when(recipeServiceMock.matchIngredients(have, 1, 0, 20)).thenReturn(matches);
+
+        ResponseEntity<PageDTO<RecipeMatchDTO>> responseEntity = recipeController.matchIngredients(have, 1, 0, 20, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(matches, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Match Ingredients - Invalid missingAtMost should return Status Bad Request")
+    public void matchIngredients_WhenInvalidMissingAtMost_ShouldReturnStatusBadRequest() {
+        List<String> have = List.of("eggs");
+
+        when(recipeServiceMock.matchIngredients(have, -1, 0, 20))
+                .thenThrow(new InvalidFieldValueException("Invalid value for missingAtMost: -1"));
+
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.matchIngredients(have, -1, 0, 20, webRequest));
+    }
+
+    @Test
+    @DisplayName("Find by IDs - Should return the Recipes found and the missing IDs with Status OK")
+    public void findByIds_ShouldReturnRecipesAndMissingIdsAndStatusOK() {
+        List<Long> ids = List.of(2L, 99L, 1L);
+        RecipeBatchDTO batch = RecipeBatchDTO.builder()
+                .recipes(List.of(RecipeDTO.builder().id(2L).build(), RecipeDTO.builder().id(1L).build()))
+                .missingIds(List.of(99L))
+                .build();
+
+        when(recipeServiceMock.findByIds(ids, RecipeFields.ALL)).thenReturn(batch);
+
+        ResponseEntity<RecipeBatchDTO> responseEntity = recipeController.findByIds(ids, null, webRequest);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(batch, responseEntity.getBody());
+
+        responseEntity = recipeController.findByIdsInBody(ids, null);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(batch, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Find by IDs - Invalid ID should return Status Bad Request")
+    public void findByIds_WhenInvalidId_ShouldReturnStatusBadRequest() {
+        List<Long> ids = List.of(1L, -1L);
+
+        when(recipeServiceMock.findByIds(ids, RecipeFields.ALL)).thenThrow(new InvalidFieldValueException("Invalid value: -1"));
+
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.findByIds(ids, null, webRequest));
+    }
+
+    @Test
+    @DisplayName("Find Similar - Should return Similar Recipes and Status OK")
+    public void findSimilar_WhenRecipeExists_ShouldReturnSimilarRecipesAndStatusOK() {
+        List<SimilarRecipeDTO> similarRecipes = List.of(SimilarRecipeDTO.builder()
+                .recipe(new RecipeDTO())
+                .similarity(0.5)
+                .sharedIngredients(List.of("butter", "egg"))
+                .build());
+
+        when(recipeServiceMock.findSimilar(1L, 10)).thenReturn(similarRecipes);
+
+        ResponseEntity<List<SimilarRecipeDTO>> responseEntity = recipeController.findSimilar(1L, 10, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(similarRecipes, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Find Similar - Non-existent Recipe should throw Not Found")
+    public void findSimilar_WhenRecipeDoesNotExist_ShouldThrowNotFound() {
+        when(recipeServiceMock.findSimilar(99L, 10)).thenThrow(new RecipeNotFoundException("Recipe not found with id: 99"));
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeController.findSimilar(99L, 10, webRequest));
+    }
+
     @Test
     @DisplayName("Update - Should return Status Bad Request")
     public void update_ShouldReturnStatusBadRequest() {
@@ -310,10 +763,10 @@ public class RecipeControllerTest {
         Long invalidId = -1L;
 
         // Throw InvalidFieldValueException when the ID is invalid
-        when(recipeServiceMock.update(invalidId, recipe))
+        when(recipeServiceMock.update(invalidId, recipe, null))
                 .thenThrow(new InvalidFieldValueException("Invalid value for id: " + invalidId));
 
-        assertThrows(InvalidFieldValueException.class, () -> recipeController.update(invalidId, recipe));
+        assertThrows(InvalidFieldValueException.class, () -> recipeController.update(invalidId, null, recipe));
     }
 
     @Test
@@ -322,9 +775,9 @@ public class RecipeControllerTest {
         RecipeDTO recipe = new RecipeDTO();
         Long nonExistentId = 999L;
 
-        when(recipeServiceMock.update(nonExistentId, recipe)).thenThrow(new RecipeNotFoundException("Recipe not found"));
+        when(recipeServiceMock.update(nonExistentId, recipe, null)).thenThrow(new RecipeNotFoundException("Recipe not found"));
 
-        assertThrows(RecipeNotFoundException.class, () -> recipeController.update(nonExistentId, recipe));
+        assertThrows(RecipeNotFoundException.class, () -> recipeController.update(nonExistentId, null, recipe));
     }
 
     @Test
@@ -334,9 +787,9 @@ public class RecipeControllerTest {
         RecipeDTO updatedRecipe = new RecipeDTO();
         Long id = 1L;
 
-        when(recipeServiceMock.update(id, recipe)).thenReturn(updatedRecipe);
+        when(recipeServiceMock.update(id, recipe, null)).thenReturn(updatedRecipe);
 
-        ResponseEntity<RecipeDTO> responseEntity = recipeController.update(id, recipe);
+        ResponseEntity<RecipeDTO> responseEntity = recipeController.update(id, null, recipe);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(updatedRecipe, responseEntity.getBody());
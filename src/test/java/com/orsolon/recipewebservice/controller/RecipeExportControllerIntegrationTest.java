@@ -0,0 +1,68 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.RecipeServiceImpl;
+import com.orsolon.recipewebservice.util.TestDataUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    The streaming body is written directly on the test thread, so it sees the data of the test transaction.
+ */
+@SpringBootTest
+@ExtendWith(MockitoExtension.class)
+@Transactional
+@DisplayName("Recipe Export Controller Integration Test")
+public class RecipeExportControllerIntegrationTest {
+
+    private final RecipeServiceImpl recipeService;
+    private ObjectMapper objectMapper;
+    private RecipeExportController recipeExportController;
+
+    @Autowired
+    public RecipeExportControllerIntegrationTest(RecipeServiceImpl recipeService) {
+        this.recipeService = recipeService;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.objectMapper = new ObjectMapper();
+        this.recipeExportController = new RecipeExportController(recipeService, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Export As NDJSON - Should write every Recipe with its collections, in title order")
+    public void exportAsNdjson_ShouldWriteEveryRecipeWithItsCollectionsInTitleOrder() throws Exception {
+        List<RecipeDTO> mockRecipeList = new ArrayList<>();
+        for (RecipeDTO mockRecipe : TestDataUtil.createRecipeDTOList(false)) {
+            mockRecipeList.add(recipeService.create(mockRecipe));
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        recipeExportController.exportAsNdjson().getBody().writeTo(outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(mockRecipeList.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            RecipeDTO exportedRecipe = objectMapper.readValue(lines[i], RecipeDTO.class);
+            assertEquals(mockRecipeList.get(i).getId(), exportedRecipe.getId());
+            assertEquals(mockRecipeList.get(i).getTitle(), exportedRecipe.getTitle());
+            assertEquals(mockRecipeList.get(i).getIngredients().size(), exportedRecipe.getIngredients().size());
+            assertEquals(mockRecipeList.get(i).getSteps(), exportedRecipe.getSteps());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Recipe Export Controller Test")
+public class RecipeExportControllerTest {
+
+    private RecipeService recipeServiceMock;
+    private RecipeExportController recipeExportController;
+
+    @BeforeEach
+    public void setup() {
+        recipeServiceMock = mock(RecipeService.class);
+        recipeExportController = new RecipeExportController(recipeServiceMock, new ObjectMapper());
+
+        // Feed two recipes to whoever consumes the export
+        Mockito.doAnswer(invocation -> {
+            Consumer<RecipeDTO> consumer = invocation.getArgument(0);
+            consumer.accept(RecipeDTO.builder().id(1L).title("First").build());
+            consumer.accept(RecipeDTO.builder().id(2L).title("Second").build());
+            return null;
+        }).when(recipeServiceMock).exportAll(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Export As JSON Array - Should write all Recipes as a single array")
+    public void exportAsJsonArray_ShouldWriteAllRecipesAsSingleArray() throws Exception {
+        ResponseEntity<StreamingResponseBody> responseEntity = recipeExportController.exportAsJsonArray();
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, responseEntity.getHeaders().getContentType());
+
+        RecipeDTO[] recipes = new ObjectMapper().readValue(writeBody(responseEntity), RecipeDTO[].class);
+        assertEquals(2, recipes.length);
+        assertEquals("First", recipes[0].getTitle());
+        assertEquals("Second", recipes[1].getTitle());
+    }
+
+    @Test
+    @DisplayName("Export As NDJSON - Should write one Recipe per line")
+    public void exportAsNdjson_ShouldWriteOneRecipePerLine() throws Exception {
+        ResponseEntity<StreamingResponseBody> responseEntity = recipeExportController.exportAsNdjson();
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, responseEntity.getHeaders().getContentType());
+
+        String[] lines = writeBody(responseEntity).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("First", new ObjectMapper().readValue(lines[0], RecipeDTO.class).getTitle());
+        assertEquals("Second", new ObjectMapper().readValue(lines[1], RecipeDTO.class).getTitle());
+    }
+
+    // Helper method to run the streaming body into memory
+    private String writeBody(ResponseEntity<StreamingResponseBody> responseEntity) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.GlobalExceptionHandler;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.RecipeServiceImpl;
+import com.orsolon.recipewebservice.service.SuggestionServiceImpl;
+import com.orsolon.recipewebservice.util.TestDataUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+@Transactional
+@DisplayName("Suggestion Controller Integration Test")
+public class SuggestionControllerIntegrationTest {
+
+    private final SuggestionServiceImpl suggestionService;
+    private final RecipeServiceImpl recipeService;
+    private final CatalogChangeTracker catalogChangeTracker;
+    private MockMvc mockMvc;
+
+    @Autowired
+    public SuggestionControllerIntegrationTest(SuggestionServiceImpl suggestionService, RecipeServiceImpl recipeService,
+                                               CatalogChangeTracker catalogChangeTracker) {
+        this.suggestionService = suggestionService;
+        this.recipeService = recipeService;
+        this.catalogChangeTracker = catalogChangeTracker;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new SuggestionController(suggestionService, catalogChangeTracker), new GlobalExceptionHandler()).build();
+    }
+
+    @Test
+    @DisplayName("Suggest - Prefix should return titles and ingredients as they are written, until the Recipe is deleted")
+    public void suggest_WhenRecipeCreatedAndDeleted_ShouldFollowTheCatalog() throws Exception {
+        RecipeDTO recipe = TestDataUtil.createRecipeDTOList(false).get(0);
+        recipe.setTitle("Zorblat Pie");
+        recipe.setIngredients(List.of(IngredientDTO.builder().quantity("2").unit("cups").item("Zorblat berries; fresh").build()));
+        RecipeDTO createdRecipe = recipeService.create(recipe);
+
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zorb")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[?(@.type == 'TITLE')].text").value("Zorblat Pie"))
+                .andExpect(jsonPath("$[?(@.type == 'INGREDIENT')].text").value("zorblat berry"));
+
+        // Any word of a suggestion may be completed
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "Pi")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.text == 'Zorblat Pie')].recipeCount").value(1));
+
+        recipeService.delete(createdRecipe.getId());
+
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zorb")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    @DisplayName("Suggest - Blank prefix or invalid limit should return Status Bad Request")
+    public void suggest_WhenInvalidParameters_ShouldReturnStatusBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", " ")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "cake").param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
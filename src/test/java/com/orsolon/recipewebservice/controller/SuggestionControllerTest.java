@@ -0,0 +1,86 @@
+package com.orsolon.recipewebservice.controller;
+
+import com.orsolon.recipewebservice.dto.SuggestionDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.service.CatalogChangeTracker;
+import com.orsolon.recipewebservice.service.CatalogValidators;
+import com.orsolon.recipewebservice.service.SuggestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Suggestion Controller Test")
+public class SuggestionControllerTest {
+
+    private SuggestionService suggestionServiceMock;
+    private SuggestionController suggestionController;
+    private CatalogChangeTracker catalogChangeTracker;
+    private MockHttpServletRequest request;
+    private ServletWebRequest webRequest;
+
+    @BeforeEach
+    public void setup() {
+        suggestionServiceMock = mock(SuggestionService.class);
+        catalogChangeTracker = mock(CatalogChangeTracker.class);
+        when(catalogChangeTracker.catalogValidators()).thenReturn(new CatalogValidators("W/\"catalog-0\"", 0L));
+        suggestionController = new SuggestionController(suggestionServiceMock, catalogChangeTracker);
+        request = new MockHttpServletRequest("GET", "/api/v1/suggest");
+        webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    @DisplayName("Suggest - Valid Prefix should return Suggestions and Status OK")
+    public void suggest_WhenValidPrefix_ShouldReturnSuggestionsAndStatusOK() {
+        List<SuggestionDTO> suggestions = List.of(
+                SuggestionDTO.builder().text("Cakes").type(SuggestionDTO.Type.CATEGORY).recipeCount(12).build(),
+                SuggestionDTO.builder().text("Carrot Cake").type(SuggestionDTO.Type.TITLE).recipeCount(1).build());
+
+        when(suggestionServiceMock.suggest("ca", 10)).thenReturn(suggestions);
+
+        ResponseEntity<List<SuggestionDTO>> responseEntity = suggestionController.suggest("ca", 10, webRequest);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(suggestions, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Suggest - Invalid Prefix should return Status Bad Request")
+    public void suggest_WhenInvalidPrefix_ShouldReturnStatusBadRequest() {
+        when(suggestionServiceMock.suggest("", 10)).thenThrow(new InvalidFieldValueException("Invalid value for prefix: "));
+
+        assertThrows(InvalidFieldValueException.class, () -> suggestionController.suggest("", 10, webRequest));
+    }
+
+    @Test
+    @DisplayName("Suggest - Matching If-None-Match should return Status Not Modified without suggesting")
+    public void suggest_WhenCatalogNotModified_ShouldReturnStatusNotModified() {
+        when(catalogChangeTracker.catalogValidators()).thenReturn(new CatalogValidators("W/\"catalog-3\"", 0L));
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"catalog-3\"");
+
+        assertNull(suggestionController.suggest("ca", 10, webRequest));
+        verify(suggestionServiceMock, never()).suggest("ca", 10);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -29,6 +30,7 @@ public class GlobalExceptionHandlerTest {
     private static final String RECIPE_CATEGORY_NOT_FOUND_MSG = "Recipe Category not found with id: -99999";
     private static final String INVALID_FIELD_VALUE_MSG = "Invalid field value";
     private static final String INVALID_FIELD_MSG = "Invalid field: test";
+    private static final String OPTIMISTIC_LOCK_MSG = "Recipe with id 1 is at version 2, not at the expected version 1";
 
     @Autowired
     private MockMvc mockMvc;
@@ -88,6 +90,16 @@ public class GlobalExceptionHandlerTest {
     static class Config {
     }
 
+    @Test
+    @DisplayName("Handle OptimisticLockingFailureException should return status precondition failed")
+    public void handleOptimisticLockException_ShouldReturnStatusPreconditionFailed() throws Exception {
+        mockMvc.perform(get("/throwOptimisticLockingFailureException"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(HttpStatus.PRECONDITION_FAILED.value()))
+                .andExpect(jsonPath("$.error").value(HttpStatus.PRECONDITION_FAILED.getReasonPhrase()))
+                .andExpect(jsonPath("$.message").value(OPTIMISTIC_LOCK_MSG));
+    }
+
     @Controller
     public static class TestController {
         @GetMapping("/throwInvalidFieldException")
@@ -110,6 +122,11 @@ public class GlobalExceptionHandlerTest {
             throw new RecipeCategoryNotFoundException(RECIPE_CATEGORY_NOT_FOUND_MSG);
         }
 
+        @GetMapping("/throwOptimisticLockingFailureException")
+        public void throwOptimisticLockingFailureException() {
+            throw new ObjectOptimisticLockingFailureException(Object.class, 1L, OPTIMISTIC_LOCK_MSG, null);
+        }
+
         @GetMapping("/throwRecipeNotFoundException")
         public void throwRecipeNotFoundException() {
             throw new RecipeNotFoundException(RECIPE_NOT_FOUND_MSG);
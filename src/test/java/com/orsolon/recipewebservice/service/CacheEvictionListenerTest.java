@@ -0,0 +1,75 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.config.CacheConfig;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Cache Eviction Listener Test")
+public class CacheEvictionListenerTest {
+
+    private CacheManager cacheManager;
+    private CacheEvictionListener cacheEvictionListener;
+
+    @BeforeEach
+    void setUp() {
+        this.cacheManager = new ConcurrentMapCacheManager(CacheConfig.RECIPES_BY_ID, CacheConfig.RECIPES_BY_TITLE, CacheConfig.RECIPE_DOCUMENTS, CacheConfig.CATEGORIES, CacheConfig.CATEGORIES_BY_ID);
+        this.cacheEvictionListener = new CacheEvictionListener(cacheManager);
+
+        cacheManager.getCache(CacheConfig.RECIPES_BY_ID).put(1L, "Recipe 1");
+        cacheManager.getCache(CacheConfig.RECIPES_BY_ID).put(2L, "Recipe 2");
+        cacheManager.getCache(CacheConfig.RECIPES_BY_TITLE).put("Old title", "Recipe 1");
+        cacheManager.getCache(CacheConfig.RECIPES_BY_TITLE).put("Other title", "Recipe 2");
+        cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).put(1L, "{\"id\":1}");
+        cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).put(2L, "{\"id\":2}");
+        cacheManager.getCache(CacheConfig.CATEGORIES).put("all", "Categories");
+        cacheManager.getCache(CacheConfig.CATEGORIES_BY_ID).put(1L, "Category 1");
+        cacheManager.getCache(CacheConfig.CATEGORIES_BY_ID).put(2L, "Category 2");
+    }
+
+    @Test
+    @DisplayName("Recipe update should evict only the entries of that Recipe")
+    public void onRecipeChanged_WhenUpdated_ShouldEvictOnlyThatRecipe() {
+        cacheEvictionListener.onRecipeChanged(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, 1L, Set.of("Old title", "New title"), null));
+
+        assertNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.RECIPES_BY_TITLE).get("Old title"));
+        assertNull(cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConfig.RECIPES_BY_TITLE).get("Other title"));
+        assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES).get("all"));
+    }
+
+    @Test
+    @DisplayName("Category creation should evict the category list only")
+    public void onRecipeCategoryChanged_WhenCreated_ShouldEvictCategoryListOnly() {
+        cacheEvictionListener.onRecipeCategoryChanged(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.CREATED, 3L));
+
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get("all"));
+        assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES_BY_ID).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID).get(1L));
+    }
+
+    @Test
+    @DisplayName("Category update should evict the category and every cached Recipe")
+    public void onRecipeCategoryChanged_WhenUpdated_ShouldEvictCategoryAndRecipes() {
+        cacheEvictionListener.onRecipeCategoryChanged(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.UPDATED, 1L));
+
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get("all"));
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES_BY_ID).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIES_BY_ID).get(2L));
+        assertNull(cacheManager.getCache(CacheConfig.RECIPES_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.RECIPES_BY_TITLE).get("Other title"));
+        assertNull(cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).get(2L));
+    }
+}
@@ -0,0 +1,221 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.event.RecipeCategoryChangedEvent;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
+import com.orsolon.recipewebservice.model.CatalogVersion;
+import com.orsolon.recipewebservice.repository.CatalogVersionRepository;
+import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
+import com.orsolon.recipewebservice.util.TestDataUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional: other transactions only see the catalog version of a write once it commits
+@SpringBootTest
+@DisplayName("Catalog Change Tracker Test")
+public class CatalogChangeTrackerTest {
+
+    private final CatalogChangeTracker catalogChangeTracker;
+    private final RecipeServiceImpl recipeService;
+    private final RecipeCategoryServiceImpl recipeCategoryService;
+    private final RecipeRepository recipeRepository;
+    private final RecipeCategoryRepository recipeCategoryRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public CatalogChangeTrackerTest(CatalogChangeTracker catalogChangeTracker, RecipeServiceImpl recipeService, RecipeCategoryServiceImpl recipeCategoryService,
+                                    RecipeRepository recipeRepository, RecipeCategoryRepository recipeCategoryRepository,
+                                    CatalogVersionRepository catalogVersionRepository, PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.catalogChangeTracker = catalogChangeTracker;
+        this.recipeService = recipeService;
+        this.recipeCategoryService = recipeCategoryService;
+        this.recipeRepository = recipeRepository;
+        this.recipeCategoryRepository = recipeCategoryRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.transactionManager = transactionManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Recipe ETag should follow the persisted version of the Recipe, through any update")
+    public void recipeETag_ShouldFollowTheRecipeVersion() {
+        RecipeDTO recipe = recipeService.create(createRecipeDTO("Tracked Recipe Version"));
+        try {
+            assertEquals("recipe-" + recipe.getId() + "-0", catalogChangeTracker.recipeETag(recipe.getId()));
+
+            recipeService.partialUpdate(recipe.getId(), Map.of("yield", 7));
+            assertEquals("recipe-" + recipe.getId() + "-1", catalogChangeTracker.recipeETag(recipe.getId()));
+
+            // Ingredients are mapped by the Ingredient, replacing them must change the Recipe version as well
+            recipeService.partialUpdate(recipe.getId(), Map.of("ingredients", List.of(IngredientDTO.builder().quantity("1").unit("cup").item("flour").build())));
+            assertEquals("recipe-" + recipe.getId() + "-2", catalogChangeTracker.recipeETag(recipe.getId()));
+        } finally {
+            recipeService.delete(recipe.getId());
+        }
+        assertNull(catalogChangeTracker.recipeETag(recipe.getId()));
+    }
+
+    @Test
+    @DisplayName("Replacing the ingredients together with other fields should advance the Recipe version exactly once")
+    public void partialUpdate_WhenIngredientsAndTitleChanged_ShouldAdvanceTheVersionOnce() {
+        RecipeDTO recipe = recipeService.create(createRecipeDTO("Tracked Recipe Single Increment"));
+        try {
+            RecipeDTO ingredientsOnly = recipeService.partialUpdate(recipe.getId(),
+                    Map.of("ingredients", List.of(IngredientDTO.builder().quantity("1").unit("cup").item("flour").build())));
+            assertEquals(recipe.getVersion() + 1, ingredientsOnly.getVersion());
+            assertEquals(ingredientsOnly.getVersion(), recipeRepository.findVersionById(recipe.getId()).orElseThrow());
+
+            RecipeDTO updatedRecipe = recipeService.partialUpdate(recipe.getId(), Map.of("title", "Tracked Recipe Single Increment Renamed",
+                    "ingredients", List.of(IngredientDTO.builder().quantity("2").unit("cups").item("sugar").build())));
+
+            assertEquals(ingredientsOnly.getVersion() + 1, updatedRecipe.getVersion());
+            assertEquals(updatedRecipe.getVersion(), recipeRepository.findVersionById(recipe.getId()).orElseThrow());
+        } finally {
+            recipeService.delete(recipe.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Category update should change the ETag of the Recipes of that category only")
+    public void recipeETag_WhenCategoryUpdated_ShouldChangeForItsRecipesOnly() {
+        RecipeDTO recipe = recipeService.create(createRecipeDTO("Tracked Recipe Category", "Tracked Category"));
+        RecipeDTO otherRecipe = recipeService.create(createRecipeDTO("Tracked Other Recipe", "Tracked Other Category"));
+        try {
+            Long categoryId = recipe.getCategories().get(0).getId();
+            String recipeETag = catalogChangeTracker.recipeETag(recipe.getId());
+            String otherRecipeETag = catalogChangeTracker.recipeETag(otherRecipe.getId());
+            String categoryETag = catalogChangeTracker.categoryETag(categoryId);
+
+            recipeCategoryService.update(categoryId, RecipeCategoryDTO.builder().name("Tracked Category Renamed").build());
+
+            assertNotEquals(recipeETag, catalogChangeTracker.recipeETag(recipe.getId()));
+            assertEquals(otherRecipeETag, catalogChangeTracker.recipeETag(otherRecipe.getId()));
+            assertNotEquals(categoryETag, catalogChangeTracker.categoryETag(categoryId));
+        } finally {
+            recipeService.delete(recipe.getId());
+            recipeService.delete(otherRecipe.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Catalog ETag should change once per committed transaction, however many writes it publishes")
+    public void catalogETag_ShouldChangeOncePerCommittedTransaction() {
+        long version = catalogVersion();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, Long.MAX_VALUE, Set.of("Title"), null));
+            eventPublisher.publishEvent(new RecipeCategoryChangedEvent(RecipeCategoryChangedEvent.Type.CREATED, Long.MAX_VALUE));
+        });
+
+        assertEquals(version + 1, catalogVersion());
+        assertEquals("W/\"catalog-" + (version + 1) + "\"", catalogChangeTracker.catalogValidators().getETag());
+    }
+
+    @Test
+    @DisplayName("Catalog ETag should change for the rest of the transaction that published a write")
+    public void catalogETag_WhenReadInTheWritingTransaction_ShouldBeChanged() {
+        String catalogETag = catalogChangeTracker.catalogValidators().getETag();
+
+        String eTagInTransaction = transactionTemplate.execute(status -> {
+            eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, Long.MAX_VALUE, Set.of("Title"), null));
+            return catalogChangeTracker.catalogValidators().getETag();
+        });
+
+        assertNotEquals(catalogETag, eTagInTransaction);
+        assertEquals(eTagInTransaction, catalogChangeTracker.catalogValidators().getETag());
+    }
+
+    @Test
+    @DisplayName("Catalog ETag should change again for a write published after the transaction read it")
+    public void catalogETag_WhenWrittenAfterReadInTheTransaction_ShouldChangeAgain() {
+        long version = catalogVersion();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, Long.MAX_VALUE, Set.of("Title"), null));
+            String eTag = catalogChangeTracker.catalogValidators().getETag();
+            eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, Long.MAX_VALUE, Set.of("Title"), null));
+            assertNotEquals(eTag, catalogChangeTracker.catalogValidators().getETag());
+        });
+
+        assertEquals(version + 2, catalogVersion());
+    }
+
+    @Test
+    @DisplayName("Catalog ETag should be left unchanged by a rolled back transaction")
+    public void catalogETag_WhenRolledBack_ShouldBeUnchanged() {
+        String catalogETag = catalogChangeTracker.catalogValidators().getETag();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, Long.MAX_VALUE, Set.of("Title"), null));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(catalogETag, catalogChangeTracker.catalogValidators().getETag());
+    }
+
+    @Test
+    @DisplayName("Another instance sharing the database should derive the same validators")
+    public void catalogETag_ShouldBeSharedByEveryInstance() {
+        eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, Long.MAX_VALUE, Set.of("Title"), null));
+
+        CatalogChangeTracker otherInstance = new CatalogChangeTracker(recipeRepository, recipeCategoryRepository, catalogVersionRepository, transactionManager,
+                new ConcurrentMapCacheManager());
+        otherInstance.createCatalogVersion();
+
+        assertEquals(catalogChangeTracker.catalogValidators(), otherInstance.catalogValidators());
+    }
+
+    @Test
+    @DisplayName("Last modified should be whole seconds and never move backwards")
+    public void getLastModified_ShouldBeWholeSecondsAndMonotonic() {
+        long lastModified = catalogChangeTracker.catalogValidators().getLastModified();
+
+        eventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangedEvent.Type.CREATED, Long.MAX_VALUE, Set.of("Title"), null));
+
+        assertEquals(0, catalogChangeTracker.catalogValidators().getLastModified() % 1000);
+        assertTrue(catalogChangeTracker.catalogValidators().getLastModified() >= lastModified);
+    }
+
+    private long catalogVersion() {
+        return catalogVersionRepository.findAll().stream().mapToLong(CatalogVersion::getVersion).sum();
+    }
+
+    private RecipeDTO createRecipeDTO(String title, String... categoryNames) {
+        RecipeDTO recipe = TestDataUtil.createRecipeDTOList(false).get(0);
+        recipe.setTitle(title);
+        if (categoryNames.length > 0) {
+            recipe.setCategories(List.of(categoryNames).stream()
+                    .map(name -> RecipeCategoryDTO.builder().name(name).build())
+                    .toList());
+        }
+        return recipe;
+    }
+}
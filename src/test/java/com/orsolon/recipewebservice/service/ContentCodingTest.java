@@ -0,0 +1,57 @@
+package com.orsolon.recipewebservice.service;
+
+import io.airlift.compress.zstd.ZstdDecompressor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Content Coding Test")
+public class ContentCodingTest {
+
+    private final Set<ContentCoding> allCodings = EnumSet.allOf(ContentCoding.class);
+
+    @Test
+    @DisplayName("Negotiate should prefer zstd, then gzip, among the accepted codings")
+    public void negotiate_WhenSeveralCodingsAccepted_ShouldPreferZstd() {
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("gzip, deflate, br, zstd", allCodings));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("gzip, deflate, br", allCodings));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("x-gzip", allCodings));
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("*", allCodings));
+    }
+
+    @Test
+    @DisplayName("Negotiate should follow the quality values of the Accept-Encoding header")
+    public void negotiate_WhenQualityValuesGiven_ShouldPickHighestQuality() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("zstd;q=0.5, gzip;q=0.9", allCodings));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("*, zstd;q=0", allCodings));
+        assertNull(ContentCoding.negotiate("gzip;q=0, zstd;q=0", allCodings));
+    }
+
+    @Test
+    @DisplayName("Negotiate should return null when no available coding is accepted")
+    public void negotiate_WhenNothingAccepted_ShouldReturnNull() {
+        assertNull(ContentCoding.negotiate(null, allCodings));
+        assertNull(ContentCoding.negotiate("br, identity", allCodings));
+        assertNull(ContentCoding.negotiate("gzip", EnumSet.noneOf(ContentCoding.class)));
+    }
+
+    @Test
+    @DisplayName("Encode with zstd should decompress back to the original content")
+    public void encode_WhenZstd_ShouldRoundTrip() {
+        byte[] content = "{\"title\":\"Amaretto Cake\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = ContentCoding.ZSTD.encode(content);
+
+        byte[] decoded = new byte[content.length];
+        int length = new ZstdDecompressor().decompress(encoded, 0, encoded.length, decoded, 0, decoded.length);
+        assertEquals(content.length, length);
+        assertArrayEquals(content, decoded);
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -230,4 +231,18 @@ public class DTOConverterTest
             assertEquals(expected.getSteps(), actual.getSteps());
         }
     }
+
+    @Test
+    @DisplayName("Convert Recipe to DTO should tolerate a Recipe without steps")
+    public void convertRecipeToDTO_WhenStepsAreNull_ShouldReturnDTOWithoutSteps() {
+        Recipe recipe = TestDataUtil.createRecipeList(true).get(0);
+        recipe.setSteps(null);
+
+        // Call conversion method
+        RecipeDTO actual = dtoConverter.convertRecipeToDTO(recipe);
+
+        // Verify the data after conversion
+        assertEquals(recipe.getTitle(), actual.getTitle());
+        assertNull(actual.getSteps());
+    }
 }
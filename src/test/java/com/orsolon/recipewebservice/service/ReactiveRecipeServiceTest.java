@@ -0,0 +1,119 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
+import com.orsolon.recipewebservice.model.reactive.IngredientRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeCategoryRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeRow;
+import com.orsolon.recipewebservice.model.reactive.RecipeStepRow;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveIngredientRepository;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeRepository;
+import com.orsolon.recipewebservice.repository.reactive.ReactiveRecipeStepRepository;
+import com.orsolon.recipewebservice.service.search.RecipeSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@DisplayName("Reactive Recipe Service Test")
+public class ReactiveRecipeServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private ReactiveRecipeRepository recipeRepository;
+    private ReactiveRecipeCategoryRepository recipeCategoryRepository;
+    private ReactiveIngredientRepository ingredientRepository;
+    private ReactiveRecipeStepRepository recipeStepRepository;
+    private RecipeSearchIndex recipeSearchIndex;
+    private ReactiveRecipeService reactiveRecipeService;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository = Mockito.mock(ReactiveRecipeRepository.class);
+        recipeCategoryRepository = Mockito.mock(ReactiveRecipeCategoryRepository.class);
+        ingredientRepository = Mockito.mock(ReactiveIngredientRepository.class);
+        recipeStepRepository = Mockito.mock(ReactiveRecipeStepRepository.class);
+        recipeSearchIndex = new RecipeSearchIndex();
+        reactiveRecipeService = new ReactiveRecipeServiceImpl(recipeRepository, recipeCategoryRepository, ingredientRepository,
+                recipeStepRepository, recipeSearchIndex, new DTOConverter(), BATCH_SIZE);
+
+        Mockito.when(recipeCategoryRepository.findByRecipeIdIn(anyCollection())).thenReturn(Flux.empty());
+        Mockito.when(ingredientRepository.findByRecipeIdIn(anyCollection())).thenReturn(Flux.empty());
+        Mockito.when(recipeStepRepository.findByRecipeIdIn(anyCollection())).thenReturn(Flux.empty());
+    }
+
+    @Test
+    @DisplayName("Find all should read batch after batch from the last Recipe of the previous batch, until a short batch")
+    public void findAll_ShouldReadInKeysetBatches() {
+        Mockito.when(recipeRepository.findKeysetFirstPage(BATCH_SIZE)).thenReturn(Flux.just(row(1L, "Apple Pie"), row(2L, "Banana Bread")));
+        Mockito.when(recipeRepository.findKeysetPageAfter("Banana Bread", 2L, BATCH_SIZE)).thenReturn(Flux.just(row(3L, "Cherry Tart")));
+
+        List<RecipeDTO> recipes = reactiveRecipeService.findAll().collectList().block();
+
+        assertEquals(List.of("Apple Pie", "Banana Bread", "Cherry Tart"), recipes.stream().map(RecipeDTO::getTitle).collect(Collectors.toList()));
+        Mockito.verify(recipeRepository, Mockito.times(1)).findKeysetPageAfter(anyString(), anyLong(), anyInt());
+        // One query per table and batch
+        Mockito.verify(ingredientRepository, Mockito.times(2)).findByRecipeIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Find all should read at most one batch ahead of the subscriber")
+    public void findAll_WhenOnlyFirstRecipeRequested_ShouldNotReadFurtherBatches() {
+        Mockito.when(recipeRepository.findKeysetFirstPage(BATCH_SIZE)).thenReturn(Flux.just(row(1L, "Apple Pie"), row(2L, "Banana Bread")));
+        Mockito.when(recipeRepository.findKeysetPageAfter("Banana Bread", 2L, BATCH_SIZE)).thenReturn(Flux.just(row(3L, "Cherry Tart"), row(4L, "Date Loaf")));
+        Mockito.when(recipeRepository.findKeysetPageAfter("Date Loaf", 4L, BATCH_SIZE)).thenReturn(Flux.just(row(5L, "Eggnog")));
+
+        RecipeDTO first = reactiveRecipeService.findAll().blockFirst();
+
+        assertEquals("Apple Pie", first.getTitle());
+        Mockito.verify(recipeRepository, Mockito.never()).findKeysetPageAfter("Date Loaf", 4L, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Find by ID should assemble the Recipe from the rows of each table")
+    public void findById_ShouldAssembleCategoriesIngredientsAndSteps() {
+        Mockito.when(recipeRepository.findById(1L)).thenReturn(Mono.just(row(1L, "Apple Pie")));
+        Mockito.when(recipeCategoryRepository.findByRecipeIdIn(List.of(1L)))
+                .thenReturn(Flux.just(RecipeCategoryRow.builder().id(7L).name("Pies").recipeId(1L).build()));
+        Mockito.when(ingredientRepository.findByRecipeIdIn(List.of(1L))).thenReturn(Flux.just(
+                IngredientRow.builder().id(10L).quantity("3").item("apples").recipeId(1L).build(),
+                IngredientRow.builder().id(11L).quantity("1").unit("cup").item("sugar").recipeId(1L).build()));
+        Mockito.when(recipeStepRepository.findByRecipeIdIn(List.of(1L))).thenReturn(Flux.just(
+                new RecipeStepRow(1L, "Slice the apples."), new RecipeStepRow(1L, "Bake.")));
+
+        RecipeDTO recipe = reactiveRecipeService.findById(1L).block();
+
+        assertEquals("Pies", recipe.getCategories().get(0).getName());
+        assertEquals(List.of("apples", "sugar"), recipe.getIngredients().stream().map(ingredient -> ingredient.getItem()).collect(Collectors.toList()));
+        assertEquals(List.of("Slice the apples.", "Bake."), recipe.getSteps());
+    }
+
+    @Test
+    @DisplayName("Find by ID should fail with RecipeNotFoundException for an unknown Recipe, and InvalidFieldValueException for an invalid ID")
+    public void findById_WhenUnknownOrInvalidId_ShouldFail() {
+        Mockito.when(recipeRepository.findById(99L)).thenReturn(Mono.empty());
+
+        assertThrows(RecipeNotFoundException.class, () -> reactiveRecipeService.findById(99L).block());
+        // Thrown on the call, before anything is subscribed
+        assertThrows(InvalidFieldValueException.class, () -> reactiveRecipeService.findById(0L));
+        assertThrows(InvalidFieldValueException.class, () -> reactiveRecipeService.search(""));
+    }
+
+    private static RecipeRow row(Long id, String title) {
+        return RecipeRow.builder().id(id).title(title).yield(4).build();
+    }
+}
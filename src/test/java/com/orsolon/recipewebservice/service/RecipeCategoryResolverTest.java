@@ -0,0 +1,120 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.model.RecipeCategory;
+import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ActiveProfiles("test")
+@DisplayName("Recipe Category Resolver Test")
+public class RecipeCategoryResolverTest {
+
+    private RecipeCategoryResolver recipeCategoryResolver;
+    private RecipeCategoryRepository recipeCategoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Mock
+        this.recipeCategoryRepository = Mockito.mock(RecipeCategoryRepository.class);
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+
+        // Inject Mocks
+        this.recipeCategoryResolver = new RecipeCategoryResolver(recipeCategoryRepository, new DTOConverter(), transactionManager,
+                Mockito.mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    @DisplayName("Resolve should return a warmed up category without querying the database")
+    public void resolve_WhenCategoryWasWarmedUp_ShouldNotQueryTheDatabase() {
+        Mockito.when(recipeCategoryRepository.findAll()).thenReturn(List.of(createMockRecipeCategory(1L, "Main Dish")));
+        recipeCategoryResolver.warmUp();
+
+        RecipeCategoryDTO resolvedCategory = recipeCategoryResolver.resolve(" main   DISH ");
+
+        assertEquals(1L, resolvedCategory.getId());
+        assertEquals("Main Dish", resolvedCategory.getName());
+        Mockito.verify(recipeCategoryRepository, Mockito.never()).findByNormalizedName(Mockito.anyString());
+        Mockito.verify(recipeCategoryRepository, Mockito.never()).saveAndFlush(Mockito.any(RecipeCategory.class));
+    }
+
+    @Test
+    @DisplayName("Resolve should create an unknown category only once")
+    public void resolve_WhenCategoryIsUnknown_ShouldCreateItOnlyOnce() {
+        Mockito.when(recipeCategoryRepository.findByNormalizedName("soups")).thenReturn(Optional.empty());
+        Mockito.when(recipeCategoryRepository.saveAndFlush(Mockito.any(RecipeCategory.class))).thenReturn(createMockRecipeCategory(2L, "Soups"));
+
+        RecipeCategoryDTO firstResolvedCategory = recipeCategoryResolver.resolve("Soups");
+        RecipeCategoryDTO secondResolvedCategory = recipeCategoryResolver.resolve("soups");
+
+        assertEquals(2L, firstResolvedCategory.getId());
+        assertEquals(2L, secondResolvedCategory.getId());
+        Mockito.verify(recipeCategoryRepository, Mockito.times(1)).saveAndFlush(Mockito.any(RecipeCategory.class));
+    }
+
+    @Test
+    @DisplayName("Resolve should return the concurrently created category when the insert violates the unique index")
+    public void resolve_WhenConcurrentlyCreated_ShouldReturnExistingCategory() {
+        Mockito.when(recipeCategoryRepository.findByNormalizedName("desserts"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(createMockRecipeCategory(3L, "Desserts")));
+        Mockito.when(recipeCategoryRepository.saveAndFlush(Mockito.any(RecipeCategory.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_recipe_category_normalized_name"));
+
+        RecipeCategoryDTO resolvedCategory = recipeCategoryResolver.resolve("Desserts");
+
+        assertEquals(3L, resolvedCategory.getId());
+        assertEquals("Desserts", resolvedCategory.getName());
+    }
+
+    @Test
+    @DisplayName("Evict within a transaction should only forget the category once the transaction has committed")
+    public void evict_WhenInTransaction_ShouldForgetTheCategoryAfterCommit() {
+        Mockito.when(recipeCategoryRepository.findAll()).thenReturn(List.of(createMockRecipeCategory(4L, "Side Dish")));
+        Mockito.when(recipeCategoryRepository.findByNormalizedName("side dish")).thenReturn(Optional.empty());
+        recipeCategoryResolver.warmUp();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            recipeCategoryResolver.evict("Side Dish");
+            // Until the commit, the cached category is still the committed one
+            assertEquals(4L, recipeCategoryResolver.find("Side Dish").getId());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(recipeCategoryResolver.find("Side Dish"));
+    }
+
+    // Helper method to create a mock RecipeCategory object
+    private RecipeCategory createMockRecipeCategory(Long id, String name) {
+        return RecipeCategory.builder()
+                .id(id)
+                .name(name)
+                .normalizedName(RecipeCategory.normalizeName(name))
+                .build();
+    }
+}
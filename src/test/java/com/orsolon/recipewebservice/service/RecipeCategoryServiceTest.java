@@ -3,20 +3,22 @@ package com.orsolon.recipewebservice.service;
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
 import com.orsolon.recipewebservice.model.RecipeCategory;
 import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
+import com.orsolon.recipewebservice.repository.RecipeRepository;
 import com.orsolon.recipewebservice.service.validator.RecipeCategoryValidatorHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
@@ -29,49 +31,62 @@ public class RecipeCategoryServiceTest {
     private RecipeCategoryService recipeCategoryService;
     private RecipeCategoryRepository recipeCategoryRepository;
     private DTOConverter dtoConverter;
-    @Captor
-    private ArgumentCaptor<RecipeCategory> recipeCategoryCaptor;
+    private RecipeCategoryResolver recipeCategoryResolver;
 
     @BeforeEach
     void setUp() {
         // Mock
         this.recipeCategoryRepository = Mockito.mock(RecipeCategoryRepository.class);
         this.dtoConverter = Mockito.mock(DTOConverter.class);
+        this.recipeCategoryResolver = Mockito.mock(RecipeCategoryResolver.class);
 
         // Inject Mocks
-        this.recipeCategoryService = new RecipeCategoryServiceImpl(recipeCategoryRepository, dtoConverter);
+        this.recipeCategoryService = new RecipeCategoryServiceImpl(recipeCategoryRepository, Mockito.mock(RecipeRepository.class), dtoConverter, recipeCategoryResolver,
+                Mockito.mock(ApplicationEventPublisher.class));
     }
 
     @Test
-    @DisplayName("Create Recipe Category should create Recipe Category and return status created")
-    public void createRecipeCategory_ShouldCreateRecipeCategoryAndReturnStatusCreated() {
-        // Create a RecipeCategoryDTO
+    @DisplayName("Create Recipe Category should resolve the Recipe Category by name and return it")
+    public void createRecipeCategory_ShouldResolveRecipeCategoryByNameAndReturnIt() {
+        // Create a RecipeCategoryDTO without ID
         RecipeCategoryDTO mockRecipeCategoryDTO = createMockRecipeCategoryDTO();
+        mockRecipeCategoryDTO.setId(null);
 
-        // Create a RecipeCategory
-        RecipeCategory mockRecipeCategory = createMockRecipeCategory();
+        // The RecipeCategoryDTO known by the resolver
+        RecipeCategoryDTO resolvedRecipeCategoryDTO = createMockRecipeCategoryDTO();
 
         try (MockedStatic<RecipeCategoryValidatorHelper> mockedRecipeCategoryValidatorHelper = Mockito.mockStatic(RecipeCategoryValidatorHelper.class)) {
             // Mock the necessary methods
             mockedRecipeCategoryValidatorHelper.when(() -> RecipeCategoryValidatorHelper.validateAndSanitize(mockRecipeCategoryDTO)).thenReturn(mockRecipeCategoryDTO);
-            Mockito.when(recipeCategoryRepository.save(Mockito.any(RecipeCategory.class))).thenReturn(mockRecipeCategory);
-            Mockito.when(dtoConverter.convertRecipeCategoryToEntity(mockRecipeCategoryDTO)).thenReturn(mockRecipeCategory);
-            Mockito.when(dtoConverter.convertRecipeCategoryToDTO(Mockito.any(RecipeCategory.class))).thenReturn(mockRecipeCategoryDTO);
+            Mockito.when(recipeCategoryResolver.resolve(mockRecipeCategoryDTO.getName())).thenReturn(resolvedRecipeCategoryDTO);
 
             // Call the create method
             RecipeCategoryDTO createdRecipeCategoryDTO = recipeCategoryService.create(mockRecipeCategoryDTO);
 
-            // Capture the argument passed to recipeCategoryRepository.save
-            Mockito.verify(recipeCategoryRepository, Mockito.times(1)).save(recipeCategoryCaptor.capture());
-
-            // Verify that the captured argument is equal to the expected RecipeCategory object
-            assertEquals(mockRecipeCategory, recipeCategoryCaptor.getValue());
+            // Verify that the category was resolved by name and not saved directly
+            Mockito.verify(recipeCategoryResolver, Mockito.times(1)).resolve(mockRecipeCategoryDTO.getName());
+            Mockito.verify(recipeCategoryRepository, Mockito.never()).save(Mockito.any(RecipeCategory.class));
 
-            // Verify that the returned RecipeCategoryDTO is the expected one
-            assertEquals(mockRecipeCategoryDTO, createdRecipeCategoryDTO);
+            // Verify that the returned RecipeCategoryDTO is the one known by the resolver
+            assertEquals(resolvedRecipeCategoryDTO, createdRecipeCategoryDTO);
         }
     }
 
+    @Test
+    @DisplayName("Create Recipe Category with existing ID should return the existing Recipe Category")
+    public void createRecipeCategoryWithExistingId_ShouldReturnExistingRecipeCategory() {
+        RecipeCategoryDTO mockRecipeCategoryDTO = createMockRecipeCategoryDTO();
+        RecipeCategory mockRecipeCategory = createMockRecipeCategory();
+
+        Mockito.when(recipeCategoryRepository.findById(mockRecipeCategoryDTO.getId())).thenReturn(Optional.of(mockRecipeCategory));
+        Mockito.when(dtoConverter.convertRecipeCategoryToDTO(mockRecipeCategory)).thenReturn(mockRecipeCategoryDTO);
+
+        RecipeCategoryDTO createdRecipeCategoryDTO = recipeCategoryService.create(mockRecipeCategoryDTO);
+
+        Mockito.verify(recipeCategoryResolver, Mockito.never()).resolve(Mockito.anyString());
+        assertEquals(mockRecipeCategoryDTO, createdRecipeCategoryDTO);
+    }
+
     // Helper method to create a mock RecipeCategoryDTO object
     private RecipeCategoryDTO createMockRecipeCategoryDTO() {
         return RecipeCategoryDTO.builder()
@@ -0,0 +1,122 @@
+package com.orsolon.recipewebservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orsolon.recipewebservice.config.CacheConfig;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.exception.RecipeNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Recipe Document Cache Test")
+public class RecipeDocumentCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RecipeService recipeServiceMock;
+    private CacheManager cacheManager;
+    private RecipeDocumentCache recipeDocumentCache;
+
+    @BeforeEach
+    void setUp() {
+        this.recipeServiceMock = mock(RecipeService.class);
+        this.cacheManager = new ConcurrentMapCacheManager(CacheConfig.RECIPE_DOCUMENTS);
+        this.recipeDocumentCache = new RecipeDocumentCache(recipeServiceMock, objectMapper, cacheManager, DataSize.ofKilobytes(1));
+    }
+
+    @Test
+    @DisplayName("Find JSON by ID should serialize the Recipe once and serve the cached bytes afterwards")
+    public void findJsonById_ShouldSerializeOnceAndServeCachedBytes() throws Exception {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).title("Amaretto Cake").yield(12).steps(List.of("Mix", "Bake")).build();
+        when(recipeServiceMock.findById(1L)).thenReturn(recipe);
+
+        byte[] firstDocument = recipeDocumentCache.findJsonById(1L);
+        byte[] secondDocument = recipeDocumentCache.findJsonById(1L);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(recipe), firstDocument);
+        assertArrayEquals(firstDocument, secondDocument);
+        verify(recipeServiceMock, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Find cached document by ID should return only a document already cached, without creating one")
+    public void findCachedDocumentById_ShouldNotCreateTheDocument() {
+        when(recipeServiceMock.findById(1L)).thenReturn(RecipeDTO.builder().id(1L).version(3L).title("Amaretto Cake").build());
+
+        assertNull(recipeDocumentCache.findCachedDocumentById(1L));
+        verify(recipeServiceMock, never()).findById(1L);
+
+        RecipeDocument document = recipeDocumentCache.findDocumentById(1L);
+
+        assertSame(document, recipeDocumentCache.findCachedDocumentById(1L));
+    }
+
+    @Test
+    @DisplayName("Find JSON by ID after eviction should serialize the Recipe again")
+    public void findJsonById_AfterEviction_ShouldSerializeAgain() throws Exception {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).title("Amaretto Cake").build();
+        RecipeDTO updatedRecipe = RecipeDTO.builder().id(1L).title("Almond Cake").build();
+        when(recipeServiceMock.findById(1L)).thenReturn(recipe, updatedRecipe);
+
+        recipeDocumentCache.findJsonById(1L);
+        cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).evict(1L);
+
+        assertEquals("Almond Cake", objectMapper.readValue(recipeDocumentCache.findJsonById(1L), RecipeDTO.class).getTitle());
+    }
+
+    @Test
+    @DisplayName("Find JSON by ID with a missing Recipe should throw RecipeNotFoundException and cache nothing")
+    public void findJsonById_WhenRecipeNotFound_ShouldThrowRecipeNotFoundException() {
+        when(recipeServiceMock.findById(999L)).thenThrow(new RecipeNotFoundException("Recipe not found"));
+
+        assertThrows(RecipeNotFoundException.class, () -> recipeDocumentCache.findJsonById(999L));
+        assertNull(cacheManager.getCache(CacheConfig.RECIPE_DOCUMENTS).get(999L));
+    }
+
+    @Test
+    @DisplayName("Find document by ID should compress a large document once in every content coding")
+    public void findDocumentById_WhenLargeDocument_ShouldCacheCompressedEncodings() throws Exception {
+        RecipeDTO recipe = RecipeDTO.builder().id(1L).title("Amaretto Cake").steps(Collections.nCopies(50, "Beat the eggs with the sugar until pale.")).build();
+        when(recipeServiceMock.findById(1L)).thenReturn(recipe);
+
+        RecipeDocument document = recipeDocumentCache.findDocumentById(1L);
+
+        assertEquals(ContentCoding.values().length, document.getEncodings().size());
+        assertTrue(document.getBody(ContentCoding.ZSTD).length < document.getJson().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(document.getBody(ContentCoding.GZIP)))) {
+            assertArrayEquals(document.getJson(), gzip.readAllBytes());
+        }
+        assertSame(document.getBody(ContentCoding.GZIP), recipeDocumentCache.findDocumentById(1L).getBody(ContentCoding.GZIP));
+        verify(recipeServiceMock, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Find document by ID should not compress a document below the minimum size")
+    public void findDocumentById_WhenSmallDocument_ShouldNotCompress() {
+        when(recipeServiceMock.findById(1L)).thenReturn(RecipeDTO.builder().id(1L).title("Amaretto Cake").build());
+
+        RecipeDocument document = recipeDocumentCache.findDocumentById(1L);
+
+        assertTrue(document.getEncodings().isEmpty());
+        assertNull(document.negotiate("gzip, zstd"));
+    }
+}
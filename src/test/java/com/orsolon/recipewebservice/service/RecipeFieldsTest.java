@@ -0,0 +1,36 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.exception.InvalidFieldValueException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Recipe Fields Test")
+public class RecipeFieldsTest {
+
+    @Test
+    @DisplayName("Parse - Missing or blank fields should stand for every field")
+    public void parse_WhenNullOrBlank_ShouldReturnAllFields() {
+        assertSame(RecipeFields.ALL, RecipeFields.parse(null));
+        assertSame(RecipeFields.ALL, RecipeFields.parse(" "));
+    }
+
+    @Test
+    @DisplayName("Parse - Requested fields should always include the ID")
+    public void parse_WhenValidFields_ShouldReturnThemWithId() {
+        RecipeFields fields = RecipeFields.parse("title, categories,");
+
+        assertEquals(Set.of(RecipeFields.ID, RecipeFields.TITLE, RecipeFields.CATEGORIES), fields.getNames());
+    }
+
+    @Test
+    @DisplayName("Parse - Unknown field should throw InvalidFieldValueException")
+    public void parse_WhenUnknownField_ShouldThrowInvalidFieldValueException() {
+        assertThrows(InvalidFieldValueException.class, () -> RecipeFields.parse("title,calories"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeBulkItemResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeBulkResultDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Recipe Initializer Test")
+public class RecipeInitializerTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private RecipeInitializer recipeInitializer;
+    private List<List<RecipeDTO>> persistedBatches;
+
+    @BeforeEach
+    void setUp() {
+        // Mock
+        RecipeBulkService recipeBulkService = Mockito.mock(RecipeBulkService.class);
+        this.persistedBatches = new ArrayList<>();
+        Mockito.when(recipeBulkService.createAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<RecipeDTO> batch = new ArrayList<>(invocation.getArgument(0));
+            persistedBatches.add(batch);
+            return RecipeBulkResultDTO.builder()
+                    .created(batch.size())
+                    .items(IntStream.range(0, batch.size())
+                            .mapToObj(index -> RecipeBulkItemResultDTO.builder()
+                                    .index(index)
+                                    .status(RecipeBulkItemResultDTO.Status.CREATED)
+                                    .title(batch.get(index).getTitle())
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+
+        // Inject Mocks
+        this.recipeInitializer = new RecipeInitializer(new RecipeXmlParser(), recipeBulkService, 2, BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Load recipes should persist every bundled recipe once, in batches")
+    public void loadRecipes_ShouldPersistEveryBundledRecipeOnceInBatches() {
+        int created = recipeInitializer.loadRecipes(RecipeInitializer.DEFAULT_RECIPES_LOCATION);
+
+        List<String> persistedTitles = persistedBatches.stream()
+                .flatMap(List::stream)
+                .map(RecipeDTO::getTitle)
+                .collect(Collectors.toList());
+
+        assertEquals(3, created);
+        assertEquals(3, persistedTitles.size());
+        assertTrue(persistedTitles.containsAll(List.of("30 Minute Chili", "Amaretto Cake", "Another Zucchini Dish")));
+        persistedBatches.forEach(batch -> assertTrue(batch.size() <= BATCH_SIZE));
+    }
+
+    @Test
+    @DisplayName("Load recipes with a location without files should not persist anything")
+    public void loadRecipes_WithLocationWithoutFiles_ShouldNotPersistAnything() {
+        int created = recipeInitializer.loadRecipes("classpath:data/recipes/*.none");
+
+        assertEquals(0, created);
+        assertTrue(persistedBatches.isEmpty());
+    }
+}
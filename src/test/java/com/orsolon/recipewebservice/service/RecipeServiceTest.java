@@ -2,10 +2,14 @@ package com.orsolon.recipewebservice.service;
 
 import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
 import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.event.RecipeChangedEvent;
 import com.orsolon.recipewebservice.model.Recipe;
 import com.orsolon.recipewebservice.model.RecipeCategory;
 import com.orsolon.recipewebservice.repository.RecipeCategoryRepository;
 import com.orsolon.recipewebservice.repository.RecipeRepository;
+import com.orsolon.recipewebservice.service.search.RecipeIngredientIndex;
+import com.orsolon.recipewebservice.service.search.RecipeSearchIndex;
+import com.orsolon.recipewebservice.service.search.RecipeSimilarityIndex;
 import com.orsolon.recipewebservice.service.validator.RecipeCategoryValidatorHelper;
 import com.orsolon.recipewebservice.service.validator.RecipeValidatorHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +23,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
@@ -39,6 +44,7 @@ public class RecipeServiceTest {
     private RecipeCategoryService recipeCategoryService;
     private RecipeCategoryRepository recipeCategoryRepository;
     private DTOConverter dtoConverter;
+    private ApplicationEventPublisher eventPublisher;
     @Captor
     private ArgumentCaptor<Recipe> recipeCaptor;
 
@@ -49,9 +55,11 @@ public class RecipeServiceTest {
         this.recipeCategoryRepository = Mockito.mock(RecipeCategoryRepository.class);
         this.recipeCategoryService = Mockito.mock(RecipeCategoryService.class);
         this.dtoConverter = Mockito.mock(DTOConverter.class);
+        this.eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
 
         // Inject Mocks
-        this.recipeService = new RecipeServiceImpl(recipeRepository, recipeCategoryService, dtoConverter);
+        this.recipeService = new RecipeServiceImpl(recipeRepository, recipeCategoryService, dtoConverter, eventPublisher, new RecipeSearchIndex(), new RecipeIngredientIndex(),
+                new RecipeSimilarityIndex());
     }
 
     @Test
@@ -98,6 +106,9 @@ public class RecipeServiceTest {
         // Verify that the captured argument is equal to the expected Recipe object
         assertEquals(mockRecipe, recipeCaptor.getValue());
 
+        // Verify that the creation was published, so that stale cache entries are evicted
+        Mockito.verify(eventPublisher, Mockito.times(1)).publishEvent(Mockito.any(RecipeChangedEvent.class));
+
         // Verify that the returned RecipeDTO is the expected one
         assertEquals(mockRecipeDTO, createdRecipeDTO);
     }
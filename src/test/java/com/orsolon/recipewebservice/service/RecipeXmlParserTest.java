@@ -0,0 +1,93 @@
+package com.orsolon.recipewebservice.service;
+
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.xml.RecipeMl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Recipe XML Parser Test")
+public class RecipeXmlParserTest {
+
+    private static final String AMARETTO_CAKE = "data/recipes/Amaretto_Cake.xml";
+
+    private RecipeXmlParser recipeXmlParser;
+
+    @BeforeEach
+    void setUp() {
+        this.recipeXmlParser = new RecipeXmlParser();
+    }
+
+    @Test
+    @DisplayName("Parse XML with a bundled recipe should return RecipeMl")
+    public void parseXml_WithBundledRecipe_ShouldReturnRecipeMl() throws IOException {
+        try (InputStream inputStream = new ClassPathResource(AMARETTO_CAKE).getInputStream()) {
+            RecipeMl recipeMl = recipeXmlParser.parseXml(inputStream);
+
+            assertEquals("Amaretto Cake", recipeMl.getRecipe().getHead().getTitle());
+            assertEquals(List.of("Liquor", "Cakes", "Cake mixes"), recipeMl.getRecipe().getHead().getCategories());
+        }
+    }
+
+    @Test
+    @DisplayName("Parse recipes with a bundled recipe should emit the same RecipeDTO as the tree binding")
+    public void parseRecipes_WithBundledRecipe_ShouldEmitSameRecipeDTOAsTreeBinding() throws IOException {
+        RecipeDTO expectedRecipe;
+        try (InputStream inputStream = new ClassPathResource(AMARETTO_CAKE).getInputStream()) {
+            expectedRecipe = recipeXmlParser.convertToRecipeDTO(recipeXmlParser.parseXml(inputStream).getRecipe());
+        }
+
+        List<RecipeDTO> recipes = new ArrayList<>();
+        try (InputStream inputStream = new ClassPathResource(AMARETTO_CAKE).getInputStream()) {
+            int recipeCount = recipeXmlParser.parseRecipes(inputStream, recipes::add);
+
+            assertEquals(1, recipeCount);
+        }
+        assertEquals(expectedRecipe, recipes.get(0));
+    }
+
+    @Test
+    @DisplayName("Parse recipes with many recipes in one document should emit them in document order")
+    public void parseRecipes_WithManyRecipes_ShouldEmitThemInDocumentOrder() throws IOException {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><recipeml version=\"0.5\"><menu>");
+        for (int i = 1; i <= 3; i++) {
+            xml.append("<recipe><head><title>Recipe ").append(i).append("</title>")
+                    .append("<categories><cat>Category ").append(i).append("</cat></categories><yield>").append(i).append("</yield></head>")
+                    .append("<ingredients><ing><amt><qty>").append(i).append("</qty><unit>cups</unit></amt><item>Flour</item></ing></ingredients>")
+                    .append("<directions><step>Mix</step><step>Bake</step></directions></recipe>");
+        }
+        xml.append("</menu></recipeml>");
+
+        List<RecipeDTO> recipes = new ArrayList<>();
+        int recipeCount = recipeXmlParser.parseRecipes(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)), recipes::add);
+
+        assertEquals(3, recipeCount);
+        for (int i = 1; i <= 3; i++) {
+            RecipeDTO recipe = recipes.get(i - 1);
+            assertEquals("Recipe " + i, recipe.getTitle());
+            assertEquals(i, recipe.getYield());
+            assertEquals("Category " + i, recipe.getCategories().get(0).getName());
+            assertEquals(String.valueOf(i), recipe.getIngredients().get(0).getQuantity());
+            assertEquals(List.of("Mix", "Bake"), recipe.getSteps());
+        }
+    }
+
+    @Test
+    @DisplayName("Parse recipes with malformed XML should throw IOException")
+    public void parseRecipes_WithMalformedXml_ShouldThrowIOException() {
+        byte[] xml = "<recipeml><recipe><head><title>Broken".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> recipeXmlParser.parseRecipes(new ByteArrayInputStream(xml), recipe -> { }));
+    }
+}
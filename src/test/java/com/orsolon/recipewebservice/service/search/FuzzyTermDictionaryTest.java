@@ -0,0 +1,76 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.service.search.FuzzyTermDictionary.FuzzyTerm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Fuzzy Term Dictionary Test")
+public class FuzzyTermDictionaryTest {
+
+    private FuzzyTermDictionary fuzzyTermDictionary;
+
+    @BeforeEach
+    void setUp() {
+        this.fuzzyTermDictionary = new FuzzyTermDictionary();
+        for (String term : List.of("zucchini", "amaretto", "egg", "eggs", "ego", "leg", "apple")) {
+            fuzzyTermDictionary.add(term);
+        }
+    }
+
+    @Test
+    @DisplayName("Distance should count insertions, deletions, substitutions and adjacent transpositions as one edit")
+    public void distance_WithSingleEdits_ShouldBeOne() {
+        assertEquals(1, FuzzyTermDictionary.distance("zucchini", "zuchini", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("amaretto", "amarretto", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("apple", "appla", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("apple", "appel", 2));
+        assertEquals(3, FuzzyTermDictionary.distance("kitten", "sitting", 5));
+    }
+
+    @Test
+    @DisplayName("Distance should give up past the maximum distance")
+    public void distance_BeyondMaxDistance_ShouldReturnMaxDistancePlusOne() {
+        assertEquals(3, FuzzyTermDictionary.distance("kitten", "sitting", 2));
+    }
+
+    @Test
+    @DisplayName("Expand should return the known terms within the maximum distance, closest first")
+    public void expand_WithMisspelledTerm_ShouldReturnCloseTerms() {
+        assertEquals(List.of(new FuzzyTerm("zucchini", 2)), fuzzyTermDictionary.expand("zuchinni", 2, 10));
+        assertEquals(List.of(new FuzzyTerm("amaretto", 1)), fuzzyTermDictionary.expand("amaretoo", 2, 10));
+        assertEquals(List.of(new FuzzyTerm("eggs", 1), new FuzzyTerm("ego", 1)), fuzzyTermDictionary.expand("egg", 1, 10));
+        assertTrue(fuzzyTermDictionary.expand("zuchinni", 1, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Expand should find a term with two adjacent letters swapped in the middle, one edit away")
+    public void expand_WithSwappedLetters_ShouldReturnTheTerm() {
+        // Swapping "ta" changes four of the trigrams of amaretto, but only three of its bigrams
+        assertEquals(List.of(new FuzzyTerm("amaretto", 1)), fuzzyTermDictionary.expand("amaertto", 1, 10));
+        assertEquals(List.of(new FuzzyTerm("zucchini", 1)), fuzzyTermDictionary.expand("zucchnii", 1, 10));
+    }
+
+    @Test
+    @DisplayName("Expand should count the shared bigrams of each query afresh")
+    public void expand_WhenRepeated_ShouldReturnTheSameTerms() {
+        List<FuzzyTerm> expected = fuzzyTermDictionary.expand("amaretoo", 2, 10);
+
+        fuzzyTermDictionary.expand("amarettos", 2, 10);
+        fuzzyTermDictionary.expand("zuchinni", 2, 10);
+
+        assertEquals(expected, fuzzyTermDictionary.expand("amaretoo", 2, 10));
+    }
+
+    @Test
+    @DisplayName("Expand should honour the limit and skip the exact term")
+    public void expand_WithLimit_ShouldReturnAtMostLimitTerms() {
+        assertEquals(List.of(new FuzzyTerm("eggs", 1)), fuzzyTermDictionary.expand("egg", 1, 1));
+        assertTrue(fuzzyTermDictionary.expand("apple", 0, 10).isEmpty());
+    }
+}
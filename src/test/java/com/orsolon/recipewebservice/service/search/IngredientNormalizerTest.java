@@ -0,0 +1,35 @@
+package com.orsolon.recipewebservice.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Ingredient Normalizer Test")
+public class IngredientNormalizerTest {
+
+    @Test
+    @DisplayName("Normalize should drop RecipeML notes and parenthesized text")
+    public void normalize_WithNotes_ShouldDropThem() {
+        assertEquals("onion", IngredientNormalizer.normalize("Onion; large, chopped"));
+        assertEquals("chili powder", IngredientNormalizer.normalize("Chili powder; (or to taste)"));
+        assertEquals("kidney bean", IngredientNormalizer.normalize("Kidney beans (12 oz)"));
+    }
+
+    @Test
+    @DisplayName("Normalize should drop quantities and units and singularize the words")
+    public void normalize_WithQuantitiesAndPlurals_ShouldReduceToCanonicalName() {
+        assertEquals("french fried onion ring", IngredientNormalizer.normalize("French fried onion rings 3 oz."));
+        assertEquals("egg", IngredientNormalizer.normalize("2 Eggs"));
+        assertEquals("tomato", IngredientNormalizer.normalize("Tomatoes"));
+        assertEquals("cherry", IngredientNormalizer.normalize("Cherries"));
+        assertEquals("jalapeno pepper", IngredientNormalizer.normalize("Jalapeño peppers"));
+    }
+
+    @Test
+    @DisplayName("Normalize null or notes-only items should return an empty name")
+    public void normalize_WithNothingLeft_ShouldReturnEmptyName() {
+        assertEquals("", IngredientNormalizer.normalize(null));
+        assertEquals("", IngredientNormalizer.normalize("; to taste"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Recipe Ingredient Index Test")
+public class RecipeIngredientIndexTest {
+
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.recipeIngredientIndex = new RecipeIngredientIndex();
+        recipeIngredientIndex.index(createRecipe(1L, "Eggs; beaten", "Butter or margarine", "Zucchini; cubed"));
+        recipeIngredientIndex.index(createRecipe(2L, "Eggs", "Flour", "Sugar", "Butter"));
+        recipeIngredientIndex.index(createRecipe(3L, "Tomatoes", "Onion; chopped"));
+    }
+
+    @Test
+    @DisplayName("Match should return fully covered Recipes only when nothing may be missing")
+    public void match_WithNothingMissing_ShouldReturnCoveredRecipes() {
+        IngredientMatchHits hits = recipeIngredientIndex.match(List.of("egg", "butter", "zucchini"), 0, 0, 10);
+
+        assertEquals(1, hits.getTotalHits());
+        IngredientMatch match = hits.getMatches().get(0);
+        assertEquals(1L, match.getRecipeId());
+        assertEquals(3, match.getMatchedIngredients());
+        assertEquals(3, match.getTotalIngredients());
+        assertTrue(match.getMissingIngredients().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Match should rank by coverage and report the missing ingredients")
+    public void match_WithMissingAllowed_ShouldRankByCoverage() {
+        IngredientMatchHits hits = recipeIngredientIndex.match(List.of("eggs", "butter"), 2, 0, 10);
+
+        assertEquals(2, hits.getTotalHits());
+        assertEquals(1L, hits.getMatches().get(0).getRecipeId());
+        assertEquals(List.of("zucchini"), hits.getMatches().get(0).getMissingIngredients());
+        assertEquals(2L, hits.getMatches().get(1).getRecipeId());
+        assertEquals(List.of("flour", "sugar"), hits.getMatches().get(1).getMissingIngredients());
+    }
+
+    @Test
+    @DisplayName("Match should follow replaced and removed Recipes")
+    public void match_WhenRecipeReplacedOrRemoved_ShouldServeLatestVersion() {
+        recipeIngredientIndex.index(createRecipe(3L, "Tomatoes", "Basil"));
+        recipeIngredientIndex.remove(2L);
+
+        assertEquals(List.of(3L), recipeIngredientIndex.match(List.of("tomato", "basil"), 0, 0, 10).getMatches().stream()
+                .map(IngredientMatch::getRecipeId)
+                .toList());
+        assertEquals(0, recipeIngredientIndex.match(List.of("onion"), 5, 0, 10).getTotalHits());
+        assertEquals(0, recipeIngredientIndex.match(List.of("flour"), 5, 0, 10).getTotalHits());
+
+        // The document of the removed Recipe is reused
+        recipeIngredientIndex.index(createRecipe(4L, "Flour"));
+        assertEquals(4L, recipeIngredientIndex.match(List.of("flour"), 0, 0, 10).getMatches().get(0).getRecipeId());
+    }
+
+    private static RecipeDTO createRecipe(Long id, String... items) {
+        return RecipeDTO.builder()
+                .id(id)
+                .ingredients(Arrays.stream(items)
+                        .map(item -> IngredientDTO.builder().item(item).build())
+                        .toList())
+                .build();
+    }
+}
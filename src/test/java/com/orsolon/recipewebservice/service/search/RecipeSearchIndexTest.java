@@ -0,0 +1,167 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Recipe Search Index Test")
+public class RecipeSearchIndexTest {
+
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.recipeSearchIndex = new RecipeSearchIndex();
+        recipeSearchIndex.index(createRecipe(1L, "Chocolate Cake", "Desserts", List.of("Flour", "Sugar"), List.of("Bake the chocolate")));
+        recipeSearchIndex.index(createRecipe(2L, "Vanilla Cake", "Desserts", List.of("Flour", "Chocolate chips"), List.of("Bake")));
+        recipeSearchIndex.index(createRecipe(3L, "Crème Brûlée", "Desserts", List.of("Cream", "Sugar"), List.of("Torch the sugar")));
+        recipeSearchIndex.index(createRecipe(4L, "Tomato Soup", "Soups", List.of("Tomatoes", "Onion"), List.of("Simmer")));
+    }
+
+    @Test
+    @DisplayName("Search should rank a title match before an ingredient match")
+    public void search_WithTermInTitleAndIngredients_ShouldRankTitleMatchFirst() {
+        RecipeSearchHits hits = recipeSearchIndex.search("chocolate", 0, 10);
+
+        assertEquals(List.of(1L, 2L), hits.getRecipeIds());
+        assertEquals(2, hits.getTotalHits());
+    }
+
+    @Test
+    @DisplayName("Search should require every term of the query")
+    public void search_WithSeveralTerms_ShouldRequireEveryTerm() {
+        assertEquals(List.of(2L), recipeSearchIndex.search("vanilla cake", 0, 10).getRecipeIds());
+        assertTrue(recipeSearchIndex.search("vanilla soup", 0, 10).getRecipeIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Search should match steps and categories, ignoring case and accents")
+    public void search_WithFoldedTerms_ShouldMatchStepsAndCategories() {
+        assertEquals(List.of(3L), recipeSearchIndex.search("CREME brulee", 0, 10).getRecipeIds());
+        assertEquals(List.of(3L), recipeSearchIndex.search("torch", 0, 10).getRecipeIds());
+        assertEquals(List.of(4L), recipeSearchIndex.search("soups", 0, 10).getRecipeIds());
+    }
+
+    @Test
+    @DisplayName("Search should return the requested page of hits along with the total")
+    public void search_WithOffsetAndLimit_ShouldReturnPage() {
+        RecipeSearchHits firstPage = recipeSearchIndex.search("desserts", 0, 2);
+        RecipeSearchHits secondPage = recipeSearchIndex.search("desserts", 2, 2);
+
+        assertEquals(2, firstPage.getRecipeIds().size());
+        assertEquals(3, firstPage.getTotalHits());
+        assertEquals(1, secondPage.getRecipeIds().size());
+        assertTrue(recipeSearchIndex.search("desserts", 10, 2).getRecipeIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Indexing a Recipe again should replace it, and removing it should drop it")
+    public void index_WhenRecipeReplacedOrRemoved_ShouldServeLatestVersion() {
+        recipeSearchIndex.index(createRecipe(4L, "Pumpkin Soup", "Soups", List.of("Pumpkin"), List.of("Simmer")));
+
+        assertTrue(recipeSearchIndex.search("tomato", 0, 10).getRecipeIds().isEmpty());
+        assertEquals(List.of(4L), recipeSearchIndex.search("pumpkin", 0, 10).getRecipeIds());
+
+        recipeSearchIndex.remove(4L);
+
+        assertTrue(recipeSearchIndex.search("pumpkin", 0, 10).getRecipeIds().isEmpty());
+        assertEquals(3, recipeSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Many replacements should compact the index without losing Recipes")
+    public void index_WithManyReplacements_ShouldKeepEveryRecipe() {
+        for (int i = 0; i < 3000; i++) {
+            recipeSearchIndex.index(createRecipe(4L, "Tomato Soup " + i, "Soups", List.of("Tomatoes"), List.of("Simmer")));
+        }
+
+        assertEquals(4, recipeSearchIndex.size());
+        assertEquals(List.of(4L), recipeSearchIndex.search("tomato 2999", 0, 10).getRecipeIds());
+        assertEquals(List.of(1L, 2L), recipeSearchIndex.search("chocolate", 0, 10).getRecipeIds());
+    }
+
+    @Test
+    @DisplayName("Search should count the categories and ingredients of every matching Recipe, most frequent first")
+    public void search_WithFacetLimit_ShouldCountFacetsOverAllHits() {
+        RecipeSearchHits hits = recipeSearchIndex.search("desserts", 0, 1, 3);
+
+        assertEquals(1, hits.getRecipeIds().size());
+        assertEquals(List.of(new FacetCount("Desserts", 3)), hits.getCategoryFacets());
+        assertEquals(List.of(new FacetCount("flour", 2), new FacetCount("sugar", 2), new FacetCount("chocolate chip", 1)),
+                hits.getIngredientFacets());
+        assertTrue(recipeSearchIndex.search("desserts", 0, 1).getCategoryFacets().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Facet counts should follow replaced Recipes across compactions")
+    public void search_AfterManyReplacements_ShouldCountLatestFacets() {
+        for (int i = 0; i < 3000; i++) {
+            recipeSearchIndex.index(createRecipe(3L, "Crème Brûlée", i % 2 == 0 ? "Desserts" : "French", List.of("Cream"), List.of("Torch")));
+        }
+
+        RecipeSearchHits hits = recipeSearchIndex.search("cream", 0, 10, 10);
+
+        assertEquals(List.of(new FacetCount("French", 1)), hits.getCategoryFacets());
+        assertEquals(List.of(new FacetCount("cream", 1)), hits.getIngredientFacets());
+    }
+
+    @Test
+    @DisplayName("Search should tolerate misspellings of titles, categories and ingredients, ranking exact matches first")
+    public void search_WithMisspelledTerms_ShouldMatchCloseTerms() {
+        recipeSearchIndex.index(createRecipe(5L, "Zucchini Bread", "Breads", List.of("Zucchini", "Flour"), List.of("Bake")));
+        recipeSearchIndex.index(createRecipe(6L, "Amaretto Sour", "Drinks", List.of("Amaretto", "Lemon juice"), List.of("Shake")));
+        recipeSearchIndex.index(createRecipe(7L, "Zucchine Soup", "Soups", List.of("Water"), List.of("Simmer")));
+
+        // One edit below 8 letters, two from 8 letters on
+        assertEquals(List.of(5L), recipeSearchIndex.search("zuchini", 0, 10).getRecipeIds());
+        assertEquals(List.of(5L, 7L), recipeSearchIndex.search("zucchini", 0, 10).getRecipeIds());
+        assertEquals(List.of(6L), recipeSearchIndex.search("amaretoo sour", 0, 10).getRecipeIds());
+        assertEquals(List.of(6L), recipeSearchIndex.search("amarreto", 0, 10).getRecipeIds());
+        assertEquals(List.of(4L), recipeSearchIndex.search("tomatos", 0, 10).getRecipeIds());
+        assertTrue(recipeSearchIndex.search("tamatu", 0, 10).getRecipeIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Repeated searches should not carry scores over from one query to the next")
+    public void search_WhenRepeated_ShouldScoreEachQueryAlone() {
+        RecipeSearchHits hits = recipeSearchIndex.search("chocolate", 0, 10, 10);
+        recipeSearchIndex.search("desserts", 0, 10, 10);
+        recipeSearchIndex.search("vanilla soup", 0, 10, 10);
+
+        assertEquals(hits, recipeSearchIndex.search("chocolate", 0, 10, 10));
+        assertTrue(recipeSearchIndex.search("sugar tomato", 0, 10).getRecipeIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Search should not match misspellings of steps, of numbers or with a maximum distance of zero")
+    public void search_WithFuzzyMatchingRestricted_ShouldRequireExactTerms() {
+        RecipeSearchIndex exactSearchIndex = new RecipeSearchIndex(0);
+        exactSearchIndex.index(createRecipe(5L, "Zucchini Bread", "Breads", List.of("Zucchini"), List.of("Bake")));
+        recipeSearchIndex.index(createRecipe(6L, "Soup 1900", "Soups", List.of("Water"), List.of("Simmer")));
+
+        assertTrue(recipeSearchIndex.search("torh", 0, 10).getRecipeIds().isEmpty());
+        assertTrue(recipeSearchIndex.search("1901", 0, 10).getRecipeIds().isEmpty());
+        assertTrue(exactSearchIndex.search("zuchini", 0, 10).getRecipeIds().isEmpty());
+        assertEquals(List.of(5L), exactSearchIndex.search("zucchini", 0, 10).getRecipeIds());
+    }
+
+    private static RecipeDTO createRecipe(Long id, String title, String category, List<String> items, List<String> steps) {
+        return RecipeDTO.builder()
+                .id(id)
+                .title(title)
+                .categories(List.of(RecipeCategoryDTO.builder().name(category).build()))
+                .ingredients(items.stream()
+                        .map(item -> IngredientDTO.builder().item(item).build())
+                        .toList())
+                .steps(steps)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Recipe Similarity Index Test")
+public class RecipeSimilarityIndexTest {
+
+    private RecipeSimilarityIndex recipeSimilarityIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.recipeSimilarityIndex = new RecipeSimilarityIndex();
+        recipeSimilarityIndex.index(createRecipe(1L, List.of("Flour", "Sugar", "Eggs", "Butter", "Milk")));
+        recipeSimilarityIndex.index(createRecipe(2L, List.of("Flour", "Sugar", "Egg", "Butter", "Vanilla extract")));
+        recipeSimilarityIndex.index(createRecipe(3L, List.of("Tomatoes", "Onion", "Garlic")));
+        recipeSimilarityIndex.index(createRecipe(4L, List.of("Flour", "Sugar", "Eggs", "Butter", "Milk", "Salt")));
+    }
+
+    @Test
+    @DisplayName("Similar Recipes should be ranked by the Jaccard similarity of their ingredients")
+    public void similarTo_WithSharedIngredients_ShouldRankBySimilarity() {
+        List<SimilarRecipe> similarRecipes = recipeSimilarityIndex.similarTo(1L, 10);
+
+        assertEquals(List.of(
+                new SimilarRecipe(4L, 5.0 / 6, List.of("butter", "egg", "flour", "milk", "sugar")),
+                new SimilarRecipe(2L, 4.0 / 6, List.of("butter", "egg", "flour", "sugar"))), similarRecipes);
+        assertEquals(List.of(4L), recipeSimilarityIndex.similarTo(1L, 1).stream().map(SimilarRecipe::getRecipeId).toList());
+    }
+
+    @Test
+    @DisplayName("Recipes sharing no ingredient, without ingredients or unknown should have no similar Recipes")
+    public void similarTo_WithoutSharedIngredients_ShouldReturnEmpty() {
+        recipeSimilarityIndex.index(createRecipe(5L, List.of()));
+
+        assertTrue(recipeSimilarityIndex.similarTo(3L, 10).isEmpty());
+        assertTrue(recipeSimilarityIndex.similarTo(5L, 10).isEmpty());
+        assertTrue(recipeSimilarityIndex.similarTo(99L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Replaced and removed Recipes should leave their former buckets")
+    public void similarTo_AfterReplaceAndRemove_ShouldServeLatestIngredients() {
+        recipeSimilarityIndex.index(createRecipe(4L, List.of("Tomatoes", "Onion")));
+        recipeSimilarityIndex.remove(2L);
+
+        assertTrue(recipeSimilarityIndex.similarTo(1L, 10).isEmpty());
+        assertEquals(List.of(4L), recipeSimilarityIndex.similarTo(3L, 10).stream().map(SimilarRecipe::getRecipeId).toList());
+    }
+
+    private static RecipeDTO createRecipe(Long id, List<String> items) {
+        return RecipeDTO.builder()
+                .id(id)
+                .title("Recipe " + id)
+                .ingredients(items.stream()
+                        .map(item -> IngredientDTO.builder().item(item).build())
+                        .toList())
+                .build();
+    }
+}
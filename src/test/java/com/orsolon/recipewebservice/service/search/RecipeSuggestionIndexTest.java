@@ -0,0 +1,92 @@
+package com.orsolon.recipewebservice.service.search;
+
+import com.orsolon.recipewebservice.dto.IngredientDTO;
+import com.orsolon.recipewebservice.dto.RecipeCategoryDTO;
+import com.orsolon.recipewebservice.dto.RecipeDTO;
+import com.orsolon.recipewebservice.dto.SuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Recipe Suggestion Index Test")
+public class RecipeSuggestionIndexTest {
+
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.recipeSuggestionIndex = new RecipeSuggestionIndex();
+        recipeSuggestionIndex.index(createRecipe(1L, "Chocolate Cake", List.of("Cakes", "Chocolate"), "Chocolate chips", "Flour"));
+        recipeSuggestionIndex.index(createRecipe(2L, "Dark Chocolate Mousse", List.of("Desserts", "Chocolate"), "Dark chocolate; chopped", "Cream"));
+        recipeSuggestionIndex.index(createRecipe(3L, "Carrot Cake", List.of("Cakes"), "Carrots", "Flour"));
+    }
+
+    @Test
+    @DisplayName("Suggest should rank the suggestions behind the most Recipes first")
+    public void suggest_WithPrefix_ShouldRankByRecipeCount() {
+        List<SuggestionDTO> suggestions = recipeSuggestionIndex.suggest("ca", 10);
+
+        assertEquals("Cakes", suggestions.get(0).getText());
+        assertEquals(SuggestionDTO.Type.CATEGORY, suggestions.get(0).getType());
+        assertEquals(2, suggestions.get(0).getRecipeCount());
+        assertEquals(List.of("Cakes", "Chocolate Cake", "Carrot Cake", "carrot"), texts(suggestions));
+    }
+
+    @Test
+    @DisplayName("Suggest should complete any word of a suggestion, ignoring case")
+    public void suggest_WithPrefixOfInnerWord_ShouldMatch() {
+        List<String> suggestions = texts(recipeSuggestionIndex.suggest("CHOC", 10));
+
+        assertEquals("Chocolate", suggestions.get(0));
+        assertTrue(suggestions.containsAll(List.of("Dark Chocolate Mousse", "Chocolate Cake", "dark chocolate", "chocolate chip")));
+        assertEquals(List.of("flour"), texts(recipeSuggestionIndex.suggest("fl", 10)));
+    }
+
+    @Test
+    @DisplayName("Suggest should stop at the limit")
+    public void suggest_WithLimit_ShouldReturnAtMostLimit() {
+        assertEquals(2, recipeSuggestionIndex.suggest("c", 2).size());
+    }
+
+    @Test
+    @DisplayName("Suggest should follow replaced and removed Recipes")
+    public void suggest_WhenRecipeReplacedOrRemoved_ShouldUpdateCounts() {
+        recipeSuggestionIndex.index(createRecipe(3L, "Carrot Pie", List.of("Pies"), "Carrots"));
+
+        assertEquals(1, recipeSuggestionIndex.suggest("cakes", 10).get(0).getRecipeCount());
+        assertEquals(List.of("carrot", "Carrot Pie"), texts(recipeSuggestionIndex.suggest("carr", 10)));
+        assertEquals(1, recipeSuggestionIndex.suggest("flour", 10).get(0).getRecipeCount());
+
+        recipeSuggestionIndex.remove(1L);
+        recipeSuggestionIndex.remove(3L);
+
+        assertTrue(recipeSuggestionIndex.suggest("ca", 10).isEmpty());
+        assertTrue(recipeSuggestionIndex.suggest("fl", 10).isEmpty());
+        assertEquals(List.of("Dark Chocolate Mousse"), texts(recipeSuggestionIndex.suggest("mou", 10)));
+    }
+
+    private static List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream()
+                .map(SuggestionDTO::getText)
+                .toList();
+    }
+
+    private static RecipeDTO createRecipe(Long id, String title, List<String> categories, String... items) {
+        return RecipeDTO.builder()
+                .id(id)
+                .title(title)
+                .categories(categories.stream()
+                        .map(name -> RecipeCategoryDTO.builder().name(name).build())
+                        .toList())
+                .ingredients(Arrays.stream(items)
+                        .map(item -> IngredientDTO.builder().item(item).build())
+                        .toList())
+                .build();
+    }
+}
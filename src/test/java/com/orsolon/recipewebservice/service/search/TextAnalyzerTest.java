@@ -0,0 +1,32 @@
+package com.orsolon.recipewebservice.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Text Analyzer Test")
+public class TextAnalyzerTest {
+
+    @Test
+    @DisplayName("Tokenize should split on punctuation and lowercase the terms")
+    public void tokenize_WithPunctuation_ShouldSplitAndLowercase() {
+        assertEquals(List.of("amaretto", "cake", "2", "cups", "flour"), TextAnalyzer.tokenize("Amaretto Cake: 2 cups (flour)!"));
+    }
+
+    @Test
+    @DisplayName("Tokenize should fold accents")
+    public void tokenize_WithAccents_ShouldFoldThem() {
+        assertEquals(List.of("creme", "brulee", "jalapeno"), TextAnalyzer.tokenize("Crème Brûlée, Jalapeño"));
+    }
+
+    @Test
+    @DisplayName("Tokenize null or blank text should return no terms")
+    public void tokenize_WithNullOrBlankText_ShouldReturnNoTerms() {
+        assertTrue(TextAnalyzer.tokenize(null).isEmpty());
+        assertTrue(TextAnalyzer.tokenize("  -- ").isEmpty());
+    }
+}
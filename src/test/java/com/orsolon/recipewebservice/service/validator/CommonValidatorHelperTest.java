@@ -1,5 +1,7 @@
 package com.orsolon.recipewebservice.service.validator;
 
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,9 +9,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -48,5 +54,46 @@ public class CommonValidatorHelperTest {
         String result = CommonValidatorHelper.sanitizeStringValue(input);
         assertEquals(expected, result);
     }
-}
 
+    @Test
+    @DisplayName("Sanitize string value should return the same string when it has nothing to clean")
+    public void sanitizeStringValue_ShouldReturnSameStringWhenNothingToClean() {
+        String input = "1 1/2 cups Toasted Almonds; chopped (about 6 oz.) - Crème brûlée's \"best\" 100%";
+        String result = CommonValidatorHelper.sanitizeStringValue(input);
+        assertSame(input, result);
+    }
+
+    @Test
+    @DisplayName("Needs cleaning should detect markup, entities and whitespace Jsoup would change")
+    public void needsCleaning_ShouldDetectMarkupEntitiesAndWhitespace() {
+        assertFalse(CommonValidatorHelper.needsCleaning(""));
+        assertFalse(CommonValidatorHelper.needsCleaning(" Simple title "));
+        assertTrue(CommonValidatorHelper.needsCleaning("<b>Bold</b>"));
+        assertTrue(CommonValidatorHelper.needsCleaning("a > b"));
+        assertTrue(CommonValidatorHelper.needsCleaning("Salt &amp; pepper"));
+        assertTrue(CommonValidatorHelper.needsCleaning("Two  spaces"));
+        assertTrue(CommonValidatorHelper.needsCleaning("Line\nbreak"));
+        assertTrue(CommonValidatorHelper.needsCleaning("Non\u00A0breaking"));
+        assertTrue(CommonValidatorHelper.needsCleaning("Emoji \uD83C\uDF70"));
+    }
+
+    @Test
+    @DisplayName("Sanitize string value should match Jsoup clean on a fuzz corpus")
+    public void sanitizeStringValue_ShouldMatchJsoupCleanOnFuzzCorpus() {
+        String[] fragments = {"a", "Z", "9", " ", "  ", "\t", "\n", "\r", "\u000C", "\u0000", "\u0001", "\u007F", "\u0085", "\u00A0",
+                "<", ">", "&", ";", "/", "\"", "'", "=", "#", "é", "ß", "中", "\uD83C\uDF70", "\uD83C",
+                "<b>", "</b>", "<script>alert('x')</script>", "<img src=x onerror=alert(1)>", "<!-- c -->", "&amp;", "&lt;", "&#60;", "&nbsp;", "&bogus;",
+                "1/2", "cups", "Toasted Almonds; chopped"};
+        Random random = new Random(20230501L);
+
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                input.append(fragments[random.nextInt(fragments.length)]);
+            }
+            String expected = Jsoup.clean(input.toString(), Safelist.none()).trim();
+            assertEquals(expected, CommonValidatorHelper.sanitizeStringValue(input.toString()), "Input: " + input);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.orsolon.recipewebservice.util;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+    Records the SQL of every statement Hibernate prepares, and the SQL of every JDBC batch it executes, so tests can check
+    how many round trips a write takes. Registered by the tests that need it with
+    spring.jpa.properties.hibernate.session_factory.statement_inspector and spring.jpa.properties.hibernate.session.events.auto.
+ */
+public class SqlStatementRecorder implements StatementInspector, SessionEventListener {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final List<String> BATCHES = new CopyOnWriteArrayList<>();
+    // A batch holds the rows of the statement prepared last on its thread
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        String statement = sql.toLowerCase(Locale.ROOT);
+        STATEMENTS.add(statement);
+        LAST_STATEMENT.set(statement);
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        BATCHES.add(LAST_STATEMENT.get());
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+        BATCHES.clear();
+    }
+
+    // Counts the prepared statements starting with the given SQL, such as "insert into ingredient "
+    public static long countStatements(String prefix) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith(prefix))
+                .count();
+    }
+
+    // Counts the prepared statements containing the given SQL anywhere, such as "from ingredient "
+    public static long countStatementsContaining(String fragment) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.contains(fragment))
+                .count();
+    }
+
+    // Counts the JDBC batches executed for statements starting with the given SQL
+    public static long countBatches(String prefix) {
+        return BATCHES.stream()
+                .filter(sql -> sql != null && sql.startsWith(prefix))
+                .count();
+    }
+}